@@ -0,0 +1,24 @@
+package org.example.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Scratch directories for benchmarks that read or write ledger files
+final class BenchFiles {
+    private BenchFiles() {
+    }
+
+    static Path tempDir() throws IOException {
+        return Files.createTempDirectory("budgetbee-bench");
+    }
+
+    static void delete(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) Files.delete(p);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.bench;
+
+import org.example.model.DateRange;
+import org.example.tools.BarChartStrategy;
+import org.example.tools.BudgetEngine;
+import org.example.tools.ChartData;
+import org.example.tools.ChartStrategy;
+import org.example.tools.PieChartStrategy;
+import org.example.tools.TimeSeriesChartStrategy;
+import org.openjdk.jmh.annotations.*;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// One chart drawn into an offscreen image, the way ChartRenderer does it on its thread
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class ChartBench {
+    private static final Color[] COLORS = {
+            new Color(255, 107, 107), new Color(78, 205, 196), new Color(255, 230, 109),
+            new Color(26, 83, 92), new Color(85, 98, 112), new Color(199, 244, 100)
+    };
+
+    @Param({"400x300", "1200x900"})
+    public String size;
+
+    private final ChartStrategy pie = new PieChartStrategy();
+    private final ChartStrategy bar = new BarChartStrategy();
+    private final ChartStrategy timeline = new TimeSeriesChartStrategy();
+    private ChartData data;
+    private BufferedImage image;
+    private int width, height;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BudgetEngine engine = new BudgetEngine();
+        engine.beginBulkLoad();
+        engine.getStore().appendAll(SyntheticLedger.generate(100_000, 42));
+        engine.endBulkLoad();
+        data = ChartData.of(engine.getTotal(), engine.getCategoryTotals(), engine.getDailySeries(DateRange.ALL));
+        width = Integer.parseInt(size.substring(0, size.indexOf('x')));
+        height = Integer.parseInt(size.substring(size.indexOf('x') + 1));
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Benchmark
+    public BufferedImage pieChart() {
+        return draw(pie);
+    }
+
+    @Benchmark
+    public BufferedImage barChart() {
+        return draw(bar);
+    }
+
+    @Benchmark
+    public BufferedImage timelineChart() {
+        return draw(timeline);
+    }
+
+    private BufferedImage draw(ChartStrategy strategy) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setBackground(new Color(0, 0, 0, 0));
+            g.clearRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            strategy.drawChart(g, width, height, data, COLORS);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
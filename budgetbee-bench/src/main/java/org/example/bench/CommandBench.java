@@ -0,0 +1,64 @@
+package org.example.bench;
+
+import org.example.model.ExpenseStore;
+import org.example.tools.BudgetEngine;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+// Execute + undo round trips through the engine (no journal), each leaving the ledger as it found it.
+// Appends should not depend on the ledger size; mid-ledger deletes shift the row indexes above them.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class CommandBench {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private BudgetEngine engine;
+    private int[] batch;
+    private long[] edits; // two amounts, neither of them the edited row's own, so every edit is a command
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new BudgetEngine();
+        engine.beginBulkLoad();
+        engine.getStore().appendAll(SyntheticLedger.generate(rows, 42));
+        engine.endBulkLoad();
+        batch = new int[Math.min(100, rows)];
+        for (int i = 0; i < batch.length; i++) batch[i] = (int) ((long) i * rows / batch.length);
+        long amount = engine.getStore().getAmount(rows / 2);
+        edits = new long[]{amount + 1, amount + 2};
+    }
+
+    @Benchmark
+    public long addUndo() {
+        engine.addExpense(19000, "Coffee", "Food", 1, 12000);
+        engine.undo();
+        return engine.getTotal();
+    }
+
+    @Benchmark
+    public long editUndo() {
+        engine.editExpense(rows / 2, ExpenseStore.AMOUNT, edits[(int) (counter++ & 1)]);
+        engine.undo(); // back to the row's own amount
+        return engine.getTotal();
+    }
+
+    @Benchmark
+    public long deleteUndo() {
+        engine.deleteExpense(rows / 2);
+        engine.undo();
+        return engine.getTotal();
+    }
+
+    @Benchmark
+    public long batchDeleteUndo() {
+        engine.deleteExpenses(batch);
+        engine.undo();
+        return engine.getTotal();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.bench;
+
+import org.example.model.ExpenseStore;
+import org.example.tools.BudgetEngine;
+import org.openjdk.jmh.annotations.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Whole-ledger operations of the engine: full rescan, CSV load, save (CSV + binary snapshot)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class EngineBench {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private BudgetEngine engine;
+    private Path dir;
+    private File csv, saved;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ExpenseStore data = SyntheticLedger.generate(rows, 42);
+        dir = BenchFiles.tempDir();
+        csv = dir.resolve("ledger.csv").toFile();
+        saved = dir.resolve("saved.csv").toFile();
+        SyntheticLedger.writeCsv(data, csv.toPath());
+        engine = new BudgetEngine();
+        engine.beginBulkLoad();
+        engine.getStore().appendAll(data);
+        engine.endBulkLoad();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchFiles.delete(dir);
+    }
+
+    @Benchmark
+    public long recalculateAll() {
+        engine.recalculateAll();
+        return engine.getTotal();
+    }
+
+    @Benchmark
+    public int loadData() {
+        BudgetEngine fresh = new BudgetEngine();
+        fresh.loadData(csv);
+        return fresh.getStore().size();
+    }
+
+    @Benchmark
+    public long saveData() {
+        engine.saveData(saved);
+        return saved.length();
+    }
+}
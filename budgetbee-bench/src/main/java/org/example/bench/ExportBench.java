@@ -0,0 +1,78 @@
+package org.example.bench;
+
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import org.example.tools.BudgetManagerFacade;
+import org.example.tools.CSVAdapter;
+import org.example.tools.ExpenseTableModel;
+import org.example.tools.TableModelExpenseIterator;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+// Reading every row out: CSV formatting (into a channel that drops the bytes, so no disk time)
+// and the table-model iterator used by reports
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class ExportBench {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private ExpenseStore store;
+    private ExpenseTableModel model;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BudgetManagerFacade facade = new BudgetManagerFacade(new ExpenseStore());
+        facade.beginBulkLoad();
+        facade.getStore().appendAll(SyntheticLedger.generate(rows, 42));
+        facade.endBulkLoad();
+        store = facade.getStore();
+        model = new ExpenseTableModel(facade);
+    }
+
+    @Benchmark
+    public long csvExport() throws IOException {
+        CountingChannel channel = new CountingChannel();
+        new CSVAdapter(store).writeTo(channel);
+        return channel.bytes;
+    }
+
+    @Benchmark
+    public long tableModelIterator() {
+        long total = 0;
+        TableModelExpenseIterator it = new TableModelExpenseIterator(model);
+        while (it.hasNext()) {
+            Expense e = it.next();
+            total += e.amount * e.quantity;
+        }
+        return total;
+    }
+
+    private static class CountingChannel implements WritableByteChannel {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            bytes += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.bench;
+
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.example.tools.CSVAdapter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+// Deterministic fake ledgers: three years of dates in ascending order, a long tail of descriptions,
+// skewed categories, mostly single quantities and amounts from a few taka to a few thousand.
+public final class SyntheticLedger {
+    public static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Entertainment", "Bills", "Other"};
+    private static final int[] CATEGORY_WEIGHTS = {35, 20, 15, 10, 10, 10}; // percent
+    private static final String[] WORDS = {"Coffee", "Rice", "Bus fare", "Fuel", "Rent", "Movie", "Book", "Phone bill",
+            "Lunch", "Taxi", "Groceries", "Internet", "Medicine", "Snacks", "Gift", "Electricity"};
+    private static final int DAYS = 3 * 365;
+
+    private SyntheticLedger() {
+    }
+
+    public static ExpenseStore generate(int rows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int firstDay = EpochDays.of(LocalDate.of(2022, 1, 1));
+        int descriptions = Math.max(WORDS.length, Math.min(rows / 20, 10_000));
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < rows; i++) {
+            int date = firstDay + (int) ((long) i * DAYS / rows);
+            int d = random.nextInt(descriptions);
+            String description = d < WORDS.length ? WORDS[d] : WORDS[d % WORDS.length] + " #" + d / WORDS.length;
+            int quantity = random.nextInt(10) < 8 ? 1 : 2 + random.nextInt(4);
+            long amount = 500 + (long) (Math.pow(random.nextDouble(), 3) * 500_000); // ৳5 .. ৳5000, mostly small
+            store.add(date, description, category(random), quantity, amount);
+        }
+        return store;
+    }
+
+    private static String category(SplittableRandom random) {
+        int r = random.nextInt(100);
+        for (int i = 0; i < CATEGORY_WEIGHTS.length; i++) {
+            if ((r -= CATEGORY_WEIGHTS[i]) < 0) return CATEGORIES[i];
+        }
+        return CATEGORIES[CATEGORIES.length - 1];
+    }
+
+    public static void writeCsv(ExpenseStore store, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            new CSVAdapter(store).writeTo(channel);
+        }
+    }
+}
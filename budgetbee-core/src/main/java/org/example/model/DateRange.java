@@ -0,0 +1,60 @@
+package org.example.model;
+
+import java.time.LocalDate;
+
+// Inclusive range of epoch days; ALL covers the whole ledger
+public final class DateRange {
+    public static final DateRange ALL = new DateRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    public final int fromDay, toDay;
+
+    public DateRange(int fromDay, int toDay) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+    }
+
+    public static DateRange of(LocalDate from, LocalDate to) {
+        return new DateRange(EpochDays.of(from), EpochDays.of(to));
+    }
+
+    public boolean isAll() {
+        return fromDay == Integer.MIN_VALUE && toDay == Integer.MAX_VALUE;
+    }
+
+    public boolean contains(int epochDay) {
+        return epochDay >= fromDay && epochDay <= toDay;
+    }
+
+    // The periods offered by the UI, resolved against "today"
+    public enum Period {
+        ALL_TIME("All time"),
+        LAST_30_DAYS("Last 30 days"),
+        THIS_MONTH("This month"),
+        THIS_QUARTER("This quarter"),
+        THIS_YEAR("This year");
+
+        private final String label;
+
+        Period(String label) {
+            this.label = label;
+        }
+
+        public DateRange range(LocalDate today) {
+            switch (this) {
+                case LAST_30_DAYS: return of(today.minusDays(29), today);
+                case THIS_MONTH: return of(today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()));
+                case THIS_QUARTER: {
+                    LocalDate start = today.withMonth((today.getMonthValue() - 1) / 3 * 3 + 1).withDayOfMonth(1);
+                    return of(start, start.plusMonths(3).minusDays(1));
+                }
+                case THIS_YEAR: return of(today.withDayOfYear(1), today.withDayOfYear(today.lengthOfYear()));
+                default: return ALL;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+}
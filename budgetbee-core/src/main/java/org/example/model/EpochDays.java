@@ -0,0 +1,122 @@
+package org.example.model;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+// Expense dates are stored as days since 1970-01-01 (LocalDate.toEpochDay).
+// Files carry ISO dates; older ledgers used "MMM dd" without a year, which is read as the most
+// recent such day that is not in the future.
+public final class EpochDays {
+    // Dates outside these years are refused: day and month numbers then fit an int with room to spare
+    public static final int MIN_YEAR = -999_999;
+    public static final int MAX_YEAR = 999_999;
+    private static final DateTimeFormatter DISPLAY = DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter LEGACY = DateTimeFormatter.ofPattern("MMM dd", Locale.ENGLISH);
+
+    private EpochDays() {
+    }
+
+    public static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+
+    public static int of(LocalDate date) {
+        if (date.getYear() < MIN_YEAR || date.getYear() > MAX_YEAR) throw new IllegalArgumentException("Date out of range: " + date);
+        return (int) date.toEpochDay();
+    }
+
+    public static LocalDate toLocalDate(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    // Accepts "2024-07-25", "Jul 25, 2024" and the legacy "Jul 25"
+    public static int parse(String text) {
+        String s = text.trim();
+        try {
+            if (s.length() == 10 && s.charAt(4) == '-') return of(LocalDate.parse(s));
+            if (s.indexOf(',') >= 0) return of(LocalDate.parse(s, DISPLAY));
+            MonthDay monthDay = MonthDay.parse(s, LEGACY);
+            LocalDate today = LocalDate.now();
+            LocalDate date = monthDay.atYear(today.getYear());
+            return of(date.isAfter(today) ? monthDay.atYear(today.getYear() - 1) : date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a date: " + text, e);
+        }
+    }
+
+    // Fast path for the CSV parser: "yyyy-MM-dd" in ASCII, or Integer.MIN_VALUE if it is not one
+    public static int parseIso(byte[] b, int from, int to) {
+        if (to - from != 10 || b[from + 4] != '-' || b[from + 7] != '-') return Integer.MIN_VALUE;
+        int year = digits(b, from, 4), month = digits(b, from + 5, 2), day = digits(b, from + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) return Integer.MIN_VALUE;
+        return civil(year, month, day);
+    }
+
+    public static String format(int epochDay) {
+        return DISPLAY.format(toLocalDate(epochDay));
+    }
+
+    public static String iso(int epochDay) {
+        return toLocalDate(epochDay).toString();
+    }
+
+    // Year * 12 + month - 1, the key of the month an epoch day falls in
+    public static int monthIndex(int epochDay) {
+        int ymd = toCivil(epochDay);
+        return Math.floorDiv(ymd, 512) * 12 + (Math.floorMod(ymd, 512) >> 5) - 1;
+    }
+
+    public static int dayOfMonth(int epochDay) {
+        return toCivil(epochDay) & 31;
+    }
+
+    // Epoch day of the first day of a month key
+    public static int firstDayOfMonth(int monthIndex) {
+        return civil(Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1, 1);
+    }
+
+    // ==========================================
+    //                 HELPERS
+    // ==========================================
+    private static int digits(byte[] b, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    // Civil from days, packed as year * 512 + month * 32 + day
+    private static int toCivil(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int doe = z - era * 146097;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 512 + month * 32 + day;
+    }
+
+    // Days from civil (proleptic Gregorian), without allocating a LocalDate
+    private static int civil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+}
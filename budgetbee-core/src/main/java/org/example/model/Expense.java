@@ -1,13 +1,13 @@
 package org.example.model;
 
 public class Expense {
-    public String date;
+    public int date; // epoch day, see EpochDays
     public String description;
     public String category;
     public int quantity;
-    public double amount;
+    public long amount; // minor units, see Money
 
-    public Expense(String date, String description, String category, int quantity, double amount) {
+    public Expense(int date, String description, String category, int quantity, long amount) {
         this.date = date;
         this.description = description;
         this.category = category;
@@ -15,7 +15,7 @@ public class Expense {
         this.amount = amount;
     }
 
-    public double getTotal() {
+    public long getTotal() {
         return quantity * amount;
     }
 }
\ No newline at end of file
@@ -0,0 +1,341 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// COLUMNAR STORE: the source of truth for all expenses.
+// Numbers, dates (epoch days) and money (minor units) live in primitive arrays, text lives in dictionary-encoded int columns.
+public class ExpenseStore {
+
+    // OBSERVER: lets aggregates and the Swing adapter follow every change
+    public interface Listener {
+        default void rowsInserted(ExpenseStore store, int firstRow, int lastRow) {}
+        default void rowsRemoving(ExpenseStore store, int firstRow, int lastRow) {}
+        default void rowsRemoved(ExpenseStore store, int firstRow, int lastRow) {}
+        default void rowUpdating(ExpenseStore store, int row) {}
+        default void rowUpdated(ExpenseStore store, int row, int column) {}
+
+        // Scattered rows (ascending) from removeRows / insertRows. The defaults replay them as single-row
+        // events in an order that keeps every index valid; override them to handle big changes in one pass.
+        default void rowsRemoving(ExpenseStore store, int[] rows) {
+            for (int i = rows.length - 1; i >= 0; i--) rowsRemoving(store, rows[i], rows[i]);
+        }
+        default void rowsRemoved(ExpenseStore store, int[] rows) {
+            for (int i = rows.length - 1; i >= 0; i--) rowsRemoved(store, rows[i], rows[i]);
+        }
+        default void rowsInserted(ExpenseStore store, int[] rows) {
+            for (int row : rows) rowsInserted(store, row, row);
+        }
+    }
+
+    public static final int DATE = 0, DESCRIPTION = 1, CATEGORY = 2, QUANTITY = 3, AMOUNT = 4;
+    public static final int BYTES_PER_ROW = 24; // one entry in each column, for memory estimates
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size = 0;
+    private int[] dates = new int[INITIAL_CAPACITY];
+    private int[] descriptionIds = new int[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+
+    private final StringDictionary descriptions = new StringDictionary();
+    private final StringDictionary categories = new StringDictionary();
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    // Raw column arrays for bulk readers (snapshots, aggregation).
+    // Treat as read-only; only the first 'size' entries are valid, and only until the next write.
+    public static class Columns {
+        public final int size;
+        public final int[] dates, descriptionIds, categoryIds, quantities;
+        public final long[] amounts;
+
+        public Columns(int size, int[] dates, int[] descriptionIds, int[] categoryIds, int[] quantities, long[] amounts) {
+            this.size = size;
+            this.dates = dates;
+            this.descriptionIds = descriptionIds;
+            this.categoryIds = categoryIds;
+            this.quantities = quantities;
+            this.amounts = amounts;
+        }
+    }
+
+    public ExpenseStore() {
+    }
+
+    // Builds a store straight from decoded columns and dictionaries (used by the binary snapshot)
+    public ExpenseStore(Columns columns, String[] descriptions, String[] categories) {
+        for (String d : descriptions) this.descriptions.idOf(d);
+        for (String c : categories) this.categories.idOf(c);
+        for (int i = 0; i < columns.size; i++) checkTotal(columns.quantities[i], columns.amounts[i]);
+        this.size = columns.size;
+        this.dates = columns.dates;
+        this.descriptionIds = columns.descriptionIds;
+        this.categoryIds = columns.categoryIds;
+        this.quantities = columns.quantities;
+        this.amounts = columns.amounts;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // ==========================================
+    //                 READS
+    // ==========================================
+    public int size() { return size; }
+
+    public int getDate(int row) { return dates[check(row)]; }
+    public String getDescription(int row) { return descriptions.get(descriptionIds[check(row)]); }
+    public String getCategory(int row) { return categories.get(categoryIds[check(row)]); }
+    public int getCategoryId(int row) { return categoryIds[check(row)]; }
+    public int getQuantity(int row) { return quantities[check(row)]; }
+    public long getAmount(int row) { return amounts[check(row)]; }
+    public long getTotal(int row) { return Math.multiplyExact((long) quantities[check(row)], amounts[row]); } // fits: see checkTotal
+
+    public int getDescriptionId(int row) { return descriptionIds[check(row)]; }
+
+    // Detached copy without listeners, safe to hand to another thread
+    public ExpenseStore copy() {
+        Columns c = new Columns(size, Arrays.copyOf(dates, size), Arrays.copyOf(descriptionIds, size),
+                Arrays.copyOf(categoryIds, size), Arrays.copyOf(quantities, size), Arrays.copyOf(amounts, size));
+        return new ExpenseStore(c, descriptions.toArray(), categories.toArray());
+    }
+
+    // Detached copy of the given rows (ascending), e.g. to put them back after removeRows
+    public ExpenseStore copyRows(int[] rows) {
+        ExpenseStore copy = new ExpenseStore();
+        copy.ensureCapacity(rows.length);
+        for (int row : rows) copy.add(getDate(row), getDescription(row), getCategory(row), getQuantity(row), getAmount(row));
+        return copy;
+    }
+
+    public Columns columns() {
+        return new Columns(size, dates, descriptionIds, categoryIds, quantities, amounts);
+    }
+
+    public StringDictionary descriptions() { return descriptions; }
+    public StringDictionary categories() { return categories; }
+
+    // Rough heap cost of the rows and both dictionaries, for memory estimates
+    public long estimatedBytes() {
+        return 64 + (long) size * BYTES_PER_ROW + descriptions.estimatedBytes() + categories.estimatedBytes();
+    }
+
+    // Typed cell value, in the form set(row, column, value) accepts
+    public Object getValue(int row, int column) {
+        switch (column) {
+            case DATE: return getDate(row);
+            case DESCRIPTION: return getDescription(row);
+            case CATEGORY: return getCategory(row);
+            case QUANTITY: return getQuantity(row);
+            case AMOUNT: return getAmount(row);
+            default: throw new IllegalArgumentException("Unknown column " + column);
+        }
+    }
+
+    // Materializes one row; scans should prefer the column getters above
+    public Expense get(int row) {
+        return new Expense(getDate(row), getDescription(row), getCategory(row), getQuantity(row), getAmount(row));
+    }
+
+    // ==========================================
+    //                 WRITES
+    // ==========================================
+    public int add(Expense e) {
+        insert(size, e);
+        return size - 1;
+    }
+
+    // Same as add(Expense) without building an Expense first (used by the parsers)
+    public int add(int date, String description, String category, int quantity, long amount) {
+        insert(size, date, description, category, quantity, amount);
+        return size - 1;
+    }
+
+    public void insert(int row, Expense e) {
+        insert(row, e.date, e.description, e.category, e.quantity, e.amount);
+    }
+
+    private void insert(int row, int date, String description, String category, int quantity, long amount) {
+        if (row < 0 || row > size) throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        checkTotal(quantity, amount);
+        ensureCapacity(size + 1);
+        int tail = size - row;
+        if (tail > 0) {
+            System.arraycopy(dates, row, dates, row + 1, tail);
+            System.arraycopy(descriptionIds, row, descriptionIds, row + 1, tail);
+            System.arraycopy(categoryIds, row, categoryIds, row + 1, tail);
+            System.arraycopy(quantities, row, quantities, row + 1, tail);
+            System.arraycopy(amounts, row, amounts, row + 1, tail);
+        }
+        dates[row] = date;
+        descriptionIds[row] = descriptions.idOf(description);
+        categoryIds[row] = categories.idOf(category);
+        quantities[row] = quantity;
+        amounts[row] = amount;
+        size++;
+        for (Listener l : listeners) l.rowsInserted(this, row, row);
+    }
+
+    // Appends every row of another store (e.g. a parsed batch) with a single insert event
+    public void appendAll(ExpenseStore batch) {
+        if (batch.size == 0) return;
+        int first = size;
+        ensureCapacity(size + batch.size);
+        int[] descriptionMap = remap(batch.descriptions, descriptions);
+        int[] categoryMap = remap(batch.categories, categories);
+        for (int i = 0; i < batch.size; i++) {
+            descriptionIds[size + i] = descriptionMap[batch.descriptionIds[i]];
+            categoryIds[size + i] = categoryMap[batch.categoryIds[i]];
+        }
+        System.arraycopy(batch.dates, 0, dates, size, batch.size);
+        System.arraycopy(batch.quantities, 0, quantities, size, batch.size);
+        System.arraycopy(batch.amounts, 0, amounts, size, batch.size);
+        size += batch.size;
+        for (Listener l : listeners) l.rowsInserted(this, first, size - 1);
+    }
+
+    public void remove(int row) {
+        removeRange(row, row);
+    }
+
+    // Removes rows firstRow..lastRow (inclusive) with a single remove event
+    public void removeRange(int firstRow, int lastRow) {
+        check(firstRow);
+        check(lastRow);
+        if (firstRow > lastRow) throw new IllegalArgumentException("Empty range " + firstRow + ".." + lastRow);
+        for (Listener l : listeners) l.rowsRemoving(this, firstRow, lastRow);
+        int count = lastRow - firstRow + 1;
+        int tail = size - lastRow - 1;
+        if (tail > 0) {
+            System.arraycopy(dates, lastRow + 1, dates, firstRow, tail);
+            System.arraycopy(descriptionIds, lastRow + 1, descriptionIds, firstRow, tail);
+            System.arraycopy(categoryIds, lastRow + 1, categoryIds, firstRow, tail);
+            System.arraycopy(quantities, lastRow + 1, quantities, firstRow, tail);
+            System.arraycopy(amounts, lastRow + 1, amounts, firstRow, tail);
+        }
+        size -= count;
+        for (Listener l : listeners) l.rowsRemoved(this, firstRow, lastRow);
+    }
+
+    // Removes scattered rows (ascending, distinct) in one pass over the columns, with one remove event
+    public void removeRows(int[] rows) {
+        if (rows.length == 0) return;
+        checkAscending(rows, size);
+        if (rows[rows.length - 1] - rows[0] == rows.length - 1) {
+            removeRange(rows[0], rows[rows.length - 1]);
+            return;
+        }
+        for (Listener l : listeners) l.rowsRemoving(this, rows);
+        int w = rows[0];
+        for (int r = rows[0], k = 0; r < size; r++) {
+            if (k < rows.length && rows[k] == r) { k++; continue; }
+            dates[w] = dates[r];
+            descriptionIds[w] = descriptionIds[r];
+            categoryIds[w] = categoryIds[r];
+            quantities[w] = quantities[r];
+            amounts[w] = amounts[r];
+            w++;
+        }
+        size = w;
+        for (Listener l : listeners) l.rowsRemoved(this, rows);
+    }
+
+    // The inverse of removeRows: row i of the batch ends up at position rows[i] (ascending, distinct),
+    // in one pass over the columns, with one insert event
+    public void insertRows(int[] rows, ExpenseStore batch) {
+        if (rows.length != batch.size) throw new IllegalArgumentException(rows.length + " positions for " + batch.size + " rows");
+        if (rows.length == 0) return;
+        checkAscending(rows, size + rows.length);
+        ensureCapacity(size + rows.length);
+        int[] descriptionMap = remap(batch.descriptions, descriptions);
+        int[] categoryMap = remap(batch.categories, categories);
+        // Fill from the end, so every old row moves up exactly once
+        int src = size - 1;
+        for (int dst = size + rows.length - 1, k = rows.length - 1; k >= 0; dst--) {
+            if (rows[k] == dst) {
+                dates[dst] = batch.dates[k];
+                descriptionIds[dst] = descriptionMap[batch.descriptionIds[k]];
+                categoryIds[dst] = categoryMap[batch.categoryIds[k]];
+                quantities[dst] = batch.quantities[k];
+                amounts[dst] = batch.amounts[k];
+                k--;
+            } else {
+                dates[dst] = dates[src];
+                descriptionIds[dst] = descriptionIds[src];
+                categoryIds[dst] = categoryIds[src];
+                quantities[dst] = quantities[src];
+                amounts[dst] = amounts[src];
+                src--;
+            }
+        }
+        size += rows.length;
+        boolean contiguous = rows[rows.length - 1] - rows[0] == rows.length - 1;
+        for (Listener l : listeners) {
+            if (contiguous) l.rowsInserted(this, rows[0], rows[rows.length - 1]);
+            else l.rowsInserted(this, rows);
+        }
+    }
+
+    public void set(int row, int column, Object value) {
+        check(row);
+        if (column == QUANTITY) checkTotal(((Number) value).intValue(), amounts[row]);
+        if (column == AMOUNT) checkTotal(quantities[row], ((Number) value).longValue());
+        for (Listener l : listeners) l.rowUpdating(this, row);
+        switch (column) {
+            case DATE: dates[row] = ((Number) value).intValue(); break;
+            case DESCRIPTION: descriptionIds[row] = descriptions.idOf(value.toString()); break;
+            case CATEGORY: categoryIds[row] = categories.idOf(value.toString()); break;
+            case QUANTITY: quantities[row] = ((Number) value).intValue(); break;
+            case AMOUNT: amounts[row] = ((Number) value).longValue(); break; // minor units
+            default: throw new IllegalArgumentException("Unknown column " + column);
+        }
+        for (Listener l : listeners) l.rowUpdated(this, row, column);
+    }
+
+    // ==========================================
+    //                 HELPERS
+    // ==========================================
+    private static int[] remap(StringDictionary from, StringDictionary to) {
+        int[] map = new int[from.size()];
+        for (int id = 0; id < map.length; id++) map[id] = to.idOf(from.get(id));
+        return map;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= quantities.length) return;
+        int capacity = Math.max(needed, quantities.length + (quantities.length >> 1));
+        dates = Arrays.copyOf(dates, capacity);
+        descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+    }
+
+    // Every row's quantity x amount must fit a long, so getTotal and the aggregates never wrap around.
+    // Rows reach a store only through here (batches were checked when they were built).
+    private static void checkTotal(int quantity, long amount) {
+        try {
+            Math.multiplyExact((long) quantity, amount);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Total of " + quantity + " x " + amount + " does not fit a long");
+        }
+    }
+
+    private static void checkAscending(int[] rows, int limit) {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] < 0 || rows[i] >= limit || (i > 0 && rows[i] <= rows[i - 1])) {
+                throw new IllegalArgumentException("Rows must be ascending and below " + limit + ": " + rows[i]);
+            }
+        }
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        return row;
+    }
+}
@@ -0,0 +1,281 @@
+package org.example.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// PERSISTENT LEDGER: one immutable version of all rows, as a rope of small columnar chunks kept in an
+// implicit treap (ordered by row position, balanced by random priorities).
+// A change copies one or two chunks and the O(log n) nodes above them; everything else is shared with
+// the version before, so keeping a version costs O(change) and any thread may read it while the store moves on.
+public final class LedgerVersion {
+    public static final LedgerVersion EMPTY = new LedgerVersion(0, null);
+    static final int CHUNK = 64; // rows per leaf chunk at most
+
+    public final long sequence;      // changes since the first version
+    public final long createdMillis;
+    private final Node root;
+
+    private LedgerVersion(long sequence, Node root) {
+        this.sequence = sequence;
+        this.createdMillis = System.currentTimeMillis();
+        this.root = root;
+    }
+
+    // ==========================================
+    //                  READS
+    // ==========================================
+    public int size() {
+        return size(root);
+    }
+
+    public Expense get(int row) {
+        if (row < 0 || row >= size()) throw new IndexOutOfBoundsException("Row " + row + " of " + size());
+        Node t = root;
+        while (true) {
+            int ls = size(t.left), c = t.chunk.length();
+            if (row < ls) {
+                t = t.left;
+            } else if (row >= ls + c) {
+                row -= ls + c;
+                t = t.right;
+            } else {
+                return t.chunk.get(row - ls);
+            }
+        }
+    }
+
+    // A new mutable store with this version's rows, e.g. to write a snapshot off the EDT; O(n)
+    public ExpenseStore toStore() {
+        ExpenseStore store = new ExpenseStore();
+        appendTo(root, store);
+        return store;
+    }
+
+    private static void appendTo(Node t, ExpenseStore store) {
+        if (t == null) return;
+        appendTo(t.left, store);
+        Chunk c = t.chunk;
+        for (int i = 0; i < c.length(); i++) store.add(c.dates[i], c.descriptions[i], c.categories[i], c.quantities[i], c.amounts[i]);
+        appendTo(t.right, store);
+    }
+
+    // ==========================================
+    //     NEW VERSIONS (one per store event)
+    // ==========================================
+    // Store rows firstRow..lastRow were inserted there
+    LedgerVersion inserted(ExpenseStore store, int firstRow, int lastRow) {
+        Node[] parts = split(root, firstRow);
+        return next(join(join(parts[0], build(store, firstRow, lastRow + 1)), parts[1]));
+    }
+
+    // Store rows (ascending) were inserted at these positions
+    LedgerVersion inserted(ExpenseStore store, int[] rows) {
+        Node t = root;
+        for (int row : rows) {
+            Node[] parts = split(t, row);
+            t = join(join(parts[0], leaf(Chunk.of(store, row, row + 1))), parts[1]);
+        }
+        return next(t);
+    }
+
+    LedgerVersion removed(int firstRow, int lastRow) {
+        Node[] left = split(root, firstRow);
+        Node[] right = split(left[1], lastRow - firstRow + 1);
+        return next(join(left[0], right[1]));
+    }
+
+    // Rows (ascending) were removed
+    LedgerVersion removed(int[] rows) {
+        Node t = root;
+        for (int i = rows.length - 1; i >= 0; i--) {
+            Node[] left = split(t, rows[i]);
+            t = join(left[0], split(left[1], 1)[1]);
+        }
+        return next(t);
+    }
+
+    // Store row 'row' changed in place
+    LedgerVersion updated(ExpenseStore store, int row) {
+        return next(update(root, row, store, row));
+    }
+
+    private LedgerVersion next(Node newRoot) {
+        return new LedgerVersion(sequence + 1, newRoot);
+    }
+
+    // ==========================================
+    //           TREAP (path copying)
+    // ==========================================
+    private static final class Node {
+        final Chunk chunk;
+        final int priority;
+        final int size; // rows in this subtree
+        final Node left, right;
+
+        Node(Chunk chunk, int priority, Node left, Node right) {
+            this.chunk = chunk;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + chunk.length() + size(right);
+        }
+
+        Node with(Node newLeft, Node newRight) {
+            return newLeft == left && newRight == right ? this : new Node(chunk, priority, newLeft, newRight);
+        }
+    }
+
+    private static int size(Node t) {
+        return t == null ? 0 : t.size;
+    }
+
+    private static Node leaf(Chunk chunk) {
+        return new Node(chunk, ThreadLocalRandom.current().nextInt(), null, null);
+    }
+
+    // The first k rows and the rest; a chunk that straddles k is cut in two
+    private static Node[] split(Node t, int k) {
+        if (t == null || k <= 0) return new Node[]{null, t};
+        if (k >= t.size) return new Node[]{t, null};
+        int ls = size(t.left), c = t.chunk.length();
+        if (k <= ls) {
+            Node[] parts = split(t.left, k);
+            return new Node[]{parts[0], t.with(parts[1], t.right)};
+        }
+        if (k >= ls + c) {
+            Node[] parts = split(t.right, k - ls - c);
+            return new Node[]{t.with(t.left, parts[0]), parts[1]};
+        }
+        int at = k - ls;
+        return new Node[]{new Node(t.chunk.slice(0, at), t.priority, t.left, null),
+                new Node(t.chunk.slice(at, c), t.priority, null, t.right)};
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority >= b.priority) return a.with(a.left, merge(a.right, b));
+        return b.with(merge(a, b.left), b.right);
+    }
+
+    // Merge that also fuses the chunks on either side of the seam when they fit in one, so repeated
+    // single-row inserts and deletes do not leave the rope full of tiny chunks
+    private static Node join(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        Chunk last = last(a), first = first(b);
+        if (last.length() + first.length() > CHUNK) return merge(a, b);
+        Node[] head = split(a, a.size - last.length());
+        Node[] tail = split(b, first.length());
+        return merge(merge(head[0], leaf(last.concat(first))), tail[1]);
+    }
+
+    private static Chunk first(Node t) {
+        while (t.left != null) t = t.left;
+        return t.chunk;
+    }
+
+    private static Chunk last(Node t) {
+        while (t.right != null) t = t.right;
+        return t.chunk;
+    }
+
+    private static Node update(Node t, int row, ExpenseStore store, int storeRow) {
+        int ls = size(t.left), c = t.chunk.length();
+        if (row < ls) return t.with(update(t.left, row, store, storeRow), t.right);
+        if (row >= ls + c) return t.with(t.left, update(t.right, row - ls - c, store, storeRow));
+        return new Node(t.chunk.with(row - ls, store, storeRow), t.priority, t.left, t.right);
+    }
+
+    // Store rows from..to-1 as a treap of full chunks, in O(rows): a Cartesian tree over random
+    // priorities, built left to right with a stack
+    private static Node build(ExpenseStore store, int from, int to) {
+        int count = (to - from + CHUNK - 1) / CHUNK;
+        Chunk[] chunks = new Chunk[count];
+        int[] priority = new int[count], left = new int[count], right = new int[count], stack = new int[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int top = 0;
+        for (int i = 0; i < count; i++) {
+            int start = from + i * CHUNK;
+            chunks[i] = Chunk.of(store, start, Math.min(start + CHUNK, to));
+            priority[i] = random.nextInt();
+            left[i] = right[i] = -1;
+            int popped = -1;
+            while (top > 0 && priority[stack[top - 1]] < priority[i]) popped = stack[--top];
+            left[i] = popped;
+            if (top > 0) right[stack[top - 1]] = i;
+            stack[top++] = i;
+        }
+        return count == 0 ? null : freeze(stack[0], chunks, priority, left, right);
+    }
+
+    private static Node freeze(int i, Chunk[] chunks, int[] priority, int[] left, int[] right) {
+        Node l = left[i] < 0 ? null : freeze(left[i], chunks, priority, left, right);
+        Node r = right[i] < 0 ? null : freeze(right[i], chunks, priority, left, right);
+        return new Node(chunks[i], priority[i], l, r);
+    }
+
+    // Up to CHUNK rows, column by column; never modified once built
+    private static final class Chunk {
+        final int[] dates;
+        final String[] descriptions, categories; // the store's dictionary strings, shared
+        final int[] quantities;
+        final long[] amounts;
+
+        private Chunk(int length) {
+            dates = new int[length];
+            descriptions = new String[length];
+            categories = new String[length];
+            quantities = new int[length];
+            amounts = new long[length];
+        }
+
+        static Chunk of(ExpenseStore store, int from, int to) {
+            Chunk c = new Chunk(to - from);
+            for (int i = 0; i < c.length(); i++) c.set(i, store, from + i);
+            return c;
+        }
+
+        int length() {
+            return dates.length;
+        }
+
+        Expense get(int i) {
+            return new Expense(dates[i], descriptions[i], categories[i], quantities[i], amounts[i]);
+        }
+
+        Chunk slice(int from, int to) {
+            Chunk c = new Chunk(to - from);
+            c.copy(0, this, from, to - from);
+            return c;
+        }
+
+        Chunk concat(Chunk other) {
+            Chunk c = new Chunk(length() + other.length());
+            c.copy(0, this, 0, length());
+            c.copy(length(), other, 0, other.length());
+            return c;
+        }
+
+        Chunk with(int i, ExpenseStore store, int row) {
+            Chunk c = slice(0, length());
+            c.set(i, store, row);
+            return c;
+        }
+
+        private void set(int i, ExpenseStore store, int row) {
+            dates[i] = store.getDate(row);
+            descriptions[i] = store.getDescription(row);
+            categories[i] = store.getCategory(row);
+            quantities[i] = store.getQuantity(row);
+            amounts[i] = store.getAmount(row);
+        }
+
+        private void copy(int at, Chunk src, int from, int n) {
+            System.arraycopy(src.dates, from, dates, at, n);
+            System.arraycopy(src.descriptions, from, descriptions, at, n);
+            System.arraycopy(src.categories, from, categories, at, n);
+            System.arraycopy(src.quantities, from, quantities, at, n);
+            System.arraycopy(src.amounts, from, amounts, at, n);
+        }
+    }
+}
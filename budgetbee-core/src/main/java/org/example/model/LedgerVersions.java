@@ -0,0 +1,75 @@
+package org.example.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// Follows a store and turns every change into a new LedgerVersion, in O(log n) per changed row.
+// current() is a consistent snapshot for readers on any thread (exports, snapshot writes);
+// the last few versions are kept for time travel, older ones are left to the garbage collector.
+public class LedgerVersions implements ExpenseStore.Listener {
+    public static final int MAX_RETAINED = 256;
+    public static final long RETENTION_MILLIS = 10 * 60_000L; // 10 minutes
+
+    private volatile LedgerVersion current;
+    private final ArrayDeque<LedgerVersion> retained = new ArrayDeque<>(); // oldest first
+
+    public LedgerVersions(ExpenseStore store) {
+        LedgerVersion first = LedgerVersion.EMPTY;
+        if (store.size() > 0) first = first.inserted(store, 0, store.size() - 1);
+        publish(first);
+    }
+
+    // The newest version; never blocks
+    public LedgerVersion current() {
+        return current;
+    }
+
+    // A retained version by sequence, or null if it is too old (or not there yet)
+    public synchronized LedgerVersion at(long sequence) {
+        for (LedgerVersion v : retained) {
+            if (v.sequence == sequence) return v;
+        }
+        return null;
+    }
+
+    // Retained versions, oldest first
+    public synchronized List<LedgerVersion> retained() {
+        return new ArrayList<>(retained);
+    }
+
+    private synchronized void publish(LedgerVersion version) {
+        current = version;
+        retained.addLast(version);
+        while (retained.size() > MAX_RETAINED
+                || version.createdMillis - retained.peekFirst().createdMillis > RETENTION_MILLIS) {
+            retained.removeFirst();
+        }
+    }
+
+    // --- Store events ---
+    @Override
+    public void rowsInserted(ExpenseStore store, int firstRow, int lastRow) {
+        publish(current.inserted(store, firstRow, lastRow));
+    }
+
+    @Override
+    public void rowsRemoved(ExpenseStore store, int firstRow, int lastRow) {
+        publish(current.removed(firstRow, lastRow));
+    }
+
+    @Override
+    public void rowUpdated(ExpenseStore store, int row, int column) {
+        publish(current.updated(store, row));
+    }
+
+    @Override
+    public void rowsInserted(ExpenseStore store, int[] rows) {
+        publish(current.inserted(store, rows));
+    }
+
+    @Override
+    public void rowsRemoved(ExpenseStore store, int[] rows) {
+        publish(current.removed(rows));
+    }
+}
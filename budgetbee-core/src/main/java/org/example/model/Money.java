@@ -0,0 +1,129 @@
+package org.example.model;
+
+// Money is a long count of minor units (poisha): ৳1234.50 is 123450.
+// Sums of longs are exact and order-independent, so totals cannot drift, and the text form
+// ("৳1234.50") is parsed and written by hand, without doubles or String.format.
+public final class Money {
+    public static final String SYMBOL = "৳";
+    public static final int SCALE = 100; // minor units per taka
+    public static final int MAX_LENGTH = 22; // longest format(): symbol, sign, 19 digits, point
+
+    // Returned by the byte parser for text that is not an amount
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int MAX_DIGITS = 18; // of the minor units, so every parsed amount fits a long
+    private static final char SYMBOL_CHAR = '৳';
+
+    private Money() {
+    }
+
+    public static double toDouble(long minor) {
+        return minor / (double) SCALE;
+    }
+
+    // Mean of a total over count items, rounded half up to the nearest minor unit
+    public static long average(long total, long count) {
+        return count == 0 ? 0 : Math.floorDiv(2 * total + count, 2 * count);
+    }
+
+    // ==========================================
+    //                 PARSING
+    // ==========================================
+    // Accepts "12", "12.5", "12.50", ".75", "-3.10", "৳12.50" and "৳-3.10", with surrounding spaces.
+    // Decimals past the second are rounded half away from zero; more than 18 digits in all is not an amount.
+    public static long parse(CharSequence text) {
+        long minor = parse(text, null, 0, text.length());
+        if (minor == INVALID) throw new NumberFormatException("Not an amount: " + text);
+        return minor;
+    }
+
+    // Same rules over UTF-8 bytes, for the CSV parser; returns INVALID instead of throwing
+    public static long parse(byte[] bytes, int from, int to) {
+        return parse(null, bytes, from, to);
+    }
+
+    private static long parse(CharSequence text, byte[] bytes, int from, int to) {
+        while (from < to && at(text, bytes, from) == ' ') from++;
+        while (to > from && at(text, bytes, to - 1) == ' ') to--;
+        boolean negative = from < to && at(text, bytes, from) == '-';
+        if (negative) from++;
+        from = skipSymbol(text, bytes, from, to);
+        if (!negative && from < to && at(text, bytes, from) == '-') {
+            negative = true;
+            from++;
+        }
+
+        long minor = 0;
+        int digits = 0;
+        int scale = -1; // decimals read so far, -1 before the point
+        boolean roundUp = false, dropped = false;
+        for (int i = from; i < to; i++) {
+            int c = at(text, bytes, i);
+            if (c == '.' && scale < 0) { scale = 0; continue; }
+            int d = c - '0';
+            if (d < 0 || d > 9) return INVALID;
+            if (scale == 2) {
+                if (!dropped) roundUp = d >= 5;
+                dropped = true;
+                continue;
+            }
+            if (++digits > MAX_DIGITS) return INVALID;
+            minor = minor * 10 + d;
+            if (scale >= 0) scale++;
+        }
+        if (digits == 0) return INVALID;
+        for (int s = Math.max(scale, 0); s < 2; s++) {
+            if (++digits > MAX_DIGITS) return INVALID; // "999999999999999999" has no room for the decimals
+            minor *= 10;
+        }
+        if (roundUp) minor++;
+        return negative ? -minor : minor;
+    }
+
+    private static int at(CharSequence text, byte[] bytes, int i) {
+        return bytes != null ? bytes[i] & 0xFF : text.charAt(i);
+    }
+
+    // The currency sign, as a char or as its UTF-8 bytes (E0 A7 B3)
+    private static int skipSymbol(CharSequence text, byte[] bytes, int from, int to) {
+        if (bytes == null) return from < to && text.charAt(from) == SYMBOL_CHAR ? from + 1 : from;
+        boolean symbol = to - from >= 3 && bytes[from] == (byte) 0xE0 && bytes[from + 1] == (byte) 0xA7 && bytes[from + 2] == (byte) 0xB3;
+        return symbol ? from + 3 : from;
+    }
+
+    // ==========================================
+    //                FORMATTING
+    // ==========================================
+    // "৳1234.50"
+    public static String format(long minor) {
+        char[] buf = new char[MAX_LENGTH];
+        int start = write(minor, buf, buf.length);
+        buf[--start] = SYMBOL_CHAR;
+        return new String(buf, start, buf.length - start);
+    }
+
+    // "1234.50", e.g. for CSV and edit fields
+    public static String plain(long minor) {
+        char[] buf = new char[MAX_LENGTH];
+        int start = write(minor, buf, buf.length);
+        return new String(buf, start, buf.length - start);
+    }
+
+    // Writes the plain form so that it ends just before 'end' and returns where it starts.
+    // Allocation free; buf needs MAX_LENGTH - 1 chars before 'end'.
+    public static int write(long minor, char[] buf, int end) {
+        long n = minor < 0 ? minor : -minor; // work on the negative side, where Long.MIN_VALUE fits
+        int p = end;
+        buf[--p] = (char) ('0' - n % 10);
+        n /= 10;
+        buf[--p] = (char) ('0' - n % 10);
+        n /= 10;
+        buf[--p] = '.';
+        do {
+            buf[--p] = (char) ('0' - n % 10);
+            n /= 10;
+        } while (n != 0);
+        if (minor < 0) buf[--p] = '-';
+        return p;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maps each distinct String to a small int id, so columns can store ids instead of Strings
+public class StringDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private long bytes; // estimated heap cost of the entries
+
+    // Map node, boxed id and list slot of one entry, for memory estimates
+    private static final int ENTRY_BYTES = 52;
+
+    // Returns the id of the value, adding it if it has not been seen before
+    public int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id != null) return id;
+        int newId = values.size();
+        values.add(value);
+        ids.put(value, newId);
+        bytes += ENTRY_BYTES + stringBytes(value);
+        return newId;
+    }
+
+    // Returns the id of the value, or -1 if it is not in the dictionary
+    public int find(String value) {
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    public String get(int id) {
+        return values.get(id);
+    }
+
+    public String[] toArray() {
+        return values.toArray(new String[0]);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    // Rough heap cost of the dictionary, strings included
+    public long estimatedBytes() {
+        return 64 + bytes;
+    }
+
+    // Rough heap cost of a String: object and array headers, two bytes per char at most
+    public static long stringBytes(String value) {
+        return 40 + 2L * value.length();
+    }
+}
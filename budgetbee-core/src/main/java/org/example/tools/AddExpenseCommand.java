@@ -0,0 +1,58 @@
+package org.example.tools;
+
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class AddExpenseCommand implements JournaledCommand {
+    private ExpenseStore store;
+    private Expense expense;
+    private int row = -1;
+    private int insertAt = -1; // -1 appends
+
+    public AddExpenseCommand(ExpenseStore store, Expense expense) {
+        this.store = store;
+        this.expense = expense;
+    }
+
+    // Inserts at a given position instead of appending (the inverse of a delete)
+    public AddExpenseCommand(ExpenseStore store, Expense expense, int insertAt) {
+        this(store, expense);
+        this.insertAt = insertAt;
+    }
+
+    @Override
+    public void execute() {
+        if (insertAt < 0) {
+            row = store.add(expense);
+        } else {
+            store.insert(insertAt, expense);
+            row = insertAt;
+        }
+    }
+
+    @Override
+    public void undo() {
+        // Remove the row we added
+        if (row >= 0 && row < store.size()) {
+            store.remove(row);
+        }
+    }
+
+    @Override
+    public byte journalTag() {
+        return CommandJournal.ADD;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(insertAt);
+        CommandJournal.writeExpense(out, expense);
+    }
+
+    @Override
+    public JournaledCommand inverse() {
+        return new DeleteExpenseCommand(store, row);
+    }
+}
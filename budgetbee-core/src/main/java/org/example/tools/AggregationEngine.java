@@ -0,0 +1,129 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.example.model.StringDictionary;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Keeps total, item count and per-category totals of the ledger, in money minor units.
+// Full recomputes split the columns into fixed-size segments and reduce them in parallel; the sums
+// are exact long additions, so the result is identical run to run no matter how many cores did the work.
+public class AggregationEngine {
+    static final int SEGMENT_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private Partial state = new Partial(0);
+
+    public AggregationEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public AggregationEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ==========================================
+    //                 UPDATES
+    // ==========================================
+    public void recompute(ExpenseStore store) {
+        ExpenseStore.Columns c = store.columns();
+        int categories = store.categories().size();
+        SegmentTask task = new SegmentTask(c, categories, 0, c.size);
+        state = c.size <= SEGMENT_SIZE ? task.compute() : pool.invoke(task);
+    }
+
+    // Incremental delta of one row (sign = +1 added, -1 removed)
+    public void apply(int categoryId, int quantity, long rowTotal, int sign) {
+        state.ensureCategories(categoryId + 1);
+        state.items += (long) sign * quantity;
+        state.add(categoryId, sign * rowTotal);
+    }
+
+    // ==========================================
+    //                  READS
+    // ==========================================
+    public long getTotal() {
+        return state.total;
+    }
+
+    public long getTotalItems() {
+        return state.items;
+    }
+
+    public long getCategoryTotal(int categoryId) {
+        if (categoryId >= state.sums.length) return 0;
+        return state.sums[categoryId];
+    }
+
+    // Category name -> total, in dictionary order (so charts keep a stable order)
+    public Map<String, Long> categoryTotals(StringDictionary categories) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int id = 0; id < categories.size(); id++) totals.put(categories.get(id), getCategoryTotal(id));
+        return totals;
+    }
+
+    // ==========================================
+    //         PER-SEGMENT PRIMITIVE ACCUMULATORS
+    // ==========================================
+    private static class Partial {
+        long total, items;
+        long[] sums;
+
+        Partial(int categories) {
+            sums = new long[categories];
+        }
+
+        void ensureCategories(int categories) {
+            if (categories > sums.length) sums = Arrays.copyOf(sums, categories);
+        }
+
+        void add(int categoryId, long value) {
+            total += value;
+            sums[categoryId] += value;
+        }
+
+        // Folds the right-hand partial in; always called left-to-right in segment order
+        void merge(Partial right) {
+            ensureCategories(right.sums.length);
+            items += right.items;
+            total += right.total;
+            for (int id = 0; id < right.sums.length; id++) sums[id] += right.sums[id];
+        }
+    }
+
+    private static class SegmentTask extends RecursiveTask<Partial> {
+        private final ExpenseStore.Columns c;
+        private final int categories, from, to;
+
+        SegmentTask(ExpenseStore.Columns c, int categories, int from, int to) {
+            this.c = c;
+            this.categories = categories;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            int segments = (to - from + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+            if (segments <= 1) {
+                Partial p = new Partial(categories);
+                for (int i = from; i < to; i++) {
+                    p.items += c.quantities[i];
+                    p.add(c.categoryIds[i], c.quantities[i] * c.amounts[i]);
+                }
+                return p;
+            }
+            // Split on a segment boundary, so the tree only depends on the row count
+            int mid = from + (segments / 2) * SEGMENT_SIZE;
+            SegmentTask left = new SegmentTask(c, categories, from, mid);
+            SegmentTask right = new SegmentTask(c, categories, mid, to);
+            right.fork();
+            Partial result = left.compute();
+            result.merge(right.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Adds many rows as one step: one pass over the store, one model event, one undo.
+// Appends by default; with positions, row i of the batch lands at positions[i] (the inverse of a batch delete).
+public class BatchAddCommand implements JournaledCommand {
+    private final ExpenseStore store;
+    private final ExpenseStore batch;
+    private final int[] positions; // ascending, or null to append
+    private int firstRow = -1;
+
+    public BatchAddCommand(ExpenseStore store, ExpenseStore batch) {
+        this(store, batch, null);
+    }
+
+    public BatchAddCommand(ExpenseStore store, ExpenseStore batch, int[] positions) {
+        this.store = store;
+        this.batch = batch;
+        this.positions = positions;
+    }
+
+    @Override
+    public void execute() {
+        if (positions == null) {
+            firstRow = store.size();
+            store.appendAll(batch);
+        } else {
+            store.insertRows(positions, batch);
+        }
+    }
+
+    @Override
+    public void undo() {
+        if (positions != null) {
+            store.removeRows(positions);
+        } else if (firstRow >= 0 && batch.size() > 0) {
+            store.removeRange(firstRow, firstRow + batch.size() - 1);
+        }
+    }
+
+    @Override
+    public int rowCount() {
+        return batch.size();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 64 + batch.estimatedBytes() + (positions == null ? 0 : 4L * positions.length);
+    }
+
+    @Override
+    public byte journalTag() {
+        return CommandJournal.BATCH_ADD;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeBoolean(positions != null);
+        out.writeInt(batch.size());
+        if (positions != null) {
+            for (int p : positions) out.writeInt(p);
+        }
+        for (int i = 0; i < batch.size(); i++) CommandJournal.writeExpense(out, batch.get(i));
+    }
+
+    static BatchAddCommand readFrom(DataInput in, ExpenseStore store) throws IOException {
+        boolean positioned = in.readBoolean();
+        int n = in.readInt();
+        int[] positions = positioned ? new int[n] : null;
+        if (positioned) {
+            for (int i = 0; i < n; i++) positions[i] = in.readInt();
+        }
+        ExpenseStore batch = new ExpenseStore();
+        for (int i = 0; i < n; i++) batch.add(CommandJournal.readExpense(in));
+        return new BatchAddCommand(store, batch, positions);
+    }
+
+    @Override
+    public JournaledCommand inverse() {
+        if (positions != null) return new BatchDeleteCommand(store, positions);
+        int[] rows = new int[batch.size()];
+        for (int i = 0; i < rows.length; i++) rows[i] = firstRow + i;
+        return new BatchDeleteCommand(store, rows);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Deletes many rows as one step: one pass over the store, one model event, one undo.
+// The removed rows are kept as a small columnar copy rather than one memento per row.
+public class BatchDeleteCommand implements JournaledCommand {
+    private final ExpenseStore store;
+    private final int[] rows;    // ascending
+    private ExpenseStore removed; // captured on the first execute
+
+    public BatchDeleteCommand(ExpenseStore store, int[] rows) {
+        this.store = store;
+        this.rows = rows;
+    }
+
+    @Override
+    public void execute() {
+        if (removed == null) removed = store.copyRows(rows);
+        store.removeRows(rows);
+    }
+
+    @Override
+    public void undo() {
+        store.insertRows(rows, removed);
+    }
+
+    @Override
+    public int rowCount() {
+        return rows.length;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        // The copy of the removed rows brings its own dictionaries
+        long copy = removed == null ? (long) rows.length * ExpenseStore.BYTES_PER_ROW : removed.estimatedBytes();
+        return 64 + 4L * rows.length + copy;
+    }
+
+    @Override
+    public byte journalTag() {
+        return CommandJournal.BATCH_DELETE;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(rows.length);
+        for (int row : rows) out.writeInt(row);
+    }
+
+    static BatchDeleteCommand readFrom(DataInput in, ExpenseStore store) throws IOException {
+        int[] rows = new int[in.readInt()];
+        for (int i = 0; i < rows.length; i++) rows[i] = in.readInt();
+        return new BatchDeleteCommand(store, rows);
+    }
+
+    @Override
+    public JournaledCommand inverse() {
+        return new BatchAddCommand(store, removed, rows);
+    }
+}
@@ -0,0 +1,599 @@
+package org.example.tools;
+
+import org.example.model.DateRange;
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import org.example.model.LedgerVersion;
+import org.example.model.LedgerVersions;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// FACADE over the whole ledger: store, commands + journal, aggregates and indexes, persistence.
+// Headless (no javax.swing / java.awt): the desktop app wraps it, batch jobs and servers use it directly.
+// Not thread-safe: call it from one thread (the EDT in the app); versions and search may be read from any.
+public class BudgetEngine {
+    // Timings of the whole-ledger operations (see OperationMetrics)
+    private static final OperationMetrics METRICS = OperationMetrics.global();
+    private static final OperationMetrics.Operation LOAD_DATA = METRICS.operation("engine.loadData");
+    private static final OperationMetrics.Operation OPEN = METRICS.operation("engine.open");
+    private static final OperationMetrics.Operation SAVE_DATA = METRICS.operation("engine.saveData");
+    private static final OperationMetrics.Operation SAVE_SNAPSHOT = METRICS.operation("engine.saveSnapshot");
+    private static final OperationMetrics.Operation LOAD_SNAPSHOT = METRICS.operation("engine.loadSnapshot");
+    private static final OperationMetrics.Operation RECALCULATE = METRICS.operation("engine.recalculateAll");
+    private static final OperationMetrics.Operation UNDO = METRICS.operation("engine.undo");
+    private static final OperationMetrics.Operation REDO = METRICS.operation("engine.redo");
+    private static final OperationMetrics.Operation IMPORT = METRICS.operation("engine.importStatements");
+    public static final int REJECTS_SHOWN = 10; // byte offsets of unreadable lines named in messages
+
+    private final ExpenseStore store;
+    private final CommandInvoker commandInvoker;
+
+    // 1. SIMPLE OBSERVER LIST (Using built-in Runnable)
+    private List<Runnable> observers = new ArrayList<>();
+    private List<Runnable> recalculationObservers = new ArrayList<>(); // after the indexes were rebuilt
+
+    // Totals live in the aggregation engine; the map is the chart-friendly view of it
+    private final AggregationEngine aggregates = new AggregationEngine();
+    private final DateRollupIndex rollups = new DateRollupIndex(); // the same totals, by day / month / year
+    private final CategoryIndex categoryIndex = new CategoryIndex(); // rows of each category, as bitmaps
+    private final SearchIndex searchIndex = new SearchIndex();       // description text search
+    private final DuplicateIndex duplicateIndex = new DuplicateIndex(); // rows already in the ledger, for imports
+    private volatile LedgerVersions versions; // persistent copies of the rows for readers off the EDT, from the first getVersion()
+    private Map<String, Long> categoryTotals;
+    private TimeSeries dailySeries; // last answer of getDailySeries, for dailyRange at dailyVersion
+    private DateRange dailyRange;
+    private long dailyVersion;
+    private boolean isRecalculating = false;
+    private boolean isBulkLoading = false;
+    private String unsaveable; // why the store must not replace the file (partial load, unreadable lines), or null
+    private String loadNotice; // what the last load did other than asked (a damaged snapshot skipped), or null
+
+    // Write-ahead journal on top of the last snapshot (null until a ledger has been opened)
+    private CommandJournal journal;
+    private Path snapshotFile;
+    private long generation;
+
+    public BudgetEngine() {
+        this(new ExpenseStore());
+    }
+
+    public BudgetEngine(ExpenseStore store) {
+        this.store = store;
+        this.commandInvoker = new CommandInvoker();
+
+        String[] categories = {"Food", "Transport", "Shopping", "Entertainment", "Bills", "Other"};
+        for (String c : categories) store.categories().idOf(c);
+        store.addListener(new AggregateListener());
+    }
+
+    // 2. SUBSCRIBE METHOD
+    public void addObserver(Runnable observer) {
+        observers.add(observer);
+    }
+
+    // Runs after recalculateAll (also the end of a bulk load) rebuilt the indexes: rows added while they
+    // were suspended are only in them from then on, so filtered views must be applied again
+    public void addRecalculationObserver(Runnable observer) {
+        recalculationObservers.add(observer);
+    }
+
+    // 3. NOTIFY METHOD
+    private void notifyObservers() {
+        for (Runnable observer : observers) {
+            observer.run(); // Just run the update code!
+        }
+    }
+
+    // ... (Standard Command Methods) ...
+    public void addExpense(int date, String desc, String category, int qty, long amount) {
+        commandInvoker.execute(new AddExpenseCommand(store, new Expense(date, desc, category, qty, amount)));
+        compactJournalIfNeeded();
+    }
+
+    public void deleteExpense(int rowIndex) {
+        if (rowIndex != -1) commandInvoker.execute(new DeleteExpenseCommand(store, rowIndex));
+        compactJournalIfNeeded();
+    }
+
+    public void editExpense(int rowIndex, int column, Object value) {
+        if (value.equals(store.getValue(rowIndex, column))) return;
+        commandInvoker.execute(new EditExpenseCommand(store, rowIndex, column, value));
+        compactJournalIfNeeded();
+    }
+
+    // Many rows as one command: one store event, one undo step, one journal record
+    public void deleteExpenses(int[] rows) {
+        if (rows.length == 0) return;
+        int[] sorted = rows.clone();
+        Arrays.sort(sorted);
+        commandInvoker.execute(new BatchDeleteCommand(store, sorted));
+        compactJournalIfNeeded();
+    }
+
+    public void addExpenses(ExpenseStore batch) {
+        if (batch.size() == 0) return;
+        commandInvoker.execute(new BatchAddCommand(store, batch));
+        compactJournalIfNeeded();
+    }
+
+    public void undo() {
+        long start = System.nanoTime();
+        commandInvoker.undo();
+        compactJournalIfNeeded();
+        UNDO.recordSince(start);
+    }
+
+    public void redo() {
+        long start = System.nanoTime();
+        commandInvoker.redo();
+        compactJournalIfNeeded();
+        REDO.recordSince(start);
+    }
+
+    public boolean canUndo() { return commandInvoker.canUndo(); }
+    public boolean canRedo() { return commandInvoker.canRedo(); }
+
+    // Everything executed between begin and end is undone / redone / journaled as one step
+    public void beginCompound() {
+        commandInvoker.beginCompound();
+    }
+
+    public void endCompound() {
+        commandInvoker.endCompound();
+        compactJournalIfNeeded();
+    }
+
+    // ... (Incremental Aggregation) ...
+    // Every store change applies only the delta of the rows it touches.
+    private class AggregateListener implements ExpenseStore.Listener {
+        @Override
+        public void rowsInserted(ExpenseStore s, int firstRow, int lastRow) {
+            if (isSuspended()) return;
+            // Appends (the common case) move no existing row, so the per-bitmap shift is skipped
+            if (lastRow < s.size() - 1) {
+                shift(RowBitmap.Shift.inserted(firstRow, lastRow - firstRow + 1));
+            }
+            for (int r = firstRow; r <= lastRow; r++) apply(r, 1);
+            notifyObservers();
+        }
+
+        @Override
+        public void rowsRemoving(ExpenseStore s, int firstRow, int lastRow) {
+            if (isSuspended()) return;
+            for (int r = firstRow; r <= lastRow; r++) apply(r, -1);
+        }
+
+        @Override
+        public void rowsRemoved(ExpenseStore s, int firstRow, int lastRow) {
+            if (isSuspended()) return;
+            if (firstRow < s.size()) {
+                shift(RowBitmap.Shift.deleted(firstRow, lastRow - firstRow + 1));
+            }
+            notifyObservers();
+        }
+
+        // Scattered rows (batch commands): one shift for all of them instead of one per row
+        @Override
+        public void rowsInserted(ExpenseStore s, int[] rows) {
+            if (isSuspended()) return;
+            shift(RowBitmap.Shift.inserted(rows));
+            for (int r : rows) apply(r, 1);
+            notifyObservers();
+        }
+
+        @Override
+        public void rowsRemoving(ExpenseStore s, int[] rows) {
+            if (isSuspended()) return;
+            for (int r : rows) apply(r, -1);
+        }
+
+        @Override
+        public void rowsRemoved(ExpenseStore s, int[] rows) {
+            if (isSuspended()) return;
+            shift(RowBitmap.Shift.deleted(rows));
+            notifyObservers();
+        }
+
+        private void shift(RowBitmap.Shift shift) {
+            categoryIndex.shift(shift);
+            searchIndex.shift(shift);
+        }
+
+        @Override
+        public void rowUpdating(ExpenseStore s, int row) {
+            if (!isSuspended()) apply(row, -1);
+        }
+
+        @Override
+        public void rowUpdated(ExpenseStore s, int row, int column) {
+            if (isSuspended()) return;
+            apply(row, 1);
+            notifyObservers();
+        }
+    }
+
+    // Aggregates are rebuilt once by recalculateAll after a recalculation or bulk load
+    private boolean isSuspended() {
+        return isRecalculating || isBulkLoading;
+    }
+
+    private void apply(int row, int sign) {
+        aggregates.apply(store.getCategoryId(row), store.getQuantity(row), store.getTotal(row), sign);
+        rollups.apply(store.getDate(row), store.getCategoryId(row), store.getTotal(row), sign);
+        if (sign > 0) {
+            categoryIndex.add(row, store.getCategoryId(row));
+            searchIndex.add(row, store.getDescriptionId(row), store.getDescription(row));
+            duplicateIndex.add(store, row);
+        } else {
+            categoryIndex.remove(row, store.getCategoryId(row));
+            searchIndex.remove(row, store.getDescriptionId(row));
+            duplicateIndex.remove(store, row);
+        }
+        categoryTotals = null;
+    }
+
+    // ... (Full parallel rescan: verifies and repairs the incremental state) ...
+    public void recalculateAll() {
+        if (isRecalculating) return;
+        isRecalculating = true;
+        long start = System.nanoTime();
+        LedgerEvents.Recalculate event = new LedgerEvents.Recalculate();
+        event.begin();
+        try {
+            aggregates.recompute(store);
+            rollups.recompute(store);
+            categoryIndex.recompute(store);
+            searchIndex.recompute(store);
+            duplicateIndex.recompute(store);
+            categoryTotals = null;
+        } finally {
+            isRecalculating = false;
+            RECALCULATE.recordSince(start);
+            event.rows = store.size();
+            event.commit();
+            for (Runnable observer : recalculationObservers) observer.run();
+            notifyObservers(); // <--- NOTIFY HERE
+        }
+    }
+
+    // ... (File I/O) ...
+    // Streams the CSV into a temp file and atomically swaps it in, then refreshes the binary snapshot
+    public void saveData(File file) {
+        if (refusesSave(file)) return;
+        long start = System.nanoTime();
+        try {
+            LedgerEvents.Save event = new LedgerEvents.Save();
+            event.begin();
+            CSVAdapter adapter = new CSVAdapter(store);
+            AtomicFileWriter.write(file.toPath(), adapter::writeTo);
+            event.commit(file.toPath(), "csv", store.size());
+            Path snapshot = LedgerSnapshot.siblingOf(file.toPath());
+            if (journal != null && snapshot.equals(snapshotFile)) {
+                compactJournal(); // the new snapshot also resets the journal
+            } else {
+                saveSnapshot(snapshot.toFile());
+            }
+        } catch (Exception e) { e.printStackTrace(); }
+        finally { SAVE_DATA.recordSince(start); }
+    }
+
+    // The same save with the writing on 'io': the rows are the current version (O(1) here, see getVersion),
+    // so edits go on while the files are written. A journaled ledger is compacted on 'ledgerThread' afterwards.
+    // Saves handed to one single-threaded 'io' are written in order.
+    public void saveDataInBackground(File file, Executor io, Executor ledgerThread) {
+        if (refusesSave(file)) return;
+        LedgerVersion version = getVersion();
+        Path snapshot = LedgerSnapshot.siblingOf(file.toPath());
+        boolean compacts = journal != null && snapshot.equals(snapshotFile);
+        long snapshotGeneration = nextGeneration();
+        io.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                ExpenseStore rows = version.toStore();
+                LedgerEvents.Save event = new LedgerEvents.Save();
+                event.begin();
+                AtomicFileWriter.write(file.toPath(), new CSVAdapter(rows)::writeTo);
+                event.commit(file.toPath(), "csv", rows.size());
+                if (compacts) {
+                    ledgerThread.execute(() -> { if (journal != null) compactJournal(); });
+                } else {
+                    LedgerEvents.Save snapshotEvent = new LedgerEvents.Save();
+                    snapshotEvent.begin();
+                    LedgerSnapshot.write(snapshot, rows, snapshotGeneration);
+                    snapshotEvent.commit(snapshot, "snapshot", rows.size());
+                }
+            } catch (Exception e) { e.printStackTrace(); }
+            finally { SAVE_DATA.recordSince(start); }
+        });
+    }
+
+    public void saveSnapshot(File file) {
+        if (refusesSave(file)) return;
+        long start = System.nanoTime();
+        LedgerEvents.Save event = new LedgerEvents.Save();
+        event.begin();
+        try {
+            LedgerSnapshot.write(file.toPath(), store, nextGeneration());
+            event.commit(file.toPath(), "snapshot", store.size());
+        } catch (Exception e) { e.printStackTrace(); }
+        finally { SAVE_SNAPSHOT.recordSince(start); }
+    }
+
+    // When the store holds only part of the file (a cancelled load, lines that could not be read),
+    // saving it would lose the rest: saveData and saveSnapshot refuse from then on. The first reason sticks.
+    public void markUnsaveable(String reason) {
+        if (unsaveable == null) unsaveable = reason;
+    }
+
+    public boolean isSaveable() {
+        return unsaveable == null;
+    }
+
+    // Null while the ledger can be saved
+    public String getUnsaveableReason() {
+        return unsaveable;
+    }
+
+    // A damaged snapshot was skipped and the CSV loaded instead: nothing is lost (saving writes a new
+    // snapshot), but the user should hear of it
+    public void noteSkippedSnapshot(Path snapshot, IOException e) {
+        loadNotice = "the snapshot " + snapshot.getFileName() + " could not be read (" + e.getMessage() + "), the CSV was loaded instead";
+    }
+
+    // Null if the last load went as asked
+    public String getLoadNotice() {
+        return loadNotice;
+    }
+
+    private boolean refusesSave(File file) {
+        if (unsaveable != null) System.err.println("Not saving " + file + ": " + unsaveable);
+        return unsaveable != null;
+    }
+
+    public void loadSnapshot(File file) {
+        if (!file.exists()) return;
+        long start = System.nanoTime();
+        LedgerEvents.Load event = new LedgerEvents.Load();
+        event.begin();
+        beginBulkLoad();
+        try {
+            ExpenseStore loaded = LedgerSnapshot.read(file.toPath()).store();
+            store.appendAll(loaded);
+            event.commit(file.toPath(), "snapshot", loaded.size());
+        } catch (Exception e) { e.printStackTrace(); }
+        finally { endBulkLoad(); LOAD_SNAPSHOT.recordSince(start); }
+    }
+
+    // ... (Journal) ...
+    // Replays the journal if it was recorded on top of the snapshot that was just loaded, then keeps
+    // appending every command to it. Otherwise (CSV load, stale journal) starts a fresh snapshot + journal.
+    // Records address rows by index, so they are only replayed onto exactly the snapshot's rows
+    // (loadedRows of them): any other store is left unjournaled and unsaveable, with the journal untouched.
+    // So is a store whose replay failed part-way: saving it would write the partial state over the ledger.
+    public void openJournal(File csv, long loadedGeneration, int loadedRows) {
+        snapshotFile = LedgerSnapshot.siblingOf(csv.toPath());
+        Path journalFile = CommandJournal.siblingOf(csv.toPath());
+        if (loadedGeneration != LedgerSnapshot.NO_SNAPSHOT && store.size() != loadedRows) {
+            markUnsaveable("the journal " + journalFile.getFileName() + " does not match the loaded snapshot (" + store.size()
+                    + " rows, the snapshot has " + loadedRows + ")");
+            return;
+        }
+        boolean replayed;
+        try {
+            replayed = loadedGeneration != LedgerSnapshot.NO_SNAPSHOT
+                    && CommandJournal.replay(journalFile, loadedGeneration, store, commandInvoker) >= 0;
+        } catch (Exception e) {
+            markUnsaveable("the journal " + journalFile.getFileName() + " could not be replayed (" + e + ")");
+            return;
+        }
+        try {
+            generation = replayed ? loadedGeneration : nextGeneration();
+            journal = CommandJournal.open(journalFile, generation);
+            if (!replayed || journal.wasReset()) compact();
+            commandInvoker.setJournal(journal);
+        } catch (Exception e) {
+            // The store is whole: the engine goes on unjournaled, and saves still write the CSV and snapshot
+            if (journal != null) journal.close();
+            journal = null;
+            e.printStackTrace();
+        }
+    }
+
+    private void compactJournalIfNeeded() {
+        if (journal != null && journal.needsCompaction()) compactJournal();
+    }
+
+    private void compactJournal() {
+        generation = nextGeneration();
+        compact();
+    }
+
+    // The rows are taken here on the EDT, in O(1) once versions are kept and as one flat copy of the
+    // columns otherwise; they are turned into a snapshot on the journal thread
+    private void compact() {
+        LedgerVersions kept = versions;
+        if (kept != null) journal.compact(kept.current(), snapshotFile, generation);
+        else journal.compact(store.copy(), snapshotFile, generation);
+    }
+
+    private long nextGeneration() {
+        return Math.max(System.currentTimeMillis(), generation + 1);
+    }
+
+    // Blocking load: parses everything first, then publishes it with a single insert event
+    public void loadData(File file) {
+        if (!file.exists()) return;
+        long start = System.nanoTime();
+        LedgerEvents.Load event = new LedgerEvents.Load();
+        event.begin();
+        beginBulkLoad();
+        ExpenseStore parsed = new ExpenseStore();
+        try {
+            MappedCsvParser.Result read = new MappedCsvParser().parse(file.toPath(), (chunk, done, size) -> parsed.appendAll(chunk), () -> false);
+            if (read.hasRejects()) markUnsaveable(read.describeRejects(file.toPath(), REJECTS_SHOWN));
+            store.appendAll(parsed);
+            event.commit(file.toPath(), "csv", parsed.size());
+        } catch (Exception e) { e.printStackTrace(); }
+        finally { endBulkLoad(); LOAD_DATA.recordSince(start); }
+    }
+
+    // Blocking import of statement CSVs and directories of them: parsed in parallel, added in date order as
+    // one undoable step. Files that could not be read are listed in the result's errors; the rest go in.
+    public StatementImporter.Result importStatements(Collection<File> sources) {
+        long start = System.nanoTime();
+        try {
+            return applyImport(new StatementImporter().read(sources));
+        } finally { IMPORT.recordSince(start); }
+    }
+
+    // Adds what was read, minus the rows the ledger already has (overlapping statements); those are
+    // reported in the returned result's duplicates
+    public StatementImporter.Result applyImport(StatementImporter.Result read) {
+        StatementImporter.Result result = read.withoutDuplicates(duplicateIndex);
+        addExpenses(result.batch);
+        return result;
+    }
+
+    // Blocking open of a ledger: the snapshot if it is newer than the CSV (falling back to the CSV),
+    // then the journal is replayed and kept open. The headless counterpart of the app's background load.
+    public void open(File csv) {
+        long start = System.nanoTime();
+        long loadedGeneration = LedgerSnapshot.NO_SNAPSHOT;
+        int loadedRows = 0;
+        LedgerEvents.Load event = new LedgerEvents.Load();
+        event.begin();
+        beginBulkLoad();
+        loadNotice = null;
+        try {
+            if (LedgerSnapshot.isPreferredTo(csv)) {
+                Path snapshot = LedgerSnapshot.siblingOf(csv.toPath());
+                try {
+                    LedgerSnapshot loaded = LedgerSnapshot.read(snapshot);
+                    store.appendAll(loaded.store());
+                    loadedGeneration = loaded.generation();
+                    loadedRows = loaded.store().size();
+                    event.commit(snapshot, "snapshot", store.size());
+                } catch (IOException e) {
+                    noteSkippedSnapshot(snapshot, e);
+                }
+            }
+            if (loadedGeneration == LedgerSnapshot.NO_SNAPSHOT && csv.exists()) {
+                MappedCsvParser.Result read = new MappedCsvParser().parse(csv.toPath(), (chunk, done, size) -> store.appendAll(chunk), () -> false);
+                if (read.hasRejects()) markUnsaveable(read.describeRejects(csv.toPath(), REJECTS_SHOWN));
+                event.commit(csv.toPath(), "csv", store.size());
+            }
+        } catch (Exception e) { e.printStackTrace(); }
+        finally { endBulkLoad(); }
+        // A snapshot of what was read would be preferred to the CSV next time, hiding the unreadable lines
+        if (isSaveable()) openJournal(csv, loadedGeneration, loadedRows);
+        OPEN.recordSince(start);
+    }
+
+    // Flushes and closes the journal; the engine keeps working, unjournaled
+    public void close() {
+        if (journal == null) return;
+        commandInvoker.setJournal(null);
+        journal.close();
+        journal = null;
+    }
+
+    // Between begin and end, store changes skip the incremental aggregates; end rebuilds them once
+    public void beginBulkLoad() {
+        isBulkLoading = true;
+    }
+
+    public void endBulkLoad() {
+        isBulkLoading = false;
+        recalculateAll();
+    }
+
+    public ExpenseStore getStore() { return store; }
+
+    // ... (Versions: immutable, so exports can read them on any thread while edits go on; see saveDataInBackground) ...
+    // Nothing is kept until the first call, which must come from the engine's thread: it builds the
+    // first version (O(n)) and from then on follows every change. Later calls may come from any thread.
+    public LedgerVersion getVersion() { return versions().current(); }
+
+    // A recent version by sequence number (time travel), or null once it left the retention window
+    public LedgerVersion getVersion(long sequence) { return versions().at(sequence); }
+
+    private LedgerVersions versions() {
+        LedgerVersions kept = versions;
+        if (kept == null) {
+            kept = new LedgerVersions(store);
+            store.addListener(kept);
+            versions = kept;
+        }
+        return kept;
+    }
+    // Money is in minor units (see Money)
+    public long getTotal() { return aggregates.getTotal(); }
+    public int getTotalItems() { return (int) aggregates.getTotalItems(); }
+
+    public Map<String, Long> getCategoryTotals() {
+        if (categoryTotals == null) categoryTotals = aggregates.categoryTotals(store.categories());
+        return categoryTotals;
+    }
+
+    // ... (Date ranges: answered from the rollup index in O(log n)) ...
+    public long getTotal(DateRange range) {
+        return range.isAll() ? getTotal() : rollups.total(range);
+    }
+
+    public Map<String, Long> getCategoryTotals(DateRange range) {
+        return range.isAll() ? getCategoryTotals() : rollups.categoryTotals(store.categories(), range);
+    }
+
+    // Spending per day, from the rollups' day buckets: costs O(days), whatever the row count.
+    // Asked again for the same range with no change in between, it returns the same series (charts key on it)
+    public TimeSeries getDailySeries(DateRange range) {
+        if (dailySeries == null || dailyVersion != rollups.version()
+                || dailyRange.fromDay != range.fromDay || dailyRange.toDay != range.toDay) {
+            dailySeries = rollups.daily(range);
+            dailyRange = range;
+            dailyVersion = rollups.version();
+        }
+        return dailySeries;
+    }
+
+    // ... (Filtered views: category bitmaps, combined with RowBitmap.and / or) ...
+    // Live rows of one category; it follows every change, so a table filter can keep it
+    public RowBitmap getCategoryRows(String category) {
+        int id = store.categories().find(category); // a read must not add the name to the dictionary
+        return id < 0 ? new RowBitmap() : categoryIndex.rows(id);
+    }
+
+    // Rows in any of the categories (a new bitmap)
+    public RowBitmap getRows(Collection<String> categories) {
+        RowBitmap rows = new RowBitmap();
+        for (String c : categories) rows = RowBitmap.or(rows, getCategoryRows(c));
+        return rows;
+    }
+
+    // ... (Search: thread-safe, meant to be called off the EDT) ...
+    public SearchIndex.Result search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    public long getSearchVersion() { return searchIndex.version(); }
+
+    // Totals of a subset, reading only the rows in the bitmap
+    public long getTotal(RowBitmap rows) {
+        long[] total = {0};
+        rows.forEach(r -> total[0] += store.getTotal(r));
+        return total[0];
+    }
+
+    public int getTotalItems(RowBitmap rows) {
+        int[] items = {0};
+        rows.forEach(r -> items[0] += store.getQuantity(r));
+        return items[0];
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.example.model.Money;
+import org.example.model.StringDictionary;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// ADAPTER: streams the ExpenseStore out as CSV through a small reusable buffer
+public class CSVAdapter {
+    private static final byte[] HEADER = "Date,Description,Category,Quantity,Amount,Total\n".getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DATE_CACHE = 1024;
+
+    private final ExpenseStore store;
+    private ByteBuffer buf;
+    private WritableByteChannel out;
+
+    // Encoded bytes per dictionary id, so each distinct text is encoded once per export
+    private byte[][] descriptionBytes, categoryBytes;
+    // Direct-mapped cache of ISO dates (rows are mostly grouped by day)
+    private final int[] dateKeys = new int[DATE_CACHE];
+    private final byte[][] dateValues = new byte[DATE_CACHE][];
+    private final char[] moneyChars = new char[Money.MAX_LENGTH];
+
+    public CSVAdapter(ExpenseStore store) {
+        this.store = store;
+    }
+
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        out = channel;
+        buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        descriptionBytes = new byte[store.descriptions().size()][];
+        categoryBytes = new byte[store.categories().size()][];
+
+        put(HEADER);
+        for (int i = 0; i < store.size(); i++) {
+            put(date(store.getDate(i))); put((byte) ',');
+            put(text(descriptionBytes, store.descriptions(), store.getDescriptionId(i))); put((byte) ',');
+            put(text(categoryBytes, store.categories(), store.getCategoryId(i))); put((byte) ',');
+            putLong(store.getQuantity(i)); put((byte) ',');
+            putMoney(store.getAmount(i)); put((byte) ',');
+            putMoney(store.getTotal(i)); put((byte) '\n');
+        }
+        flush();
+        buf = null;
+        out = null;
+    }
+
+    // ==========================================
+    //            FORMATTING HELPERS
+    // ==========================================
+    private static byte[] text(byte[][] cache, StringDictionary dictionary, int id) {
+        byte[] bytes = cache[id];
+        if (bytes == null) bytes = cache[id] = quote(dictionary.get(id)).getBytes(StandardCharsets.UTF_8);
+        return bytes;
+    }
+
+    private byte[] date(int epochDay) {
+        int slot = epochDay & (DATE_CACHE - 1);
+        if (dateValues[slot] == null || dateKeys[slot] != epochDay) {
+            dateKeys[slot] = epochDay;
+            dateValues[slot] = EpochDays.iso(epochDay).getBytes(StandardCharsets.US_ASCII);
+        }
+        return dateValues[slot];
+    }
+
+    // RFC 4180 quoting, only when the value needs it
+    private static String quote(String value) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private void putMoney(long minor) throws IOException {
+        int start = Money.write(minor, moneyChars, moneyChars.length);
+        for (int i = start; i < moneyChars.length; i++) put((byte) moneyChars[i]);
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value < 0) { put((byte) '-'); value = -value; }
+        if (value >= 10) putLong(value / 10);
+        put((byte) ('0' + value % 10));
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buf.hasRemaining()) flush();
+        buf.put(b);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        for (int offset = 0; offset < bytes.length; ) {
+            if (!buf.hasRemaining()) flush();
+            int n = Math.min(buf.remaining(), bytes.length - offset);
+            buf.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+}
@@ -4,7 +4,7 @@ public abstract class CategoryComponent {
     public void add(CategoryComponent component) {
         throw new UnsupportedOperationException();
     }
-    public double getAmount() {
+    public long getAmount() {
         throw new UnsupportedOperationException();
     }
 }
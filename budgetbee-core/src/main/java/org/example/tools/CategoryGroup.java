@@ -17,8 +17,8 @@ public class CategoryGroup extends CategoryComponent {
     }
 
     @Override
-    public double getAmount() {
-        double total = 0;
+    public long getAmount() {
+        long total = 0;
         for (CategoryComponent component : components) {
             total += component.getAmount();
         }
@@ -0,0 +1,45 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import java.util.Arrays;
+
+// One RowBitmap of store rows per category id, kept in step with the store by the facade's listener.
+// Bitmaps are cleared in place on recompute, so views may hold on to them.
+public class CategoryIndex {
+    private RowBitmap[] byCategory = new RowBitmap[0];
+
+    // ==========================================
+    //                 UPDATES
+    // ==========================================
+    public void recompute(ExpenseStore store) {
+        for (RowBitmap rows : byCategory) rows.clear();
+        ExpenseStore.Columns c = store.columns();
+        for (int i = 0; i < c.size; i++) rows(c.categoryIds[i]).add(i);
+    }
+
+    // Row numbers above an insert or removal move; the rows themselves are added / removed one by one
+    public void shift(RowBitmap.Shift shift) {
+        for (RowBitmap rows : byCategory) rows.apply(shift);
+    }
+
+    public void add(int row, int categoryId) {
+        rows(categoryId).add(row);
+    }
+
+    public void remove(int row, int categoryId) {
+        rows(categoryId).remove(row);
+    }
+
+    // ==========================================
+    //                  READS
+    // ==========================================
+    // Live bitmap of a category; callers must not modify it
+    public RowBitmap rows(int categoryId) {
+        if (categoryId >= byCategory.length) {
+            int old = byCategory.length;
+            byCategory = Arrays.copyOf(byCategory, categoryId + 1);
+            for (int id = old; id <= categoryId; id++) byCategory[id] = new RowBitmap();
+        }
+        return byCategory[categoryId];
+    }
+}
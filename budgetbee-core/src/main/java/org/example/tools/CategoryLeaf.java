@@ -2,14 +2,14 @@ package org.example.tools;
 
 public class CategoryLeaf extends CategoryComponent {
     String name;
-    double amount;
+    long amount;
 
-    public CategoryLeaf(String name, double amount) {
+    public CategoryLeaf(String name, long amount) {
         this.name = name;
         this.amount = amount;
     }
 
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 }
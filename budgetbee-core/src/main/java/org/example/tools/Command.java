@@ -0,0 +1,16 @@
+package org.example.tools;
+
+public interface Command {
+    void execute();
+    void undo();
+
+    // Rough heap cost of keeping this command in the undo / redo history
+    default long estimatedBytes() {
+        return 128;
+    }
+
+    // Rows the command adds, deletes or edits (reported with its JFR events)
+    default int rowCount() {
+        return 1;
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.tools;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Undo / redo history, bounded by step count and by the commands' estimated bytes: once either limit
+// is passed the oldest undo steps are dropped (the newest one is always kept). Call it on the EDT.
+public class CommandInvoker {
+    // execute / undo / redo timings per command type, e.g. command.AddExpenseCommand.undo (see OperationMetrics)
+    private static final ClassValue<OperationMetrics.Operation[]> METRICS = new ClassValue<>() {
+        @Override
+        protected OperationMetrics.Operation[] computeValue(Class<?> type) {
+            String prefix = "command." + type.getSimpleName() + ".";
+            OperationMetrics metrics = OperationMetrics.global();
+            return new OperationMetrics.Operation[]{
+                    metrics.operation(prefix + "execute"), metrics.operation(prefix + "undo"), metrics.operation(prefix + "redo")};
+        }
+    };
+    private static final int EXECUTE = 0, UNDO = 1, REDO = 2;
+
+    public static final int MAX_COMMANDS = 1000;
+    public static final long MAX_BYTES = 64L << 20; // 64 MB
+
+    private final Deque<Command> undoStack = new ArrayDeque<>(); // newest first
+    private final Deque<Command> redoStack = new ArrayDeque<>();
+    private final int maxCommands;
+    private final long maxBytes;
+    private long bytes; // estimated size of both stacks
+    private CommandJournal journal; // optional write-ahead log
+
+    // Commands executed since beginCompound, grouped into one step by the outermost endCompound
+    private List<JournaledCommand> compound;
+    private int compoundDepth;
+
+    public CommandInvoker() {
+        this(MAX_COMMANDS, MAX_BYTES);
+    }
+
+    public CommandInvoker(int maxCommands, long maxBytes) {
+        this.maxCommands = maxCommands;
+        this.maxBytes = maxBytes;
+    }
+
+    public void setJournal(CommandJournal journal) {
+        this.journal = journal;
+    }
+
+    public void execute(Command command) {
+        long start = System.nanoTime();
+        LedgerEvents.Command event = new LedgerEvents.Command();
+        event.begin();
+        if (compound != null) {
+            if (!(command instanceof JournaledCommand)) throw new IllegalArgumentException("Only journaled commands can be grouped");
+            command.execute();
+            compound.add((JournaledCommand) command);
+        } else {
+            command.execute();
+            clearRedo();
+            push(command);
+            if (journal != null) journal.recordExecute(command);
+        }
+        METRICS.get(command.getClass())[EXECUTE].recordSince(start);
+        event.commit(command, "execute");
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    public void undo() {
+        checkNoCompound();
+        if (!undoStack.isEmpty()) {
+            long start = System.nanoTime();
+            LedgerEvents.Command event = new LedgerEvents.Command();
+            event.begin();
+            Command command = undoStack.pop();
+            if (journal != null) journal.recordUndo(command); // logged before the state it needs is gone
+            command.undo();
+            redoStack.push(command);
+            METRICS.get(command.getClass())[UNDO].recordSince(start);
+            event.commit(command, "undo");
+        }
+    }
+
+    // Executes the last undone command again; it is journaled as a new execute
+    public void redo() {
+        checkNoCompound();
+        if (!redoStack.isEmpty()) {
+            long start = System.nanoTime();
+            LedgerEvents.Command event = new LedgerEvents.Command();
+            event.begin();
+            Command command = redoStack.pop();
+            bytes -= command.estimatedBytes();
+            command.execute();
+            push(command); // counted again, and the bounds apply as for a new command
+            if (journal != null) journal.recordExecute(command);
+            METRICS.get(command.getClass())[REDO].recordSince(start);
+            event.commit(command, "redo");
+        }
+    }
+
+    // ==========================================
+    //            COMPOUND COMMANDS
+    // ==========================================
+    public void beginCompound() {
+        if (compoundDepth++ == 0) compound = new ArrayList<>();
+    }
+
+    public void endCompound() {
+        if (compoundDepth == 0) throw new IllegalStateException("endCompound without beginCompound");
+        if (--compoundDepth > 0) return;
+        List<JournaledCommand> steps = compound;
+        compound = null;
+        if (steps.isEmpty()) return;
+        // Already executed one by one: only the history and the journal see the group
+        Command command = steps.size() == 1 ? steps.get(0) : new CompoundCommand(steps);
+        clearRedo();
+        push(command);
+        if (journal != null) journal.recordExecute(command);
+    }
+
+    private void checkNoCompound() {
+        if (compound != null) throw new IllegalStateException("Undo / redo inside a compound command");
+    }
+
+    // ==========================================
+    //               BOUNDS
+    // ==========================================
+    private void push(Command command) {
+        undoStack.push(command);
+        bytes += command.estimatedBytes();
+        while (undoStack.size() > 1 && (undoStack.size() + redoStack.size() > maxCommands || bytes > maxBytes)) {
+            bytes -= undoStack.removeLast().estimatedBytes();
+        }
+    }
+
+    private void clearRedo() {
+        for (Command command : redoStack) bytes -= command.estimatedBytes();
+        redoStack.clear();
+    }
+}
@@ -0,0 +1,357 @@
+package org.example.tools;
+
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import org.example.model.LedgerVersion;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+// WRITE-AHEAD JOURNAL: every executed command and every undo is appended to a log next to the
+// snapshot, so a save costs O(change) and nothing is lost on a crash.
+//
+// Layout (big-endian): magic, version, generation of the snapshot it applies to, then records of
+//   length, crc, kind (EXECUTE / UNDO), command tag, command fields
+// An UNDO record carries the inverse command, for undos of commands older than the snapshot.
+// A redo is recorded as another EXECUTE; a compound command nests its steps' tags and fields.
+// Any change to the layout, a new command tag or value type included, bumps VERSION: a journal of another
+// version is not replayed, and open() starts it over.
+public class CommandJournal {
+    public static final String EXTENSION = ".journal";
+    public static final long COMPACT_THRESHOLD = 8L << 20; // 8 MB
+
+    static final byte ADD = 1, DELETE = 2, EDIT = 3, BATCH_ADD = 4, BATCH_DELETE = 5, COMPOUND = 6;
+    private static final byte EXECUTE = 1, UNDO = 2;
+    private static final byte STRING = 1, INT = 2, LONG = 4;
+
+    private static final int MAGIC = 0x42424A4C; // "BBJL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final FileChannel channel;  // owned by the writer thread after open()
+    private long bytesWritten;           // journal size as seen by the EDT
+    private final boolean reset;         // open() found no usable records and started over
+    private volatile boolean closed;
+
+    private CommandJournal(Path file, FileChannel channel, long size, boolean reset) {
+        this.channel = channel;
+        this.bytesWritten = size;
+        this.reset = reset;
+        this.writer = new Thread(() -> writeLoop(file), "budgetbee-journal");
+        this.writer.setDaemon(true);
+    }
+
+    // The journal that sits next to a CSV file, e.g. expenses.csv -> expenses.journal
+    public static Path siblingOf(Path csv) {
+        String name = csv.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return csv.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + EXTENSION);
+    }
+
+    // ==========================================
+    //             OPEN & REPLAY
+    // ==========================================
+
+    // Replays a journal recorded on top of the given snapshot generation.
+    // Returns the number of records applied, or -1 if the journal is missing or belongs to another generation.
+    public static int replay(Path file, long generation, ExpenseStore store, CommandInvoker invoker) throws IOException {
+        if (!Files.exists(file)) return -1;
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (!hasHeader(buf, generation)) return -1;
+
+        int applied = 0;
+        buf.position(HEADER_SIZE);
+        ByteBuffer record;
+        while ((record = nextRecord(buf)) != null) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, record.position(), record.remaining()));
+            byte kind = in.readByte();
+            JournaledCommand command = readCommand(in, store);
+            if (kind == EXECUTE) {
+                invoker.execute(command);
+            } else if (invoker.canUndo()) {
+                invoker.undo();
+            } else {
+                command.execute(); // the undone command predates the snapshot: apply its inverse
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    // Opens the journal for appending. A journal of another generation (or a damaged one) is replaced,
+    // and a torn record at the end of a matching one is cut off.
+    public static CommandJournal open(Path file, long generation) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd = 0;
+        if (channel.size() >= HEADER_SIZE) {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (hasHeader(buf, generation)) {
+                buf.position(HEADER_SIZE);
+                while (nextRecord(buf) != null) { }
+                validEnd = buf.position();
+            }
+        }
+        boolean reset = validEnd == 0;
+        if (reset) {
+            channel.truncate(0);
+            writeHeader(channel, generation);
+            validEnd = HEADER_SIZE;
+        }
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+        channel.force(true);
+
+        CommandJournal journal = new CommandJournal(file, channel, validEnd, reset);
+        journal.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "budgetbee-journal-close"));
+        return journal;
+    }
+
+    private static boolean hasHeader(ByteBuffer buf, long generation) {
+        return buf.limit() >= HEADER_SIZE && buf.getInt(0) == MAGIC && buf.getInt(4) == VERSION
+                && buf.getLong(8) == generation;
+    }
+
+    // True if open() discarded what was on disk (missing, damaged, other generation or version),
+    // so anything replayed from it must be folded into a new snapshot
+    public boolean wasReset() {
+        return reset;
+    }
+
+    private static void writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(generation);
+        header.flip();
+        while (header.hasRemaining()) channel.write(header, HEADER_SIZE - header.remaining());
+    }
+
+    // Returns the payload of the next intact record and advances past it, or null at the end / a torn record
+    private static ByteBuffer nextRecord(ByteBuffer buf) {
+        if (buf.remaining() < 8) return null;
+        int start = buf.position();
+        int length = buf.getInt(start);
+        int crc = buf.getInt(start + 4);
+        if (length <= 0 || length > buf.remaining() - 8) return null;
+
+        ByteBuffer payload = buf.duplicate().position(start + 8).limit(start + 8 + length);
+        CRC32C check = new CRC32C();
+        check.update(payload.duplicate());
+        if ((int) check.getValue() != crc) return null;
+
+        buf.position(start + 8 + length);
+        return payload;
+    }
+
+    // ==========================================
+    //          RECORDING (called on the EDT)
+    // ==========================================
+    public void recordExecute(Command command) {
+        if (command instanceof JournaledCommand) append(EXECUTE, (JournaledCommand) command);
+    }
+
+    public void recordUndo(Command command) {
+        if (command instanceof JournaledCommand) append(UNDO, ((JournaledCommand) command).inverse());
+    }
+
+    // True once the journal is big enough to be folded into a new snapshot
+    public boolean needsCompaction() {
+        return bytesWritten > COMPACT_THRESHOLD;
+    }
+
+    // Writes the version as the new snapshot, then restarts the journal on top of it. Runs on the writer
+    // thread in queue order, so records appended after this call land in the new journal.
+    public void compact(LedgerVersion version, Path snapshotFile, long newGeneration) {
+        compact(version::toStore, version.size(), snapshotFile, newGeneration);
+    }
+
+    // Same with a detached copy of the rows (ExpenseStore.copy), which the journal thread takes over
+    public void compact(ExpenseStore rows, Path snapshotFile, long newGeneration) {
+        compact(() -> rows, rows.size(), snapshotFile, newGeneration);
+    }
+
+    private void compact(Supplier<ExpenseStore> rows, int size, Path snapshotFile, long newGeneration) {
+        bytesWritten = HEADER_SIZE;
+        queue.add((Runnable) () -> {
+            LedgerEvents.Save event = new LedgerEvents.Save();
+            event.begin();
+            try {
+                LedgerSnapshot.write(snapshotFile, rows.get(), newGeneration);
+                channel.truncate(0);
+                writeHeader(channel, newGeneration);
+                channel.position(HEADER_SIZE);
+                channel.force(true);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            event.commit(snapshotFile, "compaction", size);
+        });
+    }
+
+    private void append(byte kind, JournaledCommand command) {
+        if (closed) return;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); // length, patched below
+            out.writeInt(0); // crc, patched below
+            out.writeByte(kind);
+            writeCommand(out, command);
+
+            ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+            CRC32C crc = new CRC32C();
+            crc.update(record.duplicate().position(8));
+            record.putInt(0, record.limit() - 8).putInt(4, (int) crc.getValue());
+
+            bytesWritten += record.limit();
+            queue.add(record);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // ==========================================
+    //        WRITER THREAD (group commit)
+    // ==========================================
+    private void writeLoop(Path file) {
+        List<Object> group = new ArrayList<>();
+        List<ByteBuffer> records = new ArrayList<>();
+        try {
+            while (true) {
+                group.add(queue.take());
+                queue.drainTo(group);
+                for (Object item : group) {
+                    if (item instanceof ByteBuffer) {
+                        records.add((ByteBuffer) item);
+                    } else {
+                        commit(records);
+                        ((Runnable) item).run();
+                    }
+                }
+                commit(records);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            // close() interrupts us once the queue is flushed
+        } catch (IOException e) {
+            System.err.println("Journal " + file + " stopped: " + e.getMessage());
+        }
+    }
+
+    // One write and one fsync for every record that piled up while the previous group was syncing
+    private void commit(List<ByteBuffer> records) throws IOException {
+        if (records.isEmpty()) return;
+        ByteBuffer[] batch = records.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer b : batch) remaining += b.remaining();
+        while (remaining > 0) remaining -= channel.write(batch);
+        channel.force(false);
+        records.clear();
+    }
+
+    // Flushes whatever is queued and stops the writer
+    public void close() {
+        if (closed) return;
+        closed = true;
+        CountDownLatch flushed = new CountDownLatch(1);
+        queue.add((Runnable) flushed::countDown);
+        try {
+            if (writer.isAlive()) flushed.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.interrupt();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // ==========================================
+    //               ENCODING
+    // ==========================================
+    static JournaledCommand readCommand(DataInput in, ExpenseStore store) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case ADD: {
+                int insertAt = in.readInt();
+                return new AddExpenseCommand(store, readExpense(in), insertAt);
+            }
+            case DELETE:
+                return new DeleteExpenseCommand(store, in.readInt());
+            case EDIT: {
+                int row = in.readInt();
+                int column = in.readByte();
+                return new EditExpenseCommand(store, row, column, readValue(in));
+            }
+            case BATCH_ADD:
+                return BatchAddCommand.readFrom(in, store);
+            case BATCH_DELETE:
+                return BatchDeleteCommand.readFrom(in, store);
+            case COMPOUND: {
+                int n = in.readInt();
+                List<JournaledCommand> steps = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) steps.add(readCommand(in, store));
+                return new CompoundCommand(steps);
+            }
+            default:
+                throw new IOException("Unknown journal command " + tag);
+        }
+    }
+
+    static void writeCommand(DataOutput out, JournaledCommand command) throws IOException {
+        out.writeByte(command.journalTag());
+        command.writeTo(out);
+    }
+
+    static void writeExpense(DataOutput out, Expense e) throws IOException {
+        out.writeInt(e.date);
+        out.writeUTF(e.description);
+        out.writeUTF(e.category);
+        out.writeInt(e.quantity);
+        out.writeLong(e.amount);
+    }
+
+    static Expense readExpense(DataInput in) throws IOException {
+        int date = in.readInt();
+        String description = in.readUTF(), category = in.readUTF();
+        int quantity = in.readInt();
+        long amount = in.readLong();
+        return new Expense(date, description, category, quantity, amount);
+    }
+
+    static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value instanceof Integer) { out.writeByte(INT); out.writeInt((Integer) value); }
+        else if (value instanceof Long) { out.writeByte(LONG); out.writeLong((Long) value); }
+        else if (value instanceof String) { out.writeByte(STRING); out.writeUTF((String) value); }
+        else throw new IllegalArgumentException("Cannot journal a " + value.getClass().getSimpleName());
+    }
+
+    static Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case INT: return in.readInt();
+            case LONG: return in.readLong();
+            case STRING: return in.readUTF();
+            default: throw new IOException("Unknown journal value type " + type);
+        }
+    }
+}
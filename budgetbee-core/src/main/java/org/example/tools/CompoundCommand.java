@@ -0,0 +1,61 @@
+package org.example.tools;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// COMPOSITE COMMAND: several commands that execute in order and undo in reverse, as one history step
+// and one journal record. Built by CommandInvoker.beginCompound / endCompound.
+public class CompoundCommand implements JournaledCommand {
+    private final List<JournaledCommand> steps;
+
+    public CompoundCommand(List<JournaledCommand> steps) {
+        this.steps = steps;
+    }
+
+    @Override
+    public void execute() {
+        for (JournaledCommand step : steps) step.execute();
+    }
+
+    @Override
+    public void undo() {
+        for (int i = steps.size() - 1; i >= 0; i--) steps.get(i).undo();
+    }
+
+    @Override
+    public int rowCount() {
+        int rows = 0;
+        for (JournaledCommand step : steps) rows += step.rowCount();
+        return rows;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long bytes = 32;
+        for (JournaledCommand step : steps) bytes += step.estimatedBytes();
+        return bytes;
+    }
+
+    @Override
+    public byte journalTag() {
+        return CommandJournal.COMPOUND;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(steps.size());
+        for (JournaledCommand step : steps) CommandJournal.writeCommand(out, step);
+    }
+
+    // The steps' inverses, last step first
+    @Override
+    public JournaledCommand inverse() {
+        List<JournaledCommand> inverses = new ArrayList<>(steps.size());
+        for (JournaledCommand step : steps) inverses.add(step.inverse());
+        Collections.reverse(inverses);
+        return new CompoundCommand(inverses);
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.tools;
+
+import org.example.model.DateRange;
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.example.model.StringDictionary;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Spending per day, month and year, overall and per category, in money minor units.
+// Months and years are Fenwick trees, so whole-period totals cost O(log n); days are kept in one
+// 31-slot bucket per month, so a range with ragged ends adds at most two partial months.
+// The trees hold only the months and years that have rows, so a stray year-9999 date costs one slot per tree.
+public class DateRollupIndex {
+    private static final int ALL = 0; // tree 0 is every category, tree id + 1 is category id
+    // Open-ended ranges are clamped to the years EpochDays accepts
+    private static final int FIRST_DAY = EpochDays.firstDayOfMonth(EpochDays.MIN_YEAR * 12);
+    private static final int LAST_DAY = EpochDays.firstDayOfMonth((EpochDays.MAX_YEAR + 1) * 12) - 1;
+
+    private final Level months = new Level();
+    private final Level years = new Level();
+    private final Map<Long, long[]> days = new HashMap<>(); // (month, tree) -> total per day of month
+    private long version; // bumped by every change, so readers can tell a cached answer is still valid
+
+    // ==========================================
+    //                 UPDATES
+    // ==========================================
+    public void recompute(ExpenseStore store) {
+        months.clear();
+        years.clear();
+        days.clear();
+        version++;
+        ExpenseStore.Columns c = store.columns();
+        for (int i = 0; i < c.size; i++) apply(c.dates[i], c.categoryIds[i], c.quantities[i] * c.amounts[i], 1);
+    }
+
+    // Incremental delta of one row (sign = +1 added, -1 removed)
+    public void apply(int epochDay, int categoryId, long rowTotal, int sign) {
+        long value = sign * rowTotal;
+        version++;
+        int month = EpochDays.monthIndex(epochDay);
+        int day = EpochDays.dayOfMonth(epochDay) - 1;
+        add(ALL, month, day, value);
+        add(categoryId + 1, month, day, value);
+    }
+
+    private void add(int tree, int month, int day, long value) {
+        months.add(tree, month, value);
+        years.add(tree, Math.floorDiv(month, 12), value);
+        days.computeIfAbsent(key(month, tree), k -> new long[31])[day] += value;
+    }
+
+    private static long key(int month, int tree) {
+        return ((long) month << 32) | tree;
+    }
+
+    // ==========================================
+    //                  READS
+    // ==========================================
+    public long version() {
+        return version;
+    }
+
+    public long total(DateRange range) {
+        return sum(ALL, range);
+    }
+
+    public long categoryTotal(int categoryId, DateRange range) {
+        return sum(categoryId + 1, range);
+    }
+
+    // Category name -> total within the range, in dictionary order
+    public Map<String, Long> categoryTotals(StringDictionary categories, DateRange range) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int id = 0; id < categories.size(); id++) totals.put(categories.get(id), categoryTotal(id, range));
+        return totals;
+    }
+
+    // month is 1-12
+    public long monthTotal(int year, int month) {
+        int key = year * 12 + month - 1;
+        return months.sum(ALL, key, key);
+    }
+
+    public long yearTotal(int year) {
+        return years.sum(ALL, year, year);
+    }
+
+    // Spending per day within the range, straight from the day buckets (no row is read)
+    public TimeSeries daily(DateRange range) {
+        TimeSeries.Builder series = new TimeSeries.Builder();
+        int from = Math.max(range.fromDay, FIRST_DAY), to = Math.min(range.toDay, LAST_DAY);
+        if (from > to) return series.build();
+        for (int month : months.keys(EpochDays.monthIndex(from), EpochDays.monthIndex(to))) {
+            long[] bucket = days.get(key(month, ALL));
+            if (bucket == null) continue;
+            int monthStart = EpochDays.firstDayOfMonth(month);
+            for (int d = 0; d < bucket.length; d++) {
+                int day = monthStart + d;
+                if (bucket[d] != 0 && day >= from && day <= to) series.add(day, bucket[d]);
+            }
+        }
+        return series.build();
+    }
+
+    // Whole months through the month tree, the ragged ends through the day buckets
+    private long sum(int tree, DateRange range) {
+        if (range.isAll()) return months.sum(tree, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int from = Math.max(range.fromDay, FIRST_DAY), to = Math.min(range.toDay, LAST_DAY);
+        if (from > to) return 0;
+        int firstMonth = EpochDays.monthIndex(from);
+        int lastMonth = EpochDays.monthIndex(to);
+        int firstDay = EpochDays.dayOfMonth(from) - 1;
+        int lastDay = EpochDays.dayOfMonth(to) - 1;
+        if (firstMonth == lastMonth) return days(tree, firstMonth, firstDay, lastDay);
+
+        long total = days(tree, firstMonth, firstDay, 30) + days(tree, lastMonth, 0, lastDay);
+        if (lastMonth - firstMonth > 1) total += months.sum(tree, firstMonth + 1, lastMonth - 1);
+        return total;
+    }
+
+    private long days(int tree, int month, int from, int to) {
+        long[] bucket = days.get(key(month, tree));
+        if (bucket == null) return 0;
+        long total = 0;
+        for (int d = from; d <= to; d++) total += bucket[d];
+        return total;
+    }
+
+    // ==========================================
+    //          ONE LEVEL: FENWICK TREES
+    // ==========================================
+    // Fenwick trees over the keys in use only (sorted, slot i is keys[i]). A key seen for the first time
+    // waits in 'added' and gets its slot at the next read, so a load that brings many new months rebuilds once.
+    private static class Level {
+        private int[] keys = new int[0];
+        private long[][] raw = new long[0][];   // value per slot, to rebuild the trees when keys are added
+        private long[][] trees = new long[0][];
+        private final Map<Long, Long> added = new HashMap<>(); // key(key, tree) -> value, not in the trees yet
+
+        void clear() {
+            keys = new int[0];
+            raw = new long[0][];
+            trees = new long[0][];
+            added.clear();
+        }
+
+        void add(int tree, int key, long value) {
+            int slot = Arrays.binarySearch(keys, key);
+            if (slot < 0 || tree >= trees.length) {
+                added.merge(DateRollupIndex.key(key, tree), value, Long::sum);
+                return;
+            }
+            raw[tree][slot] += value;
+            long[] t = trees[tree];
+            for (int i = slot + 1; i <= keys.length; i += i & -i) t[i] += value;
+        }
+
+        long sum(int tree, long fromKey, long toKey) {
+            settle();
+            if (tree >= trees.length) return 0;
+            return prefix(trees[tree], firstAtLeast(toKey + 1)) - prefix(trees[tree], firstAtLeast(fromKey));
+        }
+
+        // The keys in use from fromKey to toKey, ascending
+        int[] keys(long fromKey, long toKey) {
+            settle();
+            return Arrays.copyOfRange(keys, firstAtLeast(fromKey), firstAtLeast(toKey + 1));
+        }
+
+        // Slot of the first key >= key (keys.length if there is none)
+        private int firstAtLeast(long key) {
+            int low = 0, high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        // Sum of the first n slots
+        private static long prefix(long[] t, int n) {
+            long s = 0;
+            for (int i = n; i > 0; i -= i & -i) s += t[i];
+            return s;
+        }
+
+        // Gives the waiting keys (and trees) their slots: O((keys + added) * trees)
+        private void settle() {
+            if (added.isEmpty()) return;
+            int treeCount = trees.length;
+            int[] merged = Arrays.copyOf(keys, keys.length + added.size());
+            int n = keys.length;
+            for (long k : added.keySet()) {
+                merged[n++] = (int) (k >> 32);
+                treeCount = Math.max(treeCount, (int) k + 1);
+            }
+            Arrays.sort(merged);
+            int distinct = 0;
+            for (int i = 0; i < merged.length; i++) {
+                if (distinct == 0 || merged[i] != merged[distinct - 1]) merged[distinct++] = merged[i];
+            }
+            int[] newKeys = Arrays.copyOf(merged, distinct);
+
+            long[][] values = new long[treeCount][newKeys.length];
+            for (int t = 0; t < raw.length; t++) {
+                for (int slot = 0; slot < keys.length; slot++) values[t][Arrays.binarySearch(newKeys, keys[slot])] = raw[t][slot];
+            }
+            for (Map.Entry<Long, Long> e : added.entrySet()) {
+                long k = e.getKey();
+                values[(int) k][Arrays.binarySearch(newKeys, (int) (k >> 32))] += e.getValue();
+            }
+            added.clear();
+            keys = newKeys;
+            raw = values;
+            trees = new long[treeCount][];
+            for (int t = 0; t < treeCount; t++) trees[t] = build(values[t]);
+        }
+
+        // O(n) Fenwick construction from plain values
+        private static long[] build(long[] values) {
+            long[] t = new long[values.length + 1];
+            for (int i = 1; i <= values.length; i++) {
+                t[i] += values[i - 1];
+                int parent = i + (i & -i);
+                if (parent <= values.length) t[parent] += t[i];
+            }
+            return t;
+        }
+    }
+}
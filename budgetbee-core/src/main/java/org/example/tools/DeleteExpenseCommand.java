@@ -0,0 +1,55 @@
+package org.example.tools;
+
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import org.example.model.StringDictionary;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class DeleteExpenseCommand implements JournaledCommand {
+    private ExpenseStore store;
+    private int rowIndex;
+    private TableMemento memento; // <--- The Saved State Object
+
+    public DeleteExpenseCommand(ExpenseStore store, int rowIndex) {
+        this.store = store;
+        this.rowIndex = rowIndex;
+    }
+
+    @Override
+    public void execute() {
+        // 1. CREATE MEMENTO (Capture state before the first delete; inside a compound, earlier steps
+        // may still change the row when this command is built)
+        if (memento == null) memento = new TableMemento(rowIndex, store.get(rowIndex));
+        store.remove(rowIndex);
+    }
+
+    @Override
+    public void undo() {
+        // 2. RESTORE MEMENTO (Put the data back exactly where it was)
+        store.insert(memento.getRowIndex(), memento.getRowData());
+    }
+
+    // The memento's expense with its two strings
+    @Override
+    public long estimatedBytes() {
+        if (memento == null) return JournaledCommand.super.estimatedBytes();
+        Expense row = memento.getRowData();
+        return 96 + StringDictionary.stringBytes(row.description) + StringDictionary.stringBytes(row.category);
+    }
+
+    @Override
+    public byte journalTag() {
+        return CommandJournal.DELETE;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(rowIndex);
+    }
+
+    @Override
+    public JournaledCommand inverse() {
+        return new AddExpenseCommand(store, memento.getRowData(), memento.getRowIndex());
+    }
+}
@@ -0,0 +1,299 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.example.model.StringDictionary;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Which expenses the ledger already holds, so an import that overlaps earlier statements can skip them.
+// Every row is reduced to a 64-bit fingerprint of date, description, category, quantity and amount, and
+// kept in an exact multiset of fingerprints (a ledger can hold the same purchase twice) with a Bloom filter
+// in front. Most new rows are turned away by the Bloom filter's few bit reads; only the rest probe the
+// hash table. Both are updated per row by the facade's listener, so every command keeps them in step.
+// Equal fingerprints count as equal rows: with 64 bits, a false match is a ~n*m/2^64 chance.
+public class DuplicateIndex {
+    private static final int HASHES = 6;          // Bloom probes per row
+    private static final int BITS_PER_ROW = 10;   // ~1% false positives with 6 probes
+    private static final int MIN_ROWS = 1 << 10;
+
+    // Exact multiset: fingerprint -> rows holding it (linear probing, 0 = empty slot)
+    private final FingerprintCounts counts = new FingerprintCounts();
+
+    // Bloom filter over the fingerprints in counts; removals can't clear bits, so it is rebuilt once
+    // the rows it was sized for are exceeded or half of what it holds was removed since
+    private long[] bloom;
+    private int bloomRows;    // rows it was sized for
+    private int bloomAdded;   // rows added since it was built
+    private int bloomRemoved; // rows removed since it was built
+
+    // 64-bit hashes of the ledger's dictionary strings, by id (0 = not computed yet)
+    private long[] descriptionHashes = new long[0];
+    private long[] categoryHashes = new long[0];
+
+    public DuplicateIndex() {
+        resetBloom(0);
+    }
+
+    // ==========================================
+    //                 UPDATES
+    // ==========================================
+    // Fingerprints are computed in parallel; the table, sized up front, and the filter are filled in one pass
+    public void recompute(ExpenseStore store) {
+        long[] descriptions = hashes(store.descriptions());
+        long[] categories = hashes(store.categories());
+        ExpenseStore.Columns c = store.columns();
+        long[] fingerprints = new long[c.size];
+        Arrays.parallelSetAll(fingerprints, i -> fingerprint(c.dates[i], descriptions[c.descriptionIds[i]],
+                categories[c.categoryIds[i]], c.quantities[i], c.amounts[i]));
+        descriptionHashes = descriptions;
+        categoryHashes = categories;
+        counts.clear(c.size);
+        resetBloom(c.size);
+        for (long fp : fingerprints) {
+            counts.increment(fp);
+            setBloom(fp);
+        }
+        bloomAdded = c.size;
+    }
+
+    public void add(ExpenseStore store, int row) {
+        add(fingerprint(store, row));
+    }
+
+    public void remove(ExpenseStore store, int row) {
+        if (counts.decrement(fingerprint(store, row)) && ++bloomRemoved > bloomRows / 2) rebuildBloom();
+    }
+
+    private void add(long fingerprint) {
+        counts.increment(fingerprint);
+        if (++bloomAdded > bloomRows) {
+            rebuildBloom();
+        } else {
+            setBloom(fingerprint);
+        }
+    }
+
+    // Ledger rows, with the string hashes cached by dictionary id
+    private long fingerprint(ExpenseStore store, int row) {
+        descriptionHashes = cached(descriptionHashes, store.descriptions(), store.getDescriptionId(row));
+        categoryHashes = cached(categoryHashes, store.categories(), store.getCategoryId(row));
+        return fingerprint(store.getDate(row), descriptionHashes[store.getDescriptionId(row)],
+                categoryHashes[store.getCategoryId(row)], store.getQuantity(row), store.getAmount(row));
+    }
+
+    private static long[] cached(long[] hashes, StringDictionary dictionary, int id) {
+        if (id >= hashes.length) hashes = Arrays.copyOf(hashes, Math.max(id + 1, dictionary.size()));
+        if (hashes[id] == 0) hashes[id] = hash(dictionary.get(id));
+        return hashes;
+    }
+
+    // ==========================================
+    //                 LOOKUPS
+    // ==========================================
+    // Splits a batch into the rows the ledger lacks and the ones it already has. Matching is per occurrence:
+    // a purchase the ledger holds once is a duplicate the first time it appears in the batch, new the second.
+    public Split split(ExpenseStore batch) {
+        int n = batch.size();
+        long[] descriptionHashes = hashes(batch.descriptions());
+        long[] categoryHashes = hashes(batch.categories());
+        ExpenseStore.Columns c = batch.columns();
+        int[] fresh = new int[n], duplicates = new int[n];
+        int freshCount = 0, duplicateCount = 0, bloomPassed = 0;
+        FingerprintCounts matched = new FingerprintCounts();
+        for (int i = 0; i < n; i++) {
+            long fp = fingerprint(c.dates[i], descriptionHashes[c.descriptionIds[i]], categoryHashes[c.categoryIds[i]],
+                    c.quantities[i], c.amounts[i]);
+            if (!mightContain(fp)) {
+                fresh[freshCount++] = i; // certainly new: the common case stops here
+                continue;
+            }
+            bloomPassed++;
+            if (matched.get(fp) < counts.get(fp)) {
+                matched.increment(fp);
+                duplicates[duplicateCount++] = i;
+            } else {
+                fresh[freshCount++] = i;
+            }
+        }
+        return new Split(batch.copyRows(Arrays.copyOf(fresh, freshCount)),
+                batch.copyRows(Arrays.copyOf(duplicates, duplicateCount)), bloomPassed);
+    }
+
+    public static class Split {
+        public final ExpenseStore fresh;      // rows to add, in batch order
+        public final ExpenseStore duplicates; // rows the ledger already has, in batch order
+        public final int bloomPassed;         // rows that needed the exact check (duplicates + false positives)
+
+        Split(ExpenseStore fresh, ExpenseStore duplicates, int bloomPassed) {
+            this.fresh = fresh;
+            this.duplicates = duplicates;
+            this.bloomPassed = bloomPassed;
+        }
+    }
+
+    private static long[] hashes(StringDictionary dictionary) {
+        long[] hashes = new long[dictionary.size()];
+        for (int id = 0; id < hashes.length; id++) hashes[id] = hash(dictionary.get(id));
+        return hashes;
+    }
+
+    // ==========================================
+    //               FINGERPRINTS
+    // ==========================================
+    static long fingerprint(int date, long descriptionHash, long categoryHash, int quantity, long amount) {
+        long h = mix(descriptionHash ^ categoryHash * 0x9E3779B97F4A7C15L);
+        h = mix(h ^ ((long) date << 32 | (quantity & 0xFFFFFFFFL)));
+        h = mix(h ^ amount);
+        return h == 0 ? 1 : h; // 0 marks an empty slot
+    }
+
+    // FNV-1a over the chars, then mixed: 64 bits, unlike String.hashCode
+    static long hash(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h) | 1; // never 0, the "not cached" mark
+    }
+
+    // MurmurHash3's 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // ==========================================
+    //               BLOOM FILTER
+    // ==========================================
+    private boolean mightContain(long fingerprint) {
+        int mask = bloom.length * 64 - 1;
+        int h1 = (int) fingerprint, h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    private void setBloom(long fingerprint) {
+        int mask = bloom.length * 64 - 1;
+        int h1 = (int) fingerprint, h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // Sized for twice the rows it starts with, a power of two of bits
+    private void resetBloom(int rows) {
+        bloomRows = Math.max(MIN_ROWS, 2 * rows);
+        long bits = Long.highestOneBit((long) bloomRows * BITS_PER_ROW - 1) << 1;
+        bloom = new long[(int) Math.min(bits >>> 6, 1 << 24)]; // at most 128 MB of bits
+        bloomAdded = 0;
+        bloomRemoved = 0;
+    }
+
+    private void rebuildBloom() {
+        resetBloom(counts.rows());
+        counts.forEachKey(this::setBloom);
+        bloomAdded = counts.rows();
+    }
+
+    // ==========================================
+    //          FINGERPRINT -> COUNT TABLE
+    // ==========================================
+    private static class FingerprintCounts {
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private int size;  // distinct fingerprints
+        private int rows;  // sum of the counts
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return 0;
+        }
+
+        void increment(long key) {
+            if (2 * (size + 1) > keys.length) grow();
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            values[i]++;
+            rows++;
+        }
+
+        // False if the fingerprint was not there
+        boolean decrement(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == 0) return false;
+                i = (i + 1) & mask;
+            }
+            rows--;
+            if (--values[i] > 0) return true;
+            // Backward-shift deletion: later entries of the probe run move into the gap, no tombstones
+            size--;
+            int gap = i;
+            keys[gap] = 0;
+            for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) { // the gap lies on j's probe path
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    keys[j] = 0;
+                    values[j] = 0; // a key inserted here later starts counting from zero
+                    gap = j;
+                }
+            }
+            return true;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        void forEachKey(LongConsumer action) {
+            for (long key : keys) if (key != 0) action.accept(key);
+        }
+
+        // Empty, with room for the given number of fingerprints
+        void clear(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            size = rows = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldKeys[k] == 0) continue;
+                int i = slot(oldKeys[k], mask);
+                while (keys[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) (key ^ (key >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// A single cell edit from the table, undoable and journaled like add/delete
+public class EditExpenseCommand implements JournaledCommand {
+    private ExpenseStore store;
+    private int row;
+    private int column;
+    private Object newValue;
+    private Object oldValue; // captured on the first execute
+    private boolean captured;
+
+    public EditExpenseCommand(ExpenseStore store, int row, int column, Object newValue) {
+        this.store = store;
+        this.row = row;
+        this.column = column;
+        this.newValue = newValue;
+    }
+
+    @Override
+    public void execute() {
+        if (!captured) {
+            oldValue = store.getValue(row, column);
+            captured = true;
+        }
+        store.set(row, column, newValue);
+    }
+
+    @Override
+    public void undo() {
+        store.set(row, column, oldValue);
+    }
+
+    @Override
+    public byte journalTag() {
+        return CommandJournal.EDIT;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(row);
+        out.writeByte(column);
+        CommandJournal.writeValue(out, newValue);
+    }
+
+    @Override
+    public JournaledCommand inverse() {
+        return new EditExpenseCommand(store, row, column, oldValue);
+    }
+}
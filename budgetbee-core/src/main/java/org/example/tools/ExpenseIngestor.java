@@ -0,0 +1,213 @@
+package org.example.tools;
+
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// The thread-safe way into a ledger. The engine itself stays confined to one thread (the EDT in the app):
+// any number of producers (importers, schedulers, an API thread) submit rows into a bounded ring buffer,
+// and one consumer thread drains it in batches that are applied on the ledger's thread as a single
+// BatchAddCommand, so the views refresh once per batch rather than once per row.
+//   ExpenseIngestor in = new ExpenseIngestor(engine, SwingUtilities::invokeLater); ... in.submit(...);
+// Back-pressure: while the ring is full, submit() waits and offer() returns false. The consumer hands a
+// batch over only after the previous one was applied, so a busy ledger thread fills the ring and slows the
+// producers down instead of piling up batches in its queue.
+// The app's own imports don't go through here: a statement import is one undo step with duplicates skipped
+// against the whole ledger (StatementImporter), and opening a CSV is a bulk load; this is for callers that
+// feed rows continuously.
+public class ExpenseIngestor implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    public static final int DEFAULT_MAX_BATCH = 1 << 16;
+    private static final OperationMetrics.Operation APPLY = OperationMetrics.global().operation("ingest.apply");
+    private static final long CLOSED = 1L << 62; // set in tail by close(): claims and the check are one atomic step
+    private static final int SPINS = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final BudgetEngine engine;
+    private final Executor ledgerThread;
+    private final int maxBatch;
+
+    // ==========================================
+    //    RING (per-slot sequence numbers: slot i holds ticket t when sequence[i] == t + 1,
+    //    and is free for ticket t when sequence[i] == t)
+    // ==========================================
+    private final int mask;
+    private final AtomicLongArray sequence;
+    private final int[] dates, quantities;
+    private final String[] descriptions, categories;
+    private final long[] amounts;
+    private final AtomicLong tail = new AtomicLong(); // next ticket to hand to a producer
+    private long head;                               // next ticket to consume (consumer thread only)
+    private volatile long drained;                   // head, published for pending()
+    private volatile long closedAt = -1;             // tickets below this are still consumed after close()
+
+    private final Semaphore ledgerIdle = new Semaphore(1); // taken while a batch waits for / runs on the ledger thread
+    private final Thread consumer;
+    private volatile boolean consumerParked;
+
+    public ExpenseIngestor(BudgetEngine engine, Executor ledgerThread) {
+        this(engine, ledgerThread, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    // capacity is rounded up to a power of two
+    public ExpenseIngestor(BudgetEngine engine, Executor ledgerThread, int capacity, int maxBatch) {
+        if (capacity <= 0 || maxBatch <= 0) throw new IllegalArgumentException("Capacity and batch size must be positive");
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.engine = engine;
+        this.ledgerThread = ledgerThread;
+        this.maxBatch = maxBatch;
+        this.mask = size - 1;
+        this.sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequence.set(i, i);
+        this.dates = new int[size];
+        this.quantities = new int[size];
+        this.descriptions = new String[size];
+        this.categories = new String[size];
+        this.amounts = new long[size];
+        consumer = new Thread(this::consume, "budgetbee-ingest");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    // ==========================================
+    //              PRODUCERS
+    // ==========================================
+    // Waits while the ring is full; throws IllegalStateException once the ingestor is closed
+    public void submit(int date, String description, String category, int quantity, long amount) {
+        long ticket = tail.getAndIncrement();
+        if ((ticket & CLOSED) != 0) throw new IllegalStateException("Ingestor is closed");
+        int slot = (int) ticket & mask;
+        for (int spins = 0; sequence.get(slot) != ticket; spins++) backOff(spins);
+        publish(slot, ticket, date, description, category, quantity, amount);
+    }
+
+    public void submit(Expense e) {
+        submit(e.date, e.description, e.category, e.quantity, e.amount);
+    }
+
+    // False (and nothing queued) if the ring is full right now
+    public boolean offer(int date, String description, String category, int quantity, long amount) {
+        while (true) {
+            long ticket = tail.get();
+            if ((ticket & CLOSED) != 0) throw new IllegalStateException("Ingestor is closed");
+            int slot = (int) ticket & mask;
+            long seq = sequence.get(slot);
+            if (seq < ticket) return false; // still holds the row from one lap ago
+            if (seq == ticket && tail.compareAndSet(ticket, ticket + 1)) {
+                publish(slot, ticket, date, description, category, quantity, amount);
+                return true;
+            }
+        }
+    }
+
+    private void publish(int slot, long ticket, int date, String description, String category, int quantity, long amount) {
+        dates[slot] = date;
+        descriptions[slot] = description;
+        categories[slot] = category;
+        quantities[slot] = quantity;
+        amounts[slot] = amount;
+        sequence.set(slot, ticket + 1); // volatile write: the fields above are visible to the consumer
+        if (consumerParked) LockSupport.unpark(consumer);
+    }
+
+    private static void backOff(int spins) {
+        if (spins < SPINS) Thread.onSpinWait();
+        else if (spins < 2 * SPINS) Thread.yield();
+        else LockSupport.parkNanos(PARK_NANOS);
+    }
+
+    // Rows submitted but not yet drained into a batch (approximate while producers are running)
+    public long pending() {
+        long claimed = closedAt >= 0 ? closedAt : tail.get();
+        return Math.max(0, claimed - drained);
+    }
+
+    // ==========================================
+    //               CONSUMER
+    // ==========================================
+    // A partial batch goes as soon as the ledger thread is free; a full one waits for it
+    private void consume() {
+        ExpenseStore batch = new ExpenseStore();
+        while (true) {
+            boolean got = drainTo(batch);
+            if (batch.size() >= maxBatch) {
+                ledgerIdle.acquireUninterruptibly();
+                batch = handOver(batch);
+            } else if (batch.size() > 0 && ledgerIdle.tryAcquire()) {
+                batch = handOver(batch);
+            } else if (!got) {
+                long end = closedAt;
+                if (end >= 0 && head >= end) break;
+                waitForRows();
+            }
+        }
+        ledgerIdle.acquireUninterruptibly();
+        if (batch.size() > 0) {
+            handOver(batch);
+            ledgerIdle.acquireUninterruptibly(); // the last batch was applied (see awaitClosed)
+        }
+    }
+
+    // Moves every published row (up to a full batch) into the batch; false if there was none
+    private boolean drainTo(ExpenseStore batch) {
+        int before = batch.size();
+        while (batch.size() < maxBatch) {
+            int slot = (int) head & mask;
+            if (sequence.get(slot) != head + 1) break;
+            batch.add(dates[slot], descriptions[slot], categories[slot], quantities[slot], amounts[slot]);
+            descriptions[slot] = null;
+            categories[slot] = null;
+            sequence.set(slot, head + mask + 1); // free for the ticket one lap ahead
+            head++;
+        }
+        drained = head;
+        return batch.size() > before;
+    }
+
+    private void waitForRows() {
+        consumerParked = true;
+        int slot = (int) head & mask;
+        if (sequence.get(slot) != head + 1 && closedAt < 0) LockSupport.parkNanos(this, 1_000_000);
+        consumerParked = false;
+    }
+
+    // Called holding ledgerIdle, which the ledger thread gives back once the batch is applied
+    private ExpenseStore handOver(ExpenseStore batch) {
+        ledgerThread.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                engine.addExpenses(batch);
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                APPLY.recordSince(start);
+                ledgerIdle.release();
+            }
+        });
+        return new ExpenseStore();
+    }
+
+    // ==========================================
+    //               SHUTDOWN
+    // ==========================================
+    // Stops taking rows; everything submitted before is still applied. Does not wait (see awaitClosed).
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closedAt >= 0) return;
+            closedAt = tail.getAndAdd(CLOSED);
+        }
+        LockSupport.unpark(consumer);
+    }
+
+    // Waits until every row submitted before close() was applied. Not on the ledger thread: it applies them.
+    public boolean awaitClosed(long timeout, TimeUnit unit) throws InterruptedException {
+        consumer.join(Math.max(1, unit.toMillis(timeout)));
+        return !consumer.isAlive();
+    }
+}
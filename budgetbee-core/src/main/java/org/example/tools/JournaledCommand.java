@@ -0,0 +1,14 @@
+package org.example.tools;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+// A Command that can be written to the CommandJournal and rebuilt by CommandJournal.readCommand
+public interface JournaledCommand extends Command {
+    byte journalTag();
+    void writeTo(DataOutput out) throws IOException;
+
+    // A command that redoes what undo() does, built from the current (not yet undone) state.
+    // Replay needs it for undos of commands that are older than the snapshot.
+    JournaledCommand inverse();
+}
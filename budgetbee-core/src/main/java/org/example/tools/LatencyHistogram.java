@@ -0,0 +1,77 @@
+package org.example.tools;
+
+import java.util.Arrays;
+
+// Latencies in nanoseconds, in log-linear buckets (8 per power of two, so a percentile is off by at most
+// 12.5%) covering 1 ns to centuries in 512 counters. Recording is an uncontended lock and a few adds, no
+// allocation. (Plain arrays rather than the java.util.concurrent atomics: those pull in the method-handle
+// machinery at class load, which would cost a headless engine tens of milliseconds of startup.)
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+
+    private final long[] counts = new long[64 * SUB];
+    private long count, sum, max;
+
+    public synchronized void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[index(nanos)]++;
+        count++;
+        sum += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = sum = max = 0;
+    }
+
+    // Values below 16 get a bucket each; above, 8 buckets per power of two
+    static int index(long v) {
+        if (v < SUB) return (int) v;
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        return ((msb - SUB_BITS + 1) << SUB_BITS) | (int) ((v >>> (msb - SUB_BITS)) & (SUB - 1));
+    }
+
+    // Largest value that falls in bucket i
+    static long upperBound(int i) {
+        if (i < 2 * SUB) return i;
+        int shift = (i >>> SUB_BITS) - 1; // msb - SUB_BITS
+        return ((long) (SUB + (i & (SUB - 1))) << shift) + (1L << shift) - 1;
+    }
+
+    // A consistent view of the histogram for reporting
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(counts.clone(), count, sum, max);
+    }
+
+    public static class Snapshot {
+        public final long count;
+        public final long sumNanos;
+        public final long maxNanos;
+        private final long[] counts;
+
+        Snapshot(long[] counts, long count, long sumNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) sumNanos / count;
+        }
+
+        // Upper bound of the bucket holding the q-quantile (0 < q <= 1), never above the max seen
+        public long percentileNanos(double q) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(upperBound(i), maxNanos);
+            }
+            return maxNanos;
+        }
+    }
+}
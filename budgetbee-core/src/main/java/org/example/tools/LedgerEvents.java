@@ -0,0 +1,91 @@
+package org.example.tools;
+
+import java.nio.file.Path;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Java Flight Recorder events of the engine, so a recording (java -XX:StartFlightRecording, or JDK Mission
+// Control attached to the app) shows what the ledger did next to the GC, I/O and lock events of the JVM:
+//   LedgerEvents.Load event = new LedgerEvents.Load(); event.begin(); ... ; event.commit(path, "csv", rows);
+// While nothing is recording, begin() and commit() return at once and the fields are never filled in.
+public final class LedgerEvents {
+    private static final String CATEGORY = "BudgetBee";
+
+    private LedgerEvents() {
+    }
+
+    @Name("org.example.budgetbee.Load")
+    @Label("Ledger Load")
+    @Category({CATEGORY, "Ledger"})
+    @Description("Rows read from a CSV file or a binary snapshot")
+    public static class Load extends Event {
+        @Label("Path") public String path;
+        @Label("Source") @Description("csv or snapshot") public String source;
+        @Label("Rows") public int rows;
+        @Label("File Size") @DataAmount public long bytes;
+
+        public void commit(Path file, String source, int rows) {
+            if (!shouldCommit()) return;
+            this.path = file.toString();
+            this.source = source;
+            this.rows = rows;
+            this.bytes = file.toFile().length();
+            commit();
+        }
+    }
+
+    @Name("org.example.budgetbee.Save")
+    @Label("Ledger Save")
+    @Category({CATEGORY, "Ledger"})
+    @Description("Rows written as CSV, as a snapshot, or as the snapshot that compacts the journal")
+    public static class Save extends Event {
+        @Label("Path") public String path;
+        @Label("Kind") @Description("csv, snapshot or compaction") public String kind;
+        @Label("Rows") public int rows;
+        @Label("File Size") @DataAmount public long bytes;
+
+        public void commit(Path file, String kind, int rows) {
+            if (!shouldCommit()) return;
+            this.path = file.toString();
+            this.kind = kind;
+            this.rows = rows;
+            this.bytes = file.toFile().length();
+            commit();
+        }
+    }
+
+    @Name("org.example.budgetbee.Recalculate")
+    @Label("Recalculate All")
+    @Category({CATEGORY, "Ledger"})
+    @Description("Full rescan that rebuilds the aggregates, rollups and indexes")
+    public static class Recalculate extends Event {
+        @Label("Rows") public int rows;
+    }
+
+    // No stack trace: commands run on every edit, and the command name already says where it came from
+    @Name("org.example.budgetbee.Command")
+    @Label("Command")
+    @Category({CATEGORY, "Commands"})
+    @Description("A command executed, undone or redone by the CommandInvoker")
+    @StackTrace(false)
+    public static class Command extends Event {
+        @Label("Command") public String command;
+        @Label("Action") @Description("execute, undo or redo") public String action;
+        @Label("Rows") @Description("Rows the command adds, deletes or edits") public int rows;
+        @Label("History Cost") @Description("Estimated heap the command keeps for undo / redo") @DataAmount public long bytes;
+
+        public void commit(org.example.tools.Command cmd, String action) {
+            if (!shouldCommit()) return;
+            this.command = cmd.getClass().getSimpleName();
+            this.action = action;
+            this.rows = cmd.rowCount();
+            this.bytes = cmd.estimatedBytes();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.example.model.StringDictionary;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// Versioned binary ledger next to the CSV, loaded with bulk column reads instead of text parsing.
+//
+// Layout (big-endian):
+//   header   magic, version, rowCount, blockCount, generation, then per block: length, crc
+//            followed by the crc of everything above. The generation ties a command journal to the
+//            snapshot it was recorded on top of.
+//   blocks   dates (epoch days), descriptionIds, categoryIds, quantities (int[rowCount]),
+//            amounts (long[rowCount], minor units), then the description and category dictionaries
+//            (count, then length + UTF-8 bytes per entry)
+// Any change to the layout bumps VERSION; a snapshot of another version is not read.
+public class LedgerSnapshot {
+    public static final String EXTENSION = ".bbl";
+    public static final long NO_SNAPSHOT = -1; // generation of a ledger that was loaded from CSV
+
+    private static final int MAGIC = 0x42424545; // "BBEE"
+    private static final int VERSION = 1;
+    private static final int BLOCKS = 7;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ExpenseStore store;
+    private final long generation;
+
+    private LedgerSnapshot(ExpenseStore store, long generation) {
+        this.store = store;
+        this.generation = generation;
+    }
+
+    public ExpenseStore store() { return store; }
+    public long generation() { return generation; }
+
+    private static final int BLOCK_TABLE = 24;
+    private static final int HEADER_SIZE = BLOCK_TABLE + BLOCKS * 16 + 8;
+
+    // True when the snapshot next to the CSV exists and is at least as new as the CSV
+    public static boolean isPreferredTo(File csv) {
+        File snapshot = siblingOf(csv.toPath()).toFile();
+        return snapshot.exists() && (!csv.exists() || snapshot.lastModified() >= csv.lastModified());
+    }
+
+    // The snapshot that sits next to a CSV file, e.g. expenses.csv -> expenses.bbl
+    public static Path siblingOf(Path csv) {
+        String name = csv.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return csv.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + EXTENSION);
+    }
+
+    // ==========================================
+    //                  WRITE
+    // ==========================================
+    public static void write(Path file, ExpenseStore store, long generation) throws IOException {
+        AtomicFileWriter.write(file, channel -> new Writer(channel).write(store, generation));
+    }
+
+    private static class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+        private long blockLength;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(ExpenseStore store, long generation) throws IOException {
+            ExpenseStore.Columns c = store.columns();
+            long[] lengths = new long[BLOCKS];
+            long[] crcs = new long[BLOCKS];
+            channel.position(HEADER_SIZE);
+            for (int block = 0; block < BLOCKS; block++) {
+                crc.reset();
+                blockLength = 0;
+                switch (block) {
+                    case 0: putInts(c.dates, c.size); break;
+                    case 1: putInts(c.descriptionIds, c.size); break;
+                    case 2: putInts(c.categoryIds, c.size); break;
+                    case 3: putInts(c.quantities, c.size); break;
+                    case 4: putLongs(c.amounts, c.size); break;
+                    case 5: putDictionary(store.descriptions()); break;
+                    default: putDictionary(store.categories());
+                }
+                flush();
+                lengths[block] = blockLength;
+                crcs[block] = crc.getValue();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(c.size).putInt(BLOCKS).putLong(generation);
+            for (int block = 0; block < BLOCKS; block++) header.putLong(lengths[block]).putLong(crcs[block]);
+            CRC32C headerCrc = new CRC32C();
+            headerCrc.update(header.array(), 0, header.position());
+            header.putLong(headerCrc.getValue());
+            header.flip();
+            while (header.hasRemaining()) channel.write(header, HEADER_SIZE - header.remaining());
+        }
+
+        private void putInts(int[] values, int count) throws IOException {
+            for (int offset = 0; offset < count; ) {
+                if (buf.remaining() < Integer.BYTES) flush();
+                int n = Math.min(count - offset, buf.remaining() / Integer.BYTES);
+                buf.asIntBuffer().put(values, offset, n);
+                buf.position(buf.position() + n * Integer.BYTES);
+                offset += n;
+            }
+        }
+
+        private void putLongs(long[] values, int count) throws IOException {
+            for (int offset = 0; offset < count; ) {
+                if (buf.remaining() < Long.BYTES) flush();
+                int n = Math.min(count - offset, buf.remaining() / Long.BYTES);
+                buf.asLongBuffer().put(values, offset, n);
+                buf.position(buf.position() + n * Long.BYTES);
+                offset += n;
+            }
+        }
+
+        private void putDictionary(StringDictionary dictionary) throws IOException {
+            if (buf.remaining() < Integer.BYTES) flush();
+            buf.putInt(dictionary.size());
+            for (int id = 0; id < dictionary.size(); id++) {
+                byte[] bytes = dictionary.get(id).getBytes(StandardCharsets.UTF_8);
+                if (buf.remaining() < Integer.BYTES) flush();
+                buf.putInt(bytes.length);
+                for (int offset = 0; offset < bytes.length; ) {
+                    if (!buf.hasRemaining()) flush();
+                    int n = Math.min(buf.remaining(), bytes.length - offset);
+                    buf.put(bytes, offset, n);
+                    offset += n;
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            blockLength += buf.remaining();
+            crc.update(buf.duplicate());
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
+        }
+    }
+
+    // ==========================================
+    //                  READ
+    // ==========================================
+    // Throws IOException if the file is not a snapshot, has an unknown version or fails a checksum
+    public static LedgerSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (map.limit() < 8 || map.getInt(0) != MAGIC) throw new IOException("Not a BudgetBee snapshot: " + file);
+            int version = map.getInt(4);
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+            if (map.limit() < HEADER_SIZE) throw new IOException("Snapshot too short: " + file);
+
+            int rows = map.getInt(8);
+            if (rows < 0 || map.getInt(12) != BLOCKS) throw new IOException("Corrupt snapshot header: " + file);
+            long generation = map.getLong(16);
+
+            CRC32C crc = new CRC32C();
+            crc.update(map.duplicate().position(0).limit(HEADER_SIZE - 8));
+            if (crc.getValue() != map.getLong(HEADER_SIZE - 8)) throw new IOException("Snapshot header checksum mismatch: " + file);
+
+            ByteBuffer[] blocks = new ByteBuffer[BLOCKS];
+            long offset = HEADER_SIZE;
+            for (int block = 0; block < BLOCKS; block++) {
+                long length = map.getLong(BLOCK_TABLE + block * 16);
+                long expectedCrc = map.getLong(BLOCK_TABLE + 8 + block * 16);
+                if (length < 0 || offset + length > map.limit()) throw new IOException("Truncated snapshot: " + file);
+                blocks[block] = map.duplicate().position((int) offset).limit((int) (offset + length)).slice();
+                crc.reset();
+                crc.update(blocks[block].duplicate());
+                if (crc.getValue() != expectedCrc) throw new IOException("Snapshot block " + block + " checksum mismatch: " + file);
+                offset += length;
+            }
+
+            ExpenseStore.Columns columns = new ExpenseStore.Columns(rows,
+                    getInts(blocks[0], rows), getInts(blocks[1], rows), getInts(blocks[2], rows),
+                    getInts(blocks[3], rows), getLongs(blocks[4], rows));
+            ExpenseStore store = new ExpenseStore(columns, getDictionary(blocks[5]), getDictionary(blocks[6]));
+            return new LedgerSnapshot(store, generation);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot: " + file, e);
+        }
+    }
+
+    private static int[] getInts(ByteBuffer block, int rows) {
+        int[] values = new int[rows];
+        block.asIntBuffer().get(values);
+        return values;
+    }
+
+    private static long[] getLongs(ByteBuffer block, int rows) {
+        long[] values = new long[rows];
+        block.asLongBuffer().get(values);
+        return values;
+    }
+
+    private static String[] getDictionary(ByteBuffer block) {
+        String[] values = new String[block.getInt()];
+        byte[] scratch = new byte[64];
+        for (int id = 0; id < values.length; id++) {
+            int length = block.getInt();
+            if (length > scratch.length) scratch = new byte[length];
+            block.get(scratch, 0, length);
+            values[id] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,345 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.example.model.Money;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+// Memory-maps an exported CSV, cuts it into chunks at line boundaries and
+// parses the chunks in parallel straight into columnar ExpenseStore batches.
+// Lines that are not expenses (too few fields, bad date / number) are skipped but counted, with their
+// byte offsets, in the returned Result: a caller must not write the ledger back over such a file.
+public class MappedCsvParser {
+    private static final long MIN_CHUNK = 1L << 20;  // 1 MB
+    private static final long MAX_CHUNK = 64L << 20; // 64 MB
+    private static final int MAX_OFFSETS = 1000;     // rejected lines whose offsets are kept
+
+    // Where a line stands after a byte, as ChunkParser reads it: a quote opens a quoted field only as the
+    // field's first byte, anywhere else (5" pipe) it is a plain character
+    private static final int FIELD_START = 0, IN_FIELD = 1, QUOTED = 2, QUOTE_IN_QUOTED = 3; // closing, or the first of ""
+
+    // Receives the parsed chunks in file order
+    public interface ChunkSink {
+        void accept(ExpenseStore chunk, long bytesDone, long bytesTotal);
+    }
+
+    // Rows delivered, and the lines that were not
+    public static class Result {
+        public final int rows;
+        public final long rejected;          // every rejected line
+        public final long[] rejectedOffsets; // byte offsets of the first MAX_OFFSETS of them, ascending
+
+        Result(int rows, long rejected, long[] rejectedOffsets) {
+            this.rows = rows;
+            this.rejected = rejected;
+            this.rejectedOffsets = rejectedOffsets;
+        }
+
+        public boolean hasRejects() {
+            return rejected > 0;
+        }
+
+        // "2 lines of expenses.csv could not be read (at bytes 41, 977)", at most `shown` offsets
+        public String describeRejects(Path file, int shown) {
+            StringBuilder text = new StringBuilder();
+            text.append(rejected).append(rejected == 1 ? " line of " : " lines of ").append(file.getFileName())
+                    .append(" could not be read (at byte").append(rejected == 1 ? " " : "s ");
+            for (int i = 0; i < Math.min(shown, rejectedOffsets.length); i++) text.append(i > 0 ? ", " : "").append(rejectedOffsets[i]);
+            if (rejected > Math.min(shown, rejectedOffsets.length)) text.append(", ...");
+            return text.append(')').toString();
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    public MappedCsvParser() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MappedCsvParser(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Parses every data line (the header is skipped); returns the rows delivered and the lines rejected
+    public Result parse(Path file, ChunkSink sink, BooleanSupplier cancelled) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) return new Result(0, 0, new long[0]);
+
+            long chunkSize = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, size / (pool.getParallelism() * 4L)));
+            int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+            long[] nominal = new long[chunks + 1];
+            for (int i = 0; i <= chunks; i++) nominal[i] = Math.min(size, i * chunkSize);
+
+            // 1. The state at the start of every chunk (a newline inside quotes is not a line end): each chunk
+            //    is scanned from every state in parallel, then the results are chained from the file start
+            List<Future<Integer>> endStates = new ArrayList<>();
+            for (int i = 0; i < chunks; i++) {
+                MappedByteBuffer buf = map(channel, nominal[i], nominal[i + 1]);
+                endStates.add(pool.submit(() -> endStates(buf)));
+            }
+            int[] startState = new int[chunks];
+            for (int i = 1; i < chunks; i++) startState[i] = (await(endStates.get(i - 1)) >>> (2 * startState[i - 1])) & 3;
+
+            // 2. The first line that starts inside each chunk (chunk 0 starts after the header)
+            List<Future<Long>> lineStarts = new ArrayList<>();
+            for (int i = 0; i < chunks; i++) {
+                long from = i == 0 ? 0 : nominal[i] - 1;
+                MappedByteBuffer buf = map(channel, from, nominal[i + 1]);
+                int state = startState[i];
+                lineStarts.add(pool.submit(() -> firstLineStart(buf, from, state)));
+            }
+            long[] starts = new long[chunks + 1];
+            starts[chunks] = size;
+            for (int i = chunks - 1; i >= 0; i--) {
+                long start = await(lineStarts.get(i));
+                // No line starts in this chunk: the previous chunk's last line runs through it
+                starts[i] = start < 0 ? starts[i + 1] : start;
+            }
+
+            // 3. Parse [starts[i], starts[i + 1]) in parallel, deliver in order
+            List<Future<ChunkParser>> parsed = new ArrayList<>();
+            for (int i = 0; i < chunks; i++) {
+                if (starts[i + 1] - starts[i] > Integer.MAX_VALUE) throw new IOException("Line too long near byte " + starts[i]);
+                MappedByteBuffer buf = map(channel, starts[i], starts[i + 1]);
+                long base = starts[i];
+                parsed.add(pool.submit(() -> new ChunkParser(buf, base).parse()));
+            }
+
+            int rows = 0;
+            long rejected = 0;
+            long[] offsets = new long[0];
+            for (int i = 0; i < chunks; i++) {
+                if (cancelled.getAsBoolean()) {
+                    for (int j = i; j < chunks; j++) parsed.get(j).cancel(true);
+                    break;
+                }
+                ChunkParser chunk = await(parsed.get(i));
+                rows += chunk.out.size();
+                rejected += chunk.rejected;
+                int keep = Math.min(chunk.kept, MAX_OFFSETS - offsets.length);
+                if (keep > 0) {
+                    offsets = Arrays.copyOf(offsets, offsets.length + keep);
+                    System.arraycopy(chunk.rejectedOffsets, 0, offsets, offsets.length - keep, keep);
+                }
+                sink.accept(chunk.out, starts[i + 1], size);
+            }
+            return new Result(rows, rejected, offsets);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse chunk", e.getCause());
+        }
+    }
+
+    private static int next(int state, byte b) {
+        switch (state) {
+            case QUOTED: return b == '"' ? QUOTE_IN_QUOTED : QUOTED;
+            case QUOTE_IN_QUOTED: if (b == '"') return QUOTED; break; // "" inside quotes
+            case FIELD_START: if (b == '"') return QUOTED; break;
+            default: break;
+        }
+        return b == ',' || b == '\n' ? FIELD_START : IN_FIELD;
+    }
+
+    // The state after the chunk for each state it may start in, two bits per start state
+    private static int endStates(MappedByteBuffer buf) {
+        int fieldStart = FIELD_START, inField = IN_FIELD, quoted = QUOTED, quoteInQuoted = QUOTE_IN_QUOTED;
+        for (int i = 0, n = buf.limit(); i < n; i++) {
+            byte b = buf.get(i);
+            fieldStart = next(fieldStart, b);
+            inField = next(inField, b);
+            quoted = next(quoted, b);
+            quoteInQuoted = next(quoteInQuoted, b);
+        }
+        return fieldStart | inField << 2 | quoted << 4 | quoteInQuoted << 6;
+    }
+
+    // Returns the absolute offset just after the first unquoted '\n', or -1 if there is none.
+    // The buffer starts one byte before the chunk, so a line starting exactly on the boundary is found.
+    private static long firstLineStart(MappedByteBuffer buf, long bufferOffset, int stateAtChunkStart) {
+        int n = buf.limit();
+        int state = stateAtChunkStart;
+        int i = 0;
+        if (bufferOffset > 0 && n > 0) {
+            // The state was computed for the chunk start, i.e. after this byte: a line end leaves FIELD_START
+            if (buf.get(0) == '\n' && state == FIELD_START) return bufferOffset + 1;
+            i = 1;
+        }
+        for (; i < n; i++) {
+            byte b = buf.get(i);
+            if (b == '\n' && state != QUOTED) return bufferOffset + i + 1;
+            state = next(state, b);
+        }
+        return -1;
+    }
+
+    // ==========================================
+    //        SINGLE CHUNK → PRIMITIVE COLUMNS
+    // ==========================================
+    private static class ChunkParser {
+        private static final int MAX_FIELDS = 8;
+        private static final int CACHE_SIZE = 4096;
+
+        private final MappedByteBuffer buf;
+        private final long base; // file offset of the chunk
+        private final ExpenseStore out = new ExpenseStore();
+        private int rejected;
+        private long[] rejectedOffsets = new long[16];
+        private int kept; // offsets in rejectedOffsets, at most MAX_OFFSETS
+        private byte[] scratch = new byte[256];
+        private final int[] fieldStart = new int[MAX_FIELDS];
+        private final int[] fieldEnd = new int[MAX_FIELDS];
+
+        // Repeated categories and descriptions reuse the same String
+        private final byte[][] cacheKeys = new byte[CACHE_SIZE][];
+        private final String[] cacheValues = new String[CACHE_SIZE];
+        // Non-ISO dates (legacy "MMM dd" ledgers) go through the formatter once per distinct text
+        private final Map<String, Integer> slowDates = new HashMap<>();
+
+        ChunkParser(MappedByteBuffer buf, long base) {
+            this.buf = buf;
+            this.base = base;
+        }
+
+        ChunkParser parse() {
+            int pos = 0;
+            int limit = buf.limit();
+            while (pos < limit) {
+                pos = readLine(pos, limit);
+            }
+            return this;
+        }
+
+        // Splits one line into scratch (unquoting as it goes) and appends it if it is well formed
+        private int readLine(int pos, int limit) {
+            int lineStart = pos;
+            int fields = 0;
+            int w = 0;
+            boolean quoted = false;
+            boolean atFieldStart = true; // a quote here opens a quoted field (the rule of next())
+            fieldStart[0] = 0;
+
+            while (true) {
+                if (pos >= limit) break;
+                byte b = buf.get(pos++);
+                if (quoted) {
+                    if (b == '"') {
+                        if (pos < limit && buf.get(pos) == '"') { w = put(w, b); pos++; }
+                        else quoted = false;
+                    } else {
+                        w = put(w, b);
+                    }
+                } else if (b == '"' && atFieldStart) {
+                    quoted = true;
+                    atFieldStart = false;
+                } else if (b == ',') {
+                    if (fields < MAX_FIELDS) fieldEnd[fields] = w;
+                    fields++;
+                    if (fields < MAX_FIELDS) fieldStart[fields] = w;
+                    atFieldStart = true;
+                } else if (b == '\n') {
+                    break;
+                } else {
+                    atFieldStart = false;
+                    if (b != '\r') w = put(w, b);
+                }
+            }
+            if (fields < MAX_FIELDS) fieldEnd[fields] = w;
+            fields++;
+
+            if (fields == 1 && w == 0) return pos; // blank line
+            try {
+                if (fields < 5) throw new IllegalArgumentException("Too few fields");
+                int date = parseDate(fieldStart[0], fieldEnd[0]);
+                int qty = parseInt(fieldStart[3], fieldEnd[3]);
+                long amount = parseAmount(fieldStart[4], fieldEnd[4]);
+                out.add(date, text(fieldStart[1], fieldEnd[1]), text(fieldStart[2], fieldEnd[2]), qty, amount);
+            } catch (IllegalArgumentException e) {
+                // Skip malformed lines instead of aborting the whole load, but keep count of them
+                rejected++;
+                if (kept < MAX_OFFSETS) {
+                    if (kept == rejectedOffsets.length) rejectedOffsets = Arrays.copyOf(rejectedOffsets, kept * 2);
+                    rejectedOffsets[kept++] = base + lineStart;
+                }
+            }
+            return pos;
+        }
+
+        private int put(int w, byte b) {
+            if (w == scratch.length) scratch = Arrays.copyOf(scratch, scratch.length * 2);
+            scratch[w] = b;
+            return w + 1;
+        }
+
+        private String text(int from, int to) {
+            int hash = 0x811C9DC5;
+            for (int i = from; i < to; i++) hash = (hash ^ scratch[i]) * 0x01000193;
+            int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+
+            byte[] key = cacheKeys[slot];
+            if (key != null && Arrays.equals(key, 0, key.length, scratch, from, to)) return cacheValues[slot];
+
+            String value = new String(scratch, from, to - from, StandardCharsets.UTF_8);
+            cacheKeys[slot] = Arrays.copyOfRange(scratch, from, to);
+            cacheValues[slot] = value;
+            return value;
+        }
+
+        private int parseDate(int from, int to) {
+            while (from < to && scratch[from] == ' ') from++;
+            while (to > from && scratch[to - 1] == ' ') to--;
+            int day = EpochDays.parseIso(scratch, from, to);
+            if (day != Integer.MIN_VALUE) return day;
+            return slowDates.computeIfAbsent(text(from, to), EpochDays::parse);
+        }
+
+        private int parseInt(int from, int to) {
+            while (from < to && scratch[from] == ' ') from++;
+            while (to > from && scratch[to - 1] == ' ') to--;
+            if (from == to) throw new NumberFormatException("Empty quantity");
+            boolean negative = scratch[from] == '-';
+            if (negative) from++;
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                int d = scratch[i] - '0';
+                if (d < 0 || d > 9 || value > Integer.MAX_VALUE) throw new NumberFormatException("Bad quantity");
+                value = value * 10 + d;
+            }
+            if (value > Integer.MAX_VALUE) throw new NumberFormatException("Quantity too large");
+            return (int) (negative ? -value : value);
+        }
+
+        // Accepts "12.50", " 12.50 " and "৳12.50"; minor units, no double on the way
+        private long parseAmount(int from, int to) {
+            long amount = Money.parse(scratch, from, to);
+            if (amount == Money.INVALID) throw new NumberFormatException("Bad amount");
+            return amount;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.tools;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Counts and latency histograms of named operations (engine.loadData, command.AddExpenseCommand.execute,
+// chart.PieChartStrategy, ...), cheap enough to leave on in production:
+//   long start = System.nanoTime(); ... ; metrics.operation("engine.saveData").recordSince(start);
+// Each operation can be watched as a platform MBean (org.example.budgetbee:type=Operation,name=...) and all of
+// them are appended to a JSON-lines file now and then. Both run on one daemon thread, so the JMX server is
+// only started once something asks for it and never slows down the engine's startup.
+public class OperationMetrics {
+    public static final String JMX_DOMAIN = "org.example.budgetbee";
+    private static final OperationMetrics GLOBAL = new OperationMetrics();
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reporter; // created on first use
+    private volatile MBeanServer jmx;          // set once exposeOverJmx has run
+    private volatile boolean dumpFailed;       // the first failed dump was reported, later ones are not
+
+    public static OperationMetrics global() {
+        return GLOBAL;
+    }
+
+    // The operation with this name, created on first use; callers on hot paths should keep it in a field
+    public Operation operation(String name) {
+        Operation op = operations.get(name);
+        if (op != null) return op;
+        op = operations.computeIfAbsent(name, Operation::new);
+        if (jmx != null) register(op);
+        return op;
+    }
+
+    // ==========================================
+    //              REPORTING
+    // ==========================================
+    // Registers every operation (now and later) with the platform MBean server, on the reporter thread
+    public synchronized void exposeOverJmx() {
+        reporter().execute(() -> {
+            jmx = ManagementFactory.getPlatformMBeanServer();
+            for (Operation op : operations.values()) register(op);
+        });
+    }
+
+    // Appends one JSON line with every operation to the file every period, and once more at shutdown
+    public synchronized void dumpEvery(Path file, long period, TimeUnit unit) {
+        reporter().scheduleAtFixedRate(() -> dump(file), period, period, unit);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(file), "budgetbee-metrics-dump"));
+    }
+
+    public void dump(Path file) {
+        try {
+            Files.write(file, (toJson() + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // Once: the dump is retried every period and would print the same failure each time
+            if (!dumpFailed) {
+                dumpFailed = true;
+                System.err.println("Cannot write metrics to " + file + ": " + e);
+            }
+        }
+    }
+
+    // {"time":"...","operations":{"engine.loadData":{"count":3,"meanMicros":...,"p50Micros":...},...}}
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"time\":\"").append(Instant.now()).append("\",\"operations\":{");
+        boolean first = true;
+        for (Operation op : new TreeMap<>(operations).values()) {
+            LatencyHistogram.Snapshot s = op.histogram.snapshot();
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(op.name).append("\":{\"count\":").append(s.count)
+                    .append(",\"meanMicros\":").append(micros(s.meanNanos()))
+                    .append(",\"p50Micros\":").append(micros(s.percentileNanos(0.50)))
+                    .append(",\"p99Micros\":").append(micros(s.percentileNanos(0.99)))
+                    .append(",\"maxMicros\":").append(micros(s.maxNanos)).append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000);
+    }
+
+    private synchronized ScheduledExecutorService reporter() {
+        if (reporter == null) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "budgetbee-metrics");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return reporter;
+    }
+
+    private void register(Operation op) {
+        try {
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Operation,name=" + ObjectName.quote(op.name));
+            if (!jmx.isRegistered(name)) jmx.registerMBean(op, name);
+        } catch (Exception e) {
+            // JMX is only a window on the numbers: an operation the server will not take (registered by the
+            // other thread in the meantime, refused by a security manager) is left out, nothing else changes
+        }
+    }
+
+    // ==========================================
+    //              OPERATIONS
+    // ==========================================
+    // What JConsole / VisualVM show for an operation; latencies in microseconds, since start or reset
+    public interface OperationMXBean {
+        long getCount();
+        double getMeanMicros();
+        double getP50Micros();
+        double getP99Micros();
+        double getMaxMicros();
+        void reset();
+    }
+
+    public static class Operation implements OperationMXBean {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public void record(long nanos) {
+            histogram.record(nanos);
+        }
+
+        // Records the time since a System.nanoTime() taken at the start of the operation
+        public void recordSince(long startNanos) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+
+        public LatencyHistogram.Snapshot snapshot() {
+            return histogram.snapshot();
+        }
+
+        @Override public long getCount() { return histogram.snapshot().count; }
+        @Override public double getMeanMicros() { return histogram.snapshot().meanNanos() / 1000; }
+        @Override public double getP50Micros() { return histogram.snapshot().percentileNanos(0.50) / 1000.0; }
+        @Override public double getP99Micros() { return histogram.snapshot().percentileNanos(0.99) / 1000.0; }
+        @Override public double getMaxMicros() { return histogram.snapshot().maxNanos / 1000.0; }
+        @Override public void reset() { histogram.reset(); }
+    }
+}
@@ -0,0 +1,578 @@
+package org.example.tools;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Compressed set of row numbers, Roaring style: rows are grouped by their high 16 bits, and each group
+// is either a sorted array (sparse, up to 4096 rows) or a 65536-bit bitmap (dense).
+// Row numbers are store positions, so inserts and removals in the middle shift the rows above them.
+public class RowBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int SPLIT_LIMIT = 8; // segment boundaries in one container above which it is rebuilt row by row
+
+    private int[] keys = new int[4];
+    private Container[] containers = new Container[4];
+    private int count;
+
+    // ==========================================
+    //                 UPDATES
+    // ==========================================
+    public void add(int row) {
+        int high = row >>> 16;
+        int i = find(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, high, new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) row);
+    }
+
+    public void remove(int row) {
+        int i = find(row >>> 16);
+        if (i < 0) return;
+        containers[i] = containers[i].remove((char) row);
+        if (containers[i].cardinality() == 0) removeContainers(i, i + 1);
+    }
+
+    public void clear() {
+        Arrays.fill(containers, 0, count, null);
+        count = 0;
+    }
+
+    // Moves the row numbers above an insert or removal in place. Containers that the shift moves as a
+    // whole are relocated in one step (a new key when the offset is a multiple of 65536, else a word or
+    // value shift split over two keys); a container that a few segment boundaries cut through is split
+    // into pieces that move the same way, and only one cut by many is rewritten row by row.
+    // Containers below the change are not touched, so appends at the end are free.
+    public void apply(Shift shift) {
+        if (shift.segments == 0 || count == 0 || lastRow() < shift.starts[0]) return;
+        int i = find(shift.starts[0] >>> 16);
+        int first = i < 0 ? -i - 1 : i;
+        int[] tailKeys = Arrays.copyOfRange(keys, first, count);
+        Container[] tail = Arrays.copyOfRange(containers, first, count);
+        removeContainers(first, count);
+        for (int t = 0; t < tail.length; t++) {
+            int base = tailKeys[t] << 16;
+            Container c = tail[t];
+            int lo = shift.segmentOf(base | c.min()), hi = shift.segmentOf(base | c.max());
+            if (lo == hi) {
+                int offset = shift.offset(lo);
+                if (offset != Shift.DROP) appendShifted(base + offset, c);
+            } else if (hi - lo <= SPLIT_LIMIT) {
+                // A few boundaries: cut the container into one piece per segment and move those
+                for (int segment = lo; segment <= hi; segment++) {
+                    int offset = shift.offset(segment);
+                    if (offset == Shift.DROP) continue;
+                    int from = segment < 0 ? 0 : Math.max(0, shift.starts[segment] - base);
+                    int to = segment + 1 < shift.segments ? Math.min(0x10000, shift.starts[segment + 1] - base) : 0x10000;
+                    Container piece = from < to ? c.range(from, to) : null;
+                    if (piece != null) appendShifted(base + offset, piece);
+                }
+            } else {
+                c.forEach(base, row -> {
+                    int offset = shift.offset(shift.segmentOf(row));
+                    if (offset != Shift.DROP) appendRow(row + offset);
+                });
+            }
+        }
+    }
+
+    // A container whose value 0 now stands for row 'base' (negative when a removal below moved it down)
+    private void appendShifted(int base, Container c) {
+        int high = base >> 16, low = base & 0xFFFF;
+        if (low == 0) {
+            appendContainer(high, c);
+            return;
+        }
+        Container[] halves = c.shift(low);
+        if (halves[0] != null) appendContainer(high, halves[0]);
+        if (halves[1] != null) appendContainer(high + 1, halves[1]);
+    }
+
+    // Appends at the top of the directory, merging with the last container when the keys meet
+    private void appendContainer(int high, Container c) {
+        if (count > 0 && keys[count - 1] == high) containers[count - 1] = containers[count - 1].or(c);
+        else append(high, c);
+    }
+
+    private void appendRow(int row) {
+        int high = row >>> 16;
+        if (count > 0 && keys[count - 1] == high) containers[count - 1] = containers[count - 1].add((char) row);
+        else append(high, new ArrayContainer().add((char) row));
+    }
+
+    private int lastRow() {
+        return keys[count - 1] << 16 | containers[count - 1].max();
+    }
+
+    // How a store change moves row numbers: rows from starts[k] up to the next start move by offsets[k],
+    // or leave the set where it is DROP; rows below starts[0] stay. One Shift serves every bitmap of an index.
+    public static final class Shift {
+        static final int DROP = Integer.MIN_VALUE;
+        final int[] starts, offsets;
+        final int segments;
+
+        private Shift(int[] starts, int[] offsets, int segments) {
+            this.starts = starts;
+            this.offsets = offsets;
+            this.segments = segments;
+        }
+
+        // n rows were inserted at firstRow: every row >= firstRow moves up by n
+        public static Shift inserted(int firstRow, int n) {
+            return new Shift(new int[]{firstRow}, new int[]{n}, 1);
+        }
+
+        // Rows firstRow .. firstRow + n - 1 were removed: they leave the set and the rows above move down
+        public static Shift deleted(int firstRow, int n) {
+            return new Shift(new int[]{firstRow, firstRow + n}, new int[]{DROP, -n}, 2);
+        }
+
+        // Rows were inserted so that they now sit at the given positions (ascending): every row moves up
+        // by the number of inserted positions at or below where it ends up
+        public static Shift inserted(int[] positions) {
+            int[] starts = new int[positions.length], offsets = new int[positions.length];
+            int n = 0;
+            for (int k = 0; k < positions.length; k++) n = segment(starts, offsets, n, positions[k] - k, k + 1);
+            return new Shift(starts, offsets, n);
+        }
+
+        // The given rows (ascending) were removed: they leave the set and each row above moves down by the
+        // number of removed rows below it
+        public static Shift deleted(int[] removed) {
+            int[] starts = new int[2 * removed.length], offsets = new int[2 * removed.length];
+            int n = 0;
+            for (int k = 0; k < removed.length; k++) {
+                n = segment(starts, offsets, n, removed[k], DROP);
+                n = segment(starts, offsets, n, removed[k] + 1, -(k + 1));
+            }
+            return new Shift(starts, offsets, n);
+        }
+
+        // A segment that starts where the previous one did replaces it (the previous one was empty)
+        private static int segment(int[] starts, int[] offsets, int n, int start, int offset) {
+            if (n > 0 && starts[n - 1] == start) n--;
+            starts[n] = start;
+            offsets[n] = offset;
+            return n + 1;
+        }
+
+        // The last segment starting at or below the row, or -1
+        int segmentOf(int row) {
+            int lo = 0, hi = segments;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= row) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo - 1;
+        }
+
+        int offset(int segment) {
+            return segment < 0 ? 0 : offsets[segment];
+        }
+    }
+
+    // ==========================================
+    //                  READS
+    // ==========================================
+    public boolean contains(int row) {
+        int i = find(row >>> 16);
+        return i >= 0 && containers[i].contains((char) row);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < count; i++) total += containers[i].cardinality();
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // The largest row <= the given one, or -1: walks the set top-down, like BitSet.previousSetBit
+    public int previous(int row) {
+        if (row < 0 || count == 0) return -1;
+        int i = find(row >>> 16);
+        if (i >= 0) {
+            int v = containers[i].previous((char) row);
+            if (v >= 0) return keys[i] << 16 | v;
+            i--;
+        } else {
+            i = -i - 2;
+        }
+        return i >= 0 ? keys[i] << 16 | containers[i].max() : -1;
+    }
+
+    // Visits the rows in ascending order
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < count; i++) containers[i].forEach(keys[i] << 16, action);
+    }
+
+    public int[] toArray() {
+        int[] rows = new int[cardinality()];
+        int[] n = {0};
+        forEach(row -> rows[n[0]++] = row);
+        return rows;
+    }
+
+    public RowBitmap copy() {
+        RowBitmap copy = new RowBitmap();
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.containers = new Container[containers.length];
+        for (int i = 0; i < count; i++) copy.containers[i] = containers[i].copy();
+        copy.count = count;
+        return copy;
+    }
+
+    // ==========================================
+    //              SET OPERATIONS
+    // ==========================================
+    public static RowBitmap or(RowBitmap a, RowBitmap b) {
+        RowBitmap result = new RowBitmap();
+        int i = 0, j = 0;
+        while (i < a.count || j < b.count) {
+            if (j >= b.count || (i < a.count && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i++].copy());
+            } else if (i >= a.count || b.keys[j] < a.keys[i]) {
+                result.append(b.keys[j], b.containers[j++].copy());
+            } else {
+                result.append(a.keys[i], a.containers[i++].or(b.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    public static RowBitmap and(RowBitmap a, RowBitmap b) {
+        RowBitmap result = new RowBitmap();
+        int i = 0, j = 0;
+        while (i < a.count && j < b.count) {
+            if (a.keys[i] < b.keys[j]) i++;
+            else if (b.keys[j] < a.keys[i]) j++;
+            else {
+                Container c = a.containers[i++].and(b.containers[j++]);
+                if (c.cardinality() > 0) result.append(a.keys[i - 1], c);
+            }
+        }
+        return result;
+    }
+
+    // ==========================================
+    //           CONTAINER DIRECTORY
+    // ==========================================
+    private int find(int high) {
+        return Arrays.binarySearch(keys, 0, count, high);
+    }
+
+    private void append(int high, Container c) {
+        insertContainer(count, high, c);
+    }
+
+    private void insertContainer(int i, int high, Container c) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            containers = Arrays.copyOf(containers, count * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, count - i);
+        System.arraycopy(containers, i, containers, i + 1, count - i);
+        keys[i] = high;
+        containers[i] = c;
+        count++;
+    }
+
+    private void removeContainers(int from, int to) {
+        if (from >= to) return;
+        System.arraycopy(keys, to, keys, from, count - to);
+        System.arraycopy(containers, to, containers, from, count - to);
+        Arrays.fill(containers, count - (to - from), count, null);
+        count -= to - from;
+    }
+
+    // ==========================================
+    //               CONTAINERS
+    // ==========================================
+    private abstract static class Container {
+        abstract Container add(char v);
+        abstract Container remove(char v);
+        abstract boolean contains(char v);
+        abstract int cardinality();
+        abstract int min();
+        abstract int max();
+        abstract int previous(char v); // largest value <= v, or -1
+        abstract void forEach(int base, IntConsumer action);
+        abstract Container[] shift(int by); // values + by below 65536, and the rest - 65536 (null if empty)
+        abstract Container range(int from, int to); // a copy of the values in [from, to), or null if none
+        abstract Container copy();
+
+        // Copies the larger side and adds the smaller one's values
+        Container or(Container other) {
+            if (other.cardinality() > cardinality()) return other.or(this);
+            Container result = copy();
+            Container[] r = {result};
+            other.forEach(0, v -> r[0] = r[0].add((char) v));
+            return r[0];
+        }
+
+        Container and(Container other) {
+            Container small = cardinality() <= other.cardinality() ? this : other;
+            Container large = small == this ? other : this;
+            Container[] r = {new ArrayContainer()};
+            small.forEach(0, v -> {
+                if (large.contains((char) v)) r[0] = r[0].add((char) v);
+            });
+            return r[0];
+        }
+    }
+
+    // Sparse: sorted values
+    private static class ArrayContainer extends Container {
+        char[] values = new char[4];
+        int size;
+
+        @Override
+        Container add(char v) {
+            int i;
+            if (size == 0 || v > values[size - 1]) i = size; // appends are the common case
+            else {
+                i = Arrays.binarySearch(values, 0, size, v);
+                if (i >= 0) return this;
+                i = -i - 1;
+            }
+            if (size == ARRAY_LIMIT) {
+                Container dense = new BitmapContainer(this);
+                return dense.add(v);
+            }
+            if (size == values.length) values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, size * 2));
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = v;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char v) {
+            int i = Arrays.binarySearch(values, 0, size, v);
+            if (i < 0) return this;
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            return this;
+        }
+
+        @Override
+        boolean contains(char v) {
+            return Arrays.binarySearch(values, 0, size, v) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        int min() {
+            return values[0];
+        }
+
+        @Override
+        int max() {
+            return values[size - 1];
+        }
+
+        @Override
+        int previous(char v) {
+            int i = Arrays.binarySearch(values, 0, size, v);
+            if (i >= 0) return v;
+            i = -i - 1;
+            return i > 0 ? values[i - 1] : -1;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < size; i++) action.accept(base | values[i]);
+        }
+
+        @Override
+        Container[] shift(int by) {
+            int split = Arrays.binarySearch(values, 0, size, (char) (0x10000 - by));
+            if (split < 0) split = -split - 1;
+            return new Container[]{slice(0, split, by), slice(split, size, by - 0x10000)};
+        }
+
+        @Override
+        Container range(int from, int to) {
+            return slice(lowerBound(from), lowerBound(to), 0);
+        }
+
+        private int lowerBound(int v) {
+            if (v > Character.MAX_VALUE) return size;
+            int i = Arrays.binarySearch(values, 0, size, (char) v);
+            return i < 0 ? -i - 1 : i;
+        }
+
+        private ArrayContainer slice(int from, int to, int by) {
+            if (from == to) return null;
+            ArrayContainer c = new ArrayContainer();
+            c.values = new char[Math.max(4, to - from)];
+            for (int i = from; i < to; i++) c.values[c.size++] = (char) (values[i] + by);
+            return c;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer c = new ArrayContainer();
+            c.values = Arrays.copyOf(values, Math.max(4, size));
+            c.size = size;
+            return c;
+        }
+    }
+
+    // Dense: one bit per value
+    private static class BitmapContainer extends Container {
+        final long[] words = new long[1024];
+        int cardinality;
+
+        BitmapContainer() {
+        }
+
+        BitmapContainer(ArrayContainer from) {
+            for (int i = 0; i < from.size; i++) words[from.values[i] >>> 6] |= 1L << from.values[i];
+            cardinality = from.size;
+        }
+
+        @Override
+        Container add(char v) {
+            long before = words[v >>> 6];
+            words[v >>> 6] = before | (1L << v);
+            if (before != words[v >>> 6]) cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char v) {
+            long before = words[v >>> 6];
+            words[v >>> 6] = before & ~(1L << v);
+            if (before != words[v >>> 6]) cardinality--;
+            return cardinality < ARRAY_LIMIT / 2 ? toArray() : this;
+        }
+
+        @Override
+        boolean contains(char v) {
+            return (words[v >>> 6] & (1L << v)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int min() {
+            int w = 0;
+            while (words[w] == 0) w++;
+            return (w << 6) | Long.numberOfTrailingZeros(words[w]);
+        }
+
+        @Override
+        int max() {
+            int w = words.length - 1;
+            while (words[w] == 0) w--;
+            return (w << 6) | (63 - Long.numberOfLeadingZeros(words[w]));
+        }
+
+        @Override
+        int previous(char v) {
+            int w = v >>> 6;
+            long word = words[w] & (-1L >>> (63 - (v & 63)));
+            while (word == 0) {
+                if (--w < 0) return -1;
+                word = words[w];
+            }
+            return (w << 6) | (63 - Long.numberOfLeadingZeros(word));
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        // A word shift into twice the words, then each half becomes the container its cardinality calls for
+        @Override
+        Container[] shift(int by) {
+            long[] shifted = new long[2 * words.length];
+            int wordShift = by >>> 6, bitShift = by & 63;
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                if (word == 0) continue;
+                shifted[w + wordShift] |= word << bitShift;
+                if (bitShift != 0) shifted[w + wordShift + 1] |= word >>> (64 - bitShift);
+            }
+            return new Container[]{of(shifted, 0), of(shifted, words.length)};
+        }
+
+        @Override
+        Container range(int from, int to) {
+            long[] kept = words.clone();
+            Arrays.fill(kept, 0, from >>> 6, 0);
+            kept[from >>> 6] &= -1L << from;
+            if (to < 0x10000) {
+                kept[to >>> 6] &= (1L << to) - 1;
+                Arrays.fill(kept, (to >>> 6) + 1, kept.length, 0);
+            }
+            return of(kept, 0);
+        }
+
+        private static Container of(long[] words, int from) {
+            BitmapContainer c = new BitmapContainer();
+            System.arraycopy(words, from, c.words, 0, c.words.length);
+            for (long word : c.words) c.cardinality += Long.bitCount(word);
+            if (c.cardinality == 0) return null;
+            return c.cardinality <= ARRAY_LIMIT ? c.toArray() : c;
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer c = new BitmapContainer();
+            System.arraycopy(words, 0, c.words, 0, words.length);
+            c.cardinality = cardinality;
+            return c;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (!(other instanceof BitmapContainer)) return super.or(other);
+            BitmapContainer c = new BitmapContainer();
+            long[] o = ((BitmapContainer) other).words;
+            for (int w = 0; w < words.length; w++) {
+                c.words[w] = words[w] | o[w];
+                c.cardinality += Long.bitCount(c.words[w]);
+            }
+            return c;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (!(other instanceof BitmapContainer)) return super.and(other);
+            BitmapContainer c = new BitmapContainer();
+            long[] o = ((BitmapContainer) other).words;
+            for (int w = 0; w < words.length; w++) {
+                c.words[w] = words[w] & o[w];
+                c.cardinality += Long.bitCount(c.words[w]);
+            }
+            return c.cardinality < ARRAY_LIMIT / 2 ? c.toArray() : c;
+        }
+
+        private Container toArray() {
+            ArrayContainer a = new ArrayContainer();
+            a.values = new char[Math.max(4, cardinality)];
+            forEach(0, v -> a.values[a.size++] = (char) v);
+            return a;
+        }
+    }
+}
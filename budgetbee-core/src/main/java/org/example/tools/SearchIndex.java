@@ -0,0 +1,259 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.example.model.StringDictionary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Full-text search over expense descriptions.
+// Works on distinct descriptions (dictionary ids), which are far fewer than rows:
+//   1-, 2- and 3-gram -> sorted description ids   finds candidates for any query
+//   description id -> RowBitmap of rows   turns matching descriptions into rows
+// Row shifts (inserts and removals in the middle) are queued rather than applied to every description's
+// bitmap; a bitmap catches up when its description is next changed or searched, and the queue is drained
+// once it is full, so a shift costs O(1) plus O(descriptions / MAX_PENDING) amortized.
+// Updated on the EDT through the facade's store listener and queried from a background thread,
+// so the updates are synchronized. A query takes the lock twice, briefly: once to look up its
+// candidates, and once to count their rows and walk them top-down until the limit is reached.
+// Matching the candidates' text, the bulk of the work, happens in between without it.
+public class SearchIndex {
+
+    // Matches of one query. Rows are store positions as of version(); descriptions stay valid.
+    public static class Result {
+        public final String query;
+        public final BitSet descriptionIds;
+        public final int[] rankedRows;   // best first, at most the requested limit
+        public final int matchingRows;
+        public final long version;
+
+        Result(String query, BitSet descriptionIds, int[] rankedRows, int matchingRows, long version) {
+            this.query = query;
+            this.descriptionIds = descriptionIds;
+            this.rankedRows = rankedRows;
+            this.matchingRows = matchingRows;
+            this.version = version;
+        }
+
+        public boolean matches(int descriptionId) {
+            return descriptionIds.get(descriptionId);
+        }
+    }
+
+    private final List<String> texts = new ArrayList<>();        // lower-cased, by description id
+    private static final int MAX_PENDING = 256;
+
+    private final List<RowBitmap> rows = new ArrayList<>();       // by description id, up to date through rowsOf
+    private int[] shiftedTo = new int[16];                        // by description id: pending shifts its rows have had
+    private final List<RowBitmap.Shift> pending = new ArrayList<>();
+    private int pendingFloor = Integer.MAX_VALUE;                 // lowest row any pending shift moves
+    private final Map<Long, Postings> grams = new HashMap<>();
+    private long version;
+
+    // ==========================================
+    //        UPDATES (EDT, via the listener)
+    // ==========================================
+    public synchronized void recompute(ExpenseStore store) {
+        for (RowBitmap r : rows) r.clear();
+        clearPending();
+        StringDictionary descriptions = store.descriptions();
+        for (int id = 0; id < descriptions.size(); id++) index(id, descriptions.get(id));
+        ExpenseStore.Columns c = store.columns();
+        for (int i = 0; i < c.size; i++) rows.get(c.descriptionIds[i]).add(i);
+        version++;
+    }
+
+    public synchronized void add(int row, int descriptionId, String description) {
+        index(descriptionId, description);
+        rowsOf(descriptionId).add(row);
+        version++;
+    }
+
+    public synchronized void remove(int row, int descriptionId) {
+        rowsOf(descriptionId).remove(row);
+        version++;
+    }
+
+    public synchronized void shift(RowBitmap.Shift shift) {
+        if (shift.segments == 0) return;
+        if (pending.size() == MAX_PENDING) {
+            for (int id = 0; id < rows.size(); id++) rowsOf(id);
+            clearPending();
+        }
+        pending.add(shift);
+        pendingFloor = Math.min(pendingFloor, shift.starts[0]);
+        version++;
+    }
+
+    // A description's rows with the pending shifts applied. Rows that all sit below every pending shift
+    // did not move, which is the common case for older descriptions.
+    private RowBitmap rowsOf(int descriptionId) {
+        RowBitmap r = rows.get(descriptionId);
+        if (shiftedTo[descriptionId] < pending.size() && r.previous(Integer.MAX_VALUE) >= pendingFloor) {
+            for (int k = shiftedTo[descriptionId]; k < pending.size(); k++) r.apply(pending.get(k));
+        }
+        shiftedTo[descriptionId] = pending.size();
+        return r;
+    }
+
+    private void clearPending() {
+        pending.clear();
+        pendingFloor = Integer.MAX_VALUE;
+        Arrays.fill(shiftedTo, 0);
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    // Registers a description's trigrams the first time its id is seen
+    private void index(int descriptionId, String description) {
+        if (descriptionId >= shiftedTo.length) shiftedTo = Arrays.copyOf(shiftedTo, Math.max(descriptionId + 1, 2 * shiftedTo.length));
+        while (texts.size() <= descriptionId) {
+            shiftedTo[texts.size()] = pending.size(); // a new bitmap has no rows to move
+            texts.add(null);
+            rows.add(new RowBitmap());
+        }
+        if (texts.get(descriptionId) != null) return;
+        String text = description.toLowerCase(Locale.ROOT);
+        texts.set(descriptionId, text);
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 0; i + length <= text.length(); i++) {
+                grams.computeIfAbsent(gram(text, i, length), k -> new Postings()).add(descriptionId);
+            }
+        }
+    }
+
+    // ==========================================
+    //           QUERY (any thread)
+    // ==========================================
+    // Case-insensitive substring match. Ranking: exact description, then prefix, then word start,
+    // then anywhere; within a rank, newer (higher) rows first.
+    public Result search(String query, int limit) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        BitSet matches = new BitSet();
+        if (q.isEmpty()) return new Result(query, matches, new int[0], 0, version());
+
+        // 1. Candidates from the postings (texts never change once an id has one)
+        int[] ids;
+        String[] candidateTexts;
+        synchronized (this) {
+            ids = candidates(q);
+            candidateTexts = new String[ids.length];
+            for (int i = 0; i < ids.length; i++) candidateTexts[i] = texts.get(ids[i]);
+        }
+
+        // 2. Which candidates really contain the query, and how well: no lock held
+        int[][] byRank = new int[4][ids.length];
+        int[] rankSizes = new int[4];
+        for (int i = 0; i < ids.length; i++) {
+            String text = candidateTexts[i];
+            int at = text == null ? -1 : text.indexOf(q);
+            if (at < 0) continue;
+            int rank = text.length() == q.length() ? 0 : at == 0 ? 1 : !Character.isLetterOrDigit(text.charAt(at - 1)) ? 2 : 3;
+            byRank[rank][rankSizes[rank]++] = ids[i];
+        }
+
+        // 3. Rows: counted per description, then each tier's bitmaps are merged top-down up to the limit
+        synchronized (this) {
+            int matchingRows = 0;
+            for (int rank = 0; rank < 4; rank++) {
+                for (int i = 0; i < rankSizes[rank]; i++) {
+                    int id = byRank[rank][i];
+                    int n = rowsOf(id).cardinality();
+                    if (n == 0) continue;
+                    matches.set(id);
+                    matchingRows += n;
+                }
+            }
+            int[] ranked = new int[Math.min(limit, matchingRows)];
+            int n = 0;
+            for (int rank = 0; rank < 4 && n < ranked.length; rank++) n = newestRows(byRank[rank], rankSizes[rank], ranked, n);
+            return new Result(query, matches, ranked, matchingRows, version);
+        }
+    }
+
+    // Appends the tier's rows to out, highest first, until out is full: a max-heap holds the next row of
+    // each description, so the cost is O(out.length * log(descriptions)) whatever the rows behind them
+    private int newestRows(int[] ids, int size, int[] out, int n) {
+        long[] heap = new long[size]; // row << 32 | index into ids
+        int heapSize = 0;
+        for (int i = 0; i < size; i++) {
+            int row = rowsOf(ids[i]).previous(Integer.MAX_VALUE);
+            if (row >= 0) heap[heapSize++] = (long) row << 32 | i;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) siftDown(heap, heapSize, i);
+        while (heapSize > 0 && n < out.length) {
+            long top = heap[0];
+            int row = (int) (top >>> 32);
+            out[n++] = row;
+            int next = rows.get(ids[(int) top]).previous(row - 1);
+            if (next >= 0) heap[0] = (long) next << 32 | (int) top;
+            else heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, 0);
+        }
+        return n;
+    }
+
+    private static void siftDown(long[] heap, int size, int i) {
+        long value = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (heap[child] <= value) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    // Description ids that contain every trigram of the query (the query itself if it is shorter)
+    private int[] candidates(String q) {
+        int length = Math.min(3, q.length());
+        Postings[] lists = new Postings[q.length() - length + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = grams.get(gram(q, i, length));
+            if (lists[i] == null) return new int[0];
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int l = 1; l < lists.length && size > 0; l++) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (Arrays.binarySearch(lists[l].ids, 0, lists[l].size, result[i]) >= 0) result[kept++] = result[i];
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Up to three chars packed into 48 bits, tagged with the length so "ab" and "\0ab" differ
+    private static long gram(String s, int i, int length) {
+        long key = length;
+        for (int k = 0; k < length; k++) key = (key << 16) | s.charAt(i + k);
+        return key;
+    }
+
+    // Sorted, growable id list
+    private static class Postings {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int id) {
+            // Ids nearly always arrive in order; a batch with new descriptions can deliver them out of order
+            int at = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) at = -at - 1;
+            else if (at < size) return; // the same trigram twice in one description
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+// Reads many statement CSVs (one per account per month, say) into one batch. Files are parsed concurrently
+// on a pool bounded by the core count; a big file is also cut into chunks by MappedCsvParser on the same
+// pool. The rows of all files are merged into date order (stable: same-day rows keep file order, then line
+// order), and a file that fails is reported in the result without stopping the others.
+// Thread-safe and ledger-free: BudgetEngine.importStatements applies the batch as one undoable step.
+public class StatementImporter {
+    private final int parallelism;
+
+    public StatementImporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StatementImporter(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public static class Result {
+        public final ExpenseStore batch;          // every imported row, by date
+        public final ExpenseStore duplicates;     // rows left out because the ledger already had them, by date
+        public final List<Path> imported;         // files that were read
+        public final Map<Path, Exception> errors; // files that were not, in the order they were given
+        public final Map<Path, MappedCsvParser.Result> rejects; // read files with lines that were skipped, in order
+
+        Result(ExpenseStore batch, ExpenseStore duplicates, List<Path> imported, Map<Path, Exception> errors,
+               Map<Path, MappedCsvParser.Result> rejects) {
+            this.batch = batch;
+            this.duplicates = duplicates;
+            this.imported = Collections.unmodifiableList(imported);
+            this.errors = Collections.unmodifiableMap(errors);
+            this.rejects = Collections.unmodifiableMap(rejects);
+        }
+
+        // The same import without the rows the index already holds (they move to duplicates)
+        public Result withoutDuplicates(DuplicateIndex index) {
+            DuplicateIndex.Split split = index.split(batch);
+            if (split.duplicates.size() == 0) return this;
+            ExpenseStore skipped = new ExpenseStore();
+            skipped.appendAll(duplicates);
+            skipped.appendAll(split.duplicates);
+            return new Result(split.fresh, skipped, imported, errors, rejects);
+        }
+    }
+
+    // Files (and *.csv files directly in the given directories, by name) read in parallel and merged by date
+    public Result read(Collection<File> sources) {
+        Map<Path, Exception> errors = new LinkedHashMap<>();
+        Map<Path, MappedCsvParser.Result> rejects = new LinkedHashMap<>();
+        List<Path> files = expand(sources, errors);
+        List<ExpenseStore> stores = new ArrayList<>(files.size());
+        List<Path> imported = new ArrayList<>(files.size());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            MappedCsvParser parser = new MappedCsvParser(pool);
+            List<ForkJoinTask<Statement>> parsed = new ArrayList<>(files.size());
+            for (Path file : files) parsed.add(pool.submit(() -> parse(parser, file)));
+
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    Statement statement = parsed.get(i).get();
+                    stores.add(statement.rows);
+                    imported.add(files.get(i));
+                    if (statement.read.hasRejects()) rejects.put(files.get(i), statement.read);
+                } catch (ExecutionException e) {
+                    errors.put(files.get(i), rootCause(e));
+                } catch (InterruptedException e) {
+                    // Give up on the files not read yet, keep the ones that were
+                    Thread.currentThread().interrupt();
+                    for (int j = i; j < files.size(); j++) errors.put(files.get(j), new InterruptedIOException("Import interrupted"));
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(merge(stores), new ExpenseStore(), imported, errors, rejects);
+    }
+
+    private static List<Path> expand(Collection<File> sources, Map<Path, Exception> errors) {
+        List<Path> files = new ArrayList<>();
+        for (File source : sources) {
+            if (!source.isDirectory()) {
+                files.add(source.toPath());
+                continue;
+            }
+            try (Stream<Path> children = Files.list(source.toPath())) {
+                children.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().toLowerCase().endsWith(".csv"))
+                        .sorted().forEach(files::add);
+            } catch (IOException e) {
+                errors.put(source.toPath(), e);
+            }
+        }
+        return files;
+    }
+
+    // The pool wraps checked exceptions in RuntimeExceptions (once per hop): report what actually failed
+    private static Exception rootCause(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause != null && cause.getClass() == RuntimeException.class && cause.getCause() != null) cause = cause.getCause();
+        return cause instanceof Exception ? (Exception) cause : e;
+    }
+
+    // One file's rows, and the lines of it that were skipped
+    private static class Statement {
+        final ExpenseStore rows = new ExpenseStore();
+        MappedCsvParser.Result read;
+    }
+
+    private static Statement parse(MappedCsvParser parser, Path file) throws IOException {
+        LedgerEvents.Load event = new LedgerEvents.Load();
+        event.begin();
+        Statement statement = new Statement();
+        statement.read = parser.parse(file, (chunk, done, size) -> statement.rows.appendAll(chunk), () -> false);
+        event.commit(file, "import", statement.rows.size());
+        return statement;
+    }
+
+    // ==========================================
+    //                 MERGE
+    // ==========================================
+    // One sort of (date, row) keys over all rows: the row number breaks ties, which keeps file and line order
+    static ExpenseStore merge(List<ExpenseStore> stores) {
+        ExpenseStore all = new ExpenseStore();
+        for (ExpenseStore store : stores) all.appendAll(store);
+        int n = all.size();
+        ExpenseStore.Columns c = all.columns();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) keys[i] = ((long) c.dates[i] << 32) | i;
+        Arrays.parallelSort(keys);
+
+        int[] dates = new int[n], descriptionIds = new int[n], categoryIds = new int[n], quantities = new int[n];
+        long[] amounts = new long[n];
+        for (int i = 0; i < n; i++) {
+            int row = (int) keys[i];
+            dates[i] = c.dates[row];
+            descriptionIds[i] = c.descriptionIds[row];
+            categoryIds[i] = c.categoryIds[row];
+            quantities[i] = c.quantities[row];
+            amounts[i] = c.amounts[row];
+        }
+        return new ExpenseStore(new ExpenseStore.Columns(n, dates, descriptionIds, categoryIds, quantities, amounts),
+                all.descriptions().toArray(), all.categories().toArray());
+    }
+}
@@ -1,11 +1,13 @@
 package org.example.tools;
 
+import org.example.model.Expense;
+
 // THE MEMENTO: Stores the internal state of an object (a table row)
 public class TableMemento {
     private final int rowIndex;
-    private final Object[] rowData;
+    private final Expense rowData;
 
-    public TableMemento(int rowIndex, Object[] rowData) {
+    public TableMemento(int rowIndex, Expense rowData) {
         this.rowIndex = rowIndex;
         this.rowData = rowData;
     }
@@ -14,7 +16,7 @@ public class TableMemento {
         return rowIndex;
     }
 
-    public Object[] getRowData() {
+    public Expense getRowData() {
         return rowData;
     }
 }
@@ -0,0 +1,67 @@
+package org.example.tools;
+
+import java.util.Arrays;
+
+// Spending per day over a date range (money minor units), ready for a line chart.
+// Sparse: only days with spending, plus a zero on each side of a gap so a line drops to zero there.
+public final class TimeSeries {
+    public static final TimeSeries EMPTY = new TimeSeries(new int[0], new long[0]);
+
+    public final int[] days;        // epoch days, ascending
+    public final long[] daily;      // spent that day
+    public final long[] cumulative; // spent from the start of the series through that day
+
+    public TimeSeries(int[] days, long[] daily) {
+        this.days = days;
+        this.daily = daily;
+        this.cumulative = new long[daily.length];
+        long running = 0;
+        for (int i = 0; i < daily.length; i++) cumulative[i] = running += daily[i];
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TimeSeries)) return false;
+        TimeSeries other = (TimeSeries) o;
+        return Arrays.equals(days, other.days) && Arrays.equals(daily, other.daily);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(days) + Arrays.hashCode(daily);
+    }
+
+    // Appends days in ascending order and fills in the zeros around gaps
+    static class Builder {
+        private int[] days = new int[64];
+        private long[] daily = new long[64];
+        private int size;
+
+        void add(int day, long value) {
+            if (size > 0) {
+                int previous = days[size - 1];
+                if (day > previous + 1) append(previous + 1, 0);
+                if (day > previous + 2) append(day - 1, 0);
+            }
+            append(day, value);
+        }
+
+        private void append(int day, long value) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                daily = Arrays.copyOf(daily, size * 2);
+            }
+            days[size] = day;
+            daily[size++] = value;
+        }
+
+        TimeSeries build() {
+            return size == 0 ? EMPTY : new TimeSeries(Arrays.copyOf(days, size), Arrays.copyOf(daily, size));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.model;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EpochDaysTest {
+
+    private static int parseIso(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return EpochDays.parseIso(bytes, 0, bytes.length);
+    }
+
+    @Test
+    public void testParseForms() {
+        assertEquals(0, EpochDays.parse("1970-01-01"));
+        assertEquals(EpochDays.of(LocalDate.of(2024, 7, 25)), EpochDays.parse("2024-07-25"));
+        assertEquals(EpochDays.of(LocalDate.of(2024, 7, 25)), EpochDays.parse(" Jul 25, 2024 "));
+        assertThrows(IllegalArgumentException.class, () -> EpochDays.parse("25/07/2024"));
+        assertThrows(IllegalArgumentException.class, () -> EpochDays.parse("2023-02-29"));
+    }
+
+    @Test
+    public void testYearlessDateIsTheLatestOneNotInTheFuture() {
+        LocalDate today = LocalDate.now();
+        LocalDate parsed = EpochDays.toLocalDate(EpochDays.parse(EpochDays.format(EpochDays.today()).substring(0, 6)));
+        assertEquals(today, parsed, "Today's month and day is today");
+        LocalDate tomorrow = today.plusDays(1);
+        String text = EpochDays.format(EpochDays.of(tomorrow)).substring(0, 6);
+        if (tomorrow.getMonthValue() != 2 || tomorrow.getDayOfMonth() != 29) {
+            assertEquals(tomorrow.minusYears(1), EpochDays.toLocalDate(EpochDays.parse(text)), "Tomorrow's is last year's");
+        }
+    }
+
+    @Test
+    public void testParseIsoMatchesLocalDate() {
+        LocalDate from = LocalDate.of(1899, 12, 1), to = LocalDate.of(2101, 3, 1);
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+            assertEquals(EpochDays.of(d), parseIso(d.toString()), d.toString());
+        }
+    }
+
+    @Test
+    public void testParseIsoLeapYears() {
+        assertEquals(EpochDays.of(LocalDate.of(2024, 2, 29)), parseIso("2024-02-29"));
+        assertEquals(EpochDays.of(LocalDate.of(2000, 2, 29)), parseIso("2000-02-29"), "Divisible by 400: leap");
+        assertEquals(Integer.MIN_VALUE, parseIso("1900-02-29"), "Divisible by 100 only: not leap");
+        assertEquals(Integer.MIN_VALUE, parseIso("2023-02-29"));
+        assertEquals(EpochDays.of(LocalDate.of(1968, 2, 29)), parseIso("1968-02-29"));
+    }
+
+    @Test
+    public void testParseIsoRejects() {
+        for (String bad : new String[]{"2024-13-01", "2024-00-10", "2024-04-31", "2024-01-00", "2024-1-05",
+                "2024/01/05", "20240105xx", "2024-01-0a", "Jul 25, 24"}) {
+            assertEquals(Integer.MIN_VALUE, parseIso(bad), bad);
+        }
+    }
+
+    @Test
+    public void testPre1970DatesAreNegative() {
+        assertEquals(-1, parseIso("1969-12-31"));
+        assertEquals(-365, parseIso("1969-01-01"));
+        assertEquals("1969-12-31", EpochDays.iso(-1));
+        assertEquals("Dec 31, 1969", EpochDays.format(-1));
+        assertEquals(EpochDays.of(LocalDate.of(1900, 1, 1)), EpochDays.parse("1900-01-01"));
+    }
+
+    @Test
+    public void testMonthIndexAndDayOfMonth() {
+        LocalDate from = LocalDate.of(1600, 1, 1), to = LocalDate.of(2400, 1, 1);
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+            int day = EpochDays.of(d);
+            int month = d.getYear() * 12 + d.getMonthValue() - 1;
+            assertEquals(month, EpochDays.monthIndex(day), d.toString());
+            assertEquals(d.getDayOfMonth(), EpochDays.dayOfMonth(day), d.toString());
+            if (d.getDayOfMonth() == 1) assertEquals(day, EpochDays.firstDayOfMonth(month), d.toString());
+        }
+    }
+
+    @Test
+    public void testFormatAndIso() {
+        int day = EpochDays.of(LocalDate.of(2024, 2, 29));
+        assertEquals("Feb 29, 2024", EpochDays.format(day));
+        assertEquals("2024-02-29", EpochDays.iso(day));
+        assertEquals(day, EpochDays.parse(EpochDays.format(day)));
+    }
+
+    @Test
+    public void testDatesOutsideTheSupportedYearsAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> EpochDays.of(LocalDate.MAX), "Its epoch day does not fit an int");
+        assertThrows(IllegalArgumentException.class, () -> EpochDays.of(LocalDate.of(EpochDays.MIN_YEAR - 1, 12, 31)));
+        LocalDate last = LocalDate.of(EpochDays.MAX_YEAR, 12, 31);
+        assertEquals(last, EpochDays.toLocalDate(EpochDays.of(last)));
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpenseStoreTest {
+
+    // Records every event, to check that a refused write fires none
+    private static class Events implements ExpenseStore.Listener {
+        final List<String> seen = new ArrayList<>();
+
+        @Override public void rowsInserted(ExpenseStore store, int firstRow, int lastRow) { seen.add("inserted " + firstRow); }
+        @Override public void rowsRemoved(ExpenseStore store, int firstRow, int lastRow) { seen.add("removed " + firstRow); }
+        @Override public void rowUpdated(ExpenseStore store, int row, int column) { seen.add("updated " + row); }
+    }
+
+    @Test
+    public void testTotalsThatDoNotFitALongAreRefusedOnWrite() {
+        ExpenseStore store = new ExpenseStore();
+        Events events = new Events();
+        store.addListener(events);
+        store.add(100, "Big", "Bills", 2, Long.MAX_VALUE / 2);
+        assertEquals(Long.MAX_VALUE - 1, store.getTotal(0), "The largest totals still fit");
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(100, "Huge", "Bills", 3, Long.MAX_VALUE / 2));
+        assertThrows(IllegalArgumentException.class, () -> store.add(100, "Huge", "Bills", -1, Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> store.set(0, ExpenseStore.QUANTITY, 3));
+        assertThrows(IllegalArgumentException.class, () -> store.set(0, ExpenseStore.AMOUNT, Long.MAX_VALUE));
+        assertEquals(1, store.size());
+        assertEquals(Long.MAX_VALUE - 1, store.getTotal(0), "A refused edit leaves the row as it was");
+        assertEquals(List.of("inserted 0"), events.seen, "Refused writes fire no events");
+
+        store.set(0, ExpenseStore.QUANTITY, -2);
+        assertEquals(-(Long.MAX_VALUE - 1), store.getTotal(0));
+    }
+
+    @Test
+    public void testDecodedColumnsAreCheckedToo() {
+        ExpenseStore.Columns columns = new ExpenseStore.Columns(1, new int[]{100}, new int[]{0}, new int[]{0},
+                new int[]{Integer.MAX_VALUE}, new long[]{Long.MAX_VALUE});
+        assertThrows(IllegalArgumentException.class, () -> new ExpenseStore(columns, new String[]{"Row"}, new String[]{"Food"}));
+    }
+
+    @Test
+    public void testRemoveRangeNeedsFirstRowNotPastLastRow() {
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < 5; i++) store.add(100 + i, "Row " + i, "Food", 1, 100);
+        Events events = new Events();
+        store.addListener(events);
+
+        assertThrows(IllegalArgumentException.class, () -> store.removeRange(3, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.removeRange(2, 5));
+        assertEquals(5, store.size());
+        assertTrue(events.seen.isEmpty(), "Nothing was announced for the refused removals");
+
+        store.removeRange(1, 3);
+        assertEquals(2, store.size());
+        assertEquals("Row 4", store.getDescription(1));
+    }
+}
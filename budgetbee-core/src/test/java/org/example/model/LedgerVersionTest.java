@@ -0,0 +1,132 @@
+package org.example.model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerVersionTest {
+    private static final String[] DESCRIPTIONS = {"Rice", "Bus", "Lamp", "Tea", "Rent"};
+    private static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Bills"};
+
+    private static void addRandom(ExpenseStore store, Random random) {
+        store.add(random.nextInt(40_000) - 5_000, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextInt(10), random.nextInt(1_000_000) - 1_000);
+    }
+
+    // Ascending, distinct rows out of 0..bound-1
+    private static int[] randomRows(Random random, int bound, int count) {
+        return random.ints(0, bound).distinct().limit(Math.min(count, bound)).sorted().toArray();
+    }
+
+    private static void assertSameRows(ExpenseStore expected, LedgerVersion version, String message) {
+        assertEquals(expected.size(), version.size(), message + ": size");
+        ExpenseStore actual = version.toStore();
+        assertEquals(expected.size(), actual.size(), message + ": toStore size");
+        for (int row = 0; row < expected.size(); row++) {
+            String at = message + ", row " + row;
+            assertEquals(expected.getDate(row), actual.getDate(row), at);
+            assertEquals(expected.getDescription(row), actual.getDescription(row), at);
+            assertEquals(expected.getCategory(row), actual.getCategory(row), at);
+            assertEquals(expected.getQuantity(row), actual.getQuantity(row), at);
+            assertEquals(expected.getAmount(row), actual.getAmount(row), at);
+            assertEquals(expected.getAmount(row), version.get(row).amount, at);
+        }
+    }
+
+    @Test
+    public void testRandomChangesMatchTheLiveStore() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            ExpenseStore store = new ExpenseStore();
+            for (int i = 0; i < random.nextInt(300); i++) addRandom(store, random);
+            LedgerVersions versions = new LedgerVersions(store);
+            store.addListener(versions);
+            assertSameRows(store, versions.current(), "seed " + seed + " start");
+
+            for (int step = 0; step < 300; step++) {
+                int size = store.size();
+                int op = random.nextInt(7);
+                if (size == 0 || op == 0) {
+                    ExpenseStore scratch = new ExpenseStore();
+                    addRandom(scratch, random);
+                    store.insert(random.nextInt(size + 1), scratch.get(0));
+                } else if (op == 1) {
+                    ExpenseStore batch = new ExpenseStore();
+                    for (int i = random.nextInt(200) + 1; i > 0; i--) addRandom(batch, random);
+                    store.appendAll(batch);
+                } else if (op == 2) {
+                    store.remove(random.nextInt(size));
+                } else if (op == 3) {
+                    int first = random.nextInt(size);
+                    store.removeRange(first, Math.min(size - 1, first + random.nextInt(150)));
+                } else if (op == 4) {
+                    store.removeRows(randomRows(random, size, random.nextInt(20) + 1));
+                } else if (op == 5) {
+                    int n = random.nextInt(20) + 1;
+                    ExpenseStore batch = new ExpenseStore();
+                    for (int i = 0; i < n; i++) addRandom(batch, random);
+                    store.insertRows(randomRows(random, size + n, n), batch);
+                } else {
+                    int row = random.nextInt(size);
+                    int column = random.nextInt(5);
+                    Object value;
+                    switch (column) {
+                        case ExpenseStore.DATE: value = random.nextInt(40_000); break;
+                        case ExpenseStore.DESCRIPTION: value = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)] + step; break;
+                        case ExpenseStore.CATEGORY: value = CATEGORIES[random.nextInt(CATEGORIES.length)]; break;
+                        case ExpenseStore.QUANTITY: value = random.nextInt(10); break;
+                        default: value = (long) random.nextInt(1_000_000);
+                    }
+                    store.set(row, column, value);
+                }
+                assertSameRows(store, versions.current(), "seed " + seed + " step " + step + " op " + op);
+            }
+        }
+    }
+
+    @Test
+    public void testOlderVersionsNeverChange() {
+        Random random = new Random(42);
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < 500; i++) addRandom(store, random);
+        LedgerVersions versions = new LedgerVersions(store);
+        store.addListener(versions);
+
+        List<LedgerVersion> kept = new ArrayList<>();
+        List<ExpenseStore> expected = new ArrayList<>();
+        for (int step = 0; step < 200; step++) {
+            if (step % 20 == 0) {
+                kept.add(versions.current());
+                expected.add(store.copy());
+            }
+            int size = store.size();
+            switch (random.nextInt(3)) {
+                case 0: addRandom(store, random); break;
+                case 1: store.remove(random.nextInt(size)); break;
+                default: store.set(random.nextInt(size), ExpenseStore.AMOUNT, (long) random.nextInt(1000));
+            }
+        }
+        for (int i = 0; i < kept.size(); i++) assertSameRows(expected.get(i), kept.get(i), "version " + i);
+    }
+
+    @Test
+    public void testSequenceAndRetention() {
+        ExpenseStore store = new ExpenseStore();
+        LedgerVersions versions = new LedgerVersions(store);
+        store.addListener(versions);
+        long first = versions.current().sequence;
+        Random random = new Random(7);
+        for (int i = 0; i < LedgerVersions.MAX_RETAINED + 10; i++) addRandom(store, random);
+
+        LedgerVersion current = versions.current();
+        assertEquals(first + LedgerVersions.MAX_RETAINED + 10, current.sequence, "One version per change");
+        assertSame(current, versions.at(current.sequence));
+        assertNull(versions.at(first), "The oldest versions leave the retention window");
+        assertEquals(LedgerVersions.MAX_RETAINED, versions.retained().size());
+        assertEquals(current.size() - 1, versions.at(current.sequence - 1).size());
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.model;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    private static long parseBytes(String text) {
+        byte[] bytes = ("x" + text + "x").getBytes(StandardCharsets.UTF_8);
+        return Money.parse(bytes, 1, bytes.length - 1);
+    }
+
+    @Test
+    public void testParseForms() {
+        assertEquals(1200, Money.parse("12"));
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(1250, Money.parse("12.50"));
+        assertEquals(75, Money.parse(".75"));
+        assertEquals(1200, Money.parse("12."));
+        assertEquals(1250, Money.parse("  ৳12.50 "), "Surrounding spaces and the ৳ prefix are accepted");
+        assertEquals(0, Money.parse("0.00"));
+    }
+
+    @Test
+    public void testNegativeAmounts() {
+        assertEquals(-310, Money.parse("-3.10"));
+        assertEquals(-310, Money.parse("৳-3.10"), "The sign may follow the symbol");
+        assertEquals(-310, Money.parse("-৳3.10"), "or precede it");
+        assertEquals(-5, Money.parse("-.05"));
+    }
+
+    @Test
+    public void testRoundingPastTwoDecimals() {
+        assertEquals(1234, Money.parse("12.344"));
+        assertEquals(1235, Money.parse("12.345"), "Half rounds up");
+        assertEquals(1234, Money.parse("12.3449"), "Only the first dropped decimal decides, no double rounding");
+        assertEquals(1235, Money.parse("12.3450001"));
+        assertEquals(-1235, Money.parse("-12.345"), "and away from zero for negative amounts");
+        assertEquals(100, Money.parse("0.995"), "Rounding carries into the whole part");
+    }
+
+    @Test
+    public void testRejectsText() {
+        for (String bad : new String[]{"", " ", "৳", "-", "abc", "12a", "1.2.3", "--1", "1,000", "৳৳1"}) {
+            assertThrows(NumberFormatException.class, () -> Money.parse(bad), bad);
+            assertEquals(Money.INVALID, parseBytes(bad), bad);
+        }
+    }
+
+    @Test
+    public void testDigitLimitKeepsEveryAmountInALong() {
+        assertEquals(999_999_999_999_999_999L, Money.parse("9999999999999999.99"), "18 digits of minor units fit");
+        assertEquals(999_999_999_999_999_900L, Money.parse("9999999999999999"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("99999999999999999"),
+                "17 whole digits plus two decimals would be 19");
+        assertThrows(NumberFormatException.class, () -> Money.parse("999999999999999999"), "must not overflow into a wrong amount");
+        assertThrows(NumberFormatException.class, () -> Money.parse("99999999999999999.9"));
+        assertEquals(Money.INVALID, parseBytes("999999999999999999"));
+        assertEquals(1_000_000_000_000_000_000L, Money.parse("9999999999999999.995"), "Rounding up may reach 10^18");
+    }
+
+    @Test
+    public void testParseBytesMatchesText() {
+        for (String text : new String[]{"12", "12.5", ".75", "-3.10", "৳12.50", "৳-3.10", " ৳7 ", "12.345", "-0.005"}) {
+            assertEquals(Money.parse(text), parseBytes(text), text);
+        }
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("৳1234.50", Money.format(123450));
+        assertEquals("৳0.05", Money.format(5));
+        assertEquals("৳0.00", Money.format(0));
+        assertEquals("৳-3.10", Money.format(-310));
+        assertEquals("-0.05", Money.plain(-5));
+        assertEquals("1234.50", Money.plain(123450));
+    }
+
+    @Test
+    public void testFormatExtremesFitMaxLength() {
+        assertEquals("৳-92233720368547758.08", Money.format(Long.MIN_VALUE));
+        assertEquals(Money.MAX_LENGTH, Money.format(Long.MIN_VALUE).length());
+        assertEquals("৳92233720368547758.07", Money.format(Long.MAX_VALUE));
+
+        char[] buf = new char[Money.MAX_LENGTH - 1];
+        int start = Money.write(Long.MIN_VALUE, buf, buf.length);
+        assertEquals(0, start, "The plain form of the longest amount fills MAX_LENGTH - 1 chars");
+    }
+
+    @Test
+    public void testFormatRoundTrips() {
+        long[] amounts = {0, 1, -1, 99, 100, -100, 123456789, -987654321012L, 999_999_999_999_999_999L};
+        for (long minor : amounts) {
+            assertEquals(minor, Money.parse(Money.format(minor)), Money.format(minor));
+            assertEquals(minor, Money.parse(Money.plain(minor)), Money.plain(minor));
+        }
+    }
+
+    @Test
+    public void testAverageRoundsHalfUp() {
+        assertEquals(0, Money.average(100, 0), "No items, no average");
+        assertEquals(333, Money.average(1000, 3));
+        assertEquals(2, Money.average(3, 2), "1.5 rounds up");
+        assertEquals(-1, Money.average(-3, 2), "-1.5 rounds up too");
+        assertEquals(-2, Money.average(-5, 3));
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AggregationEngineTest {
+    private static final String[] CATEGORIES = {"Food", "Bills", "Transport", "Holidays", "Books"};
+    private static final int SEGMENT = AggregationEngine.SEGMENT_SIZE;
+
+    private static ExpenseStore randomStore(int rows, long seed) {
+        Random random = new Random(seed);
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < rows; i++) {
+            store.add(100 + i % 500, "Row", CATEGORIES[random.nextInt(CATEGORIES.length)], 1 + random.nextInt(5),
+                    random.nextInt(2_000_000) - 100_000); // refunds too
+        }
+        return store;
+    }
+
+    // Plain loop over the rows, the reference for the segmented reduction
+    private static void assertSameTotals(ExpenseStore store, AggregationEngine engine, String message) {
+        long total = 0, items = 0;
+        long[] sums = new long[store.categories().size()];
+        for (int row = 0; row < store.size(); row++) {
+            total += store.getTotal(row);
+            items += store.getQuantity(row);
+            sums[store.getCategoryId(row)] += store.getTotal(row);
+        }
+        assertEquals(total, engine.getTotal(), message);
+        assertEquals(items, engine.getTotalItems(), message);
+        for (int id = 0; id < sums.length; id++) assertEquals(sums[id], engine.getCategoryTotal(id), message + ", category " + id);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, SEGMENT - 1, SEGMENT, SEGMENT + 1, 2 * SEGMENT, 3 * SEGMENT + 7})
+    public void testForkJoinMatchesTheSequentialSumOnSegmentBoundaries(int rows) {
+        ExpenseStore store = randomStore(rows, rows);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AggregationEngine parallel = new AggregationEngine(pool);
+            parallel.recompute(store);
+            assertSameTotals(store, parallel, rows + " rows on 4 threads");
+
+            ForkJoinPool single = new ForkJoinPool(1);
+            try {
+                AggregationEngine sequential = new AggregationEngine(single);
+                sequential.recompute(store);
+                assertSameTotals(store, sequential, rows + " rows on 1 thread");
+                assertEquals(parallel.categoryTotals(store.categories()), sequential.categoryTotals(store.categories()));
+            } finally {
+                single.shutdown();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmptyStoreHasZeroTotals() {
+        ExpenseStore store = new ExpenseStore();
+        store.categories().idOf("Food");
+        AggregationEngine engine = new AggregationEngine();
+        engine.recompute(store);
+        assertEquals(0, engine.getTotal());
+        assertEquals(0, engine.getTotalItems());
+        assertEquals(0, engine.getCategoryTotal(0));
+        assertEquals(0, engine.getCategoryTotal(42), "An id past the known categories reads as zero");
+        assertEquals(Map.of("Food", 0L), engine.categoryTotals(store.categories()));
+
+        engine.apply(0, 2, 500, 1);
+        engine.apply(0, 2, 500, -1);
+        assertEquals(0, engine.getTotal(), "An add and its undo leave nothing");
+    }
+
+    @Test
+    public void testSumsPastTheIntRangeStayExact() {
+        ExpenseStore store = new ExpenseStore();
+        // 3 segments of rows worth 1,000 x 9,000,000.00 each: far past 2^31 per row and in total
+        for (int i = 0; i < 3 * SEGMENT; i++) store.add(100, "Server", "Bills", 1000, 900_000_000L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AggregationEngine engine = new AggregationEngine(pool);
+            engine.recompute(store);
+            long expected = 3L * SEGMENT * 1000 * 900_000_000L;
+            assertEquals(expected, engine.getTotal());
+            assertEquals(3L * SEGMENT * 1000, engine.getTotalItems());
+            assertEquals(expected, engine.getCategoryTotal(store.categories().find("Bills")));
+
+            engine.apply(store.categories().find("Bills"), Integer.MAX_VALUE, (long) Integer.MAX_VALUE * 900_000_000L, 1);
+            assertEquals(expected + (long) Integer.MAX_VALUE * 900_000_000L, engine.getTotal());
+            assertEquals(3L * SEGMENT * 1000 + Integer.MAX_VALUE, engine.getTotalItems());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchARecompute() {
+        ExpenseStore store = randomStore(5000, 3);
+        AggregationEngine incremental = new AggregationEngine();
+        for (int row = 0; row < store.size(); row++) {
+            incremental.apply(store.getCategoryId(row), store.getQuantity(row), store.getTotal(row), 1);
+        }
+        for (int row = 0; row < store.size(); row += 7) {
+            incremental.apply(store.getCategoryId(row), store.getQuantity(row), store.getTotal(row), -1);
+        }
+        int[] removed = new int[(store.size() + 6) / 7];
+        for (int i = 0; i < removed.length; i++) removed[i] = i * 7;
+        store.removeRows(removed);
+        assertSameTotals(store, incremental, "After adds and deletes");
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.tools;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AtomicFileWriterTest {
+    @TempDir
+    Path dir;
+
+    private static AtomicFileWriter.Body text(String content) {
+        return channel -> channel.write(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String[] filesIn() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).sorted().toArray(String[]::new);
+        }
+    }
+
+    @Test
+    public void testReplacesTheTargetOnSuccess() throws IOException {
+        Path target = dir.resolve("expenses.csv");
+        AtomicFileWriter.write(target, text("first\n"));
+        assertEquals("first\n", Files.readString(target));
+
+        AtomicFileWriter.write(target, text("second\n"));
+        assertEquals("second\n", Files.readString(target));
+        assertArrayEquals(new String[]{"expenses.csv"}, filesIn(), "No temp file is left behind");
+    }
+
+    @Test
+    public void testFailurePartWayKeepsTheOriginal() throws IOException {
+        Path target = dir.resolve("expenses.csv");
+        Files.writeString(target, "original\n");
+
+        IOException thrown = assertThrows(IOException.class, () -> AtomicFileWriter.write(target, channel -> {
+            channel.write(ByteBuffer.wrap("half a new fi".getBytes(StandardCharsets.UTF_8)));
+            throw new IOException("disk full");
+        }));
+        assertEquals("disk full", thrown.getMessage());
+        assertEquals("original\n", Files.readString(target));
+        assertArrayEquals(new String[]{"expenses.csv"}, filesIn(), "The partial temp file is removed");
+    }
+
+    @Test
+    public void testRuntimeFailureKeepsTheOriginalToo() throws IOException {
+        Path target = dir.resolve("expenses.csv");
+        Files.writeString(target, "original\n");
+
+        assertThrows(IllegalStateException.class, () -> AtomicFileWriter.write(target, channel -> {
+            channel.write(ByteBuffer.wrap("partial".getBytes(StandardCharsets.UTF_8)));
+            throw new IllegalStateException("bug in the writer");
+        }));
+        assertEquals("original\n", Files.readString(target));
+        assertArrayEquals(new String[]{"expenses.csv"}, filesIn());
+    }
+
+    @Test
+    public void testAStaleTempFileIsOverwritten() throws IOException {
+        Path target = dir.resolve("expenses.csv");
+        Files.writeString(dir.resolve("expenses.csv.tmp"), "left over from a crash, and longer than the new content\n");
+        AtomicFileWriter.write(target, text("new\n"));
+        assertEquals("new\n", Files.readString(target), "The temp file is truncated before writing");
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.tools;
+
+import org.example.model.DateRange;
+import org.example.model.EpochDays;
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BudgetEngineTest {
+    private static final int JUL_25 = EpochDays.parse("2024-07-25");
+
+    @Test
+    public void testInitialState() {
+        BudgetEngine engine = new BudgetEngine();
+        assertEquals(0, engine.getStore().size());
+        assertEquals(0, engine.getTotal());
+        assertEquals(0, engine.getTotalItems());
+        assertFalse(engine.canUndo());
+        assertTrue(engine.getStore().categories().find("Food") >= 0, "The default categories are there from the start");
+    }
+
+    @Test
+    public void testTotalsFollowAddEditDeleteAndUndo() {
+        BudgetEngine engine = new BudgetEngine();
+        engine.addExpense(JUL_25, "Pizza", "Food", 3, 3000);
+        engine.addExpense(JUL_25, "Bus", "Transport", 1, 80);
+        assertEquals(9000, engine.getCategoryTotals().get("Food"), "Category total is quantity x amount");
+        assertEquals(9080, engine.getTotal());
+        assertEquals(4, engine.getTotalItems());
+
+        engine.editExpense(0, ExpenseStore.QUANTITY, 2);
+        assertEquals(6000, engine.getCategoryTotals().get("Food"));
+        engine.deleteExpense(1);
+        assertEquals(6000, engine.getTotal());
+        assertArrayEquals(new int[0], engine.getCategoryRows("Transport").toArray());
+
+        engine.undo();
+        engine.undo();
+        assertEquals(9080, engine.getTotal(), "Undo restores the row and the edit");
+        engine.redo();
+        assertEquals(6080, engine.getTotal());
+    }
+
+    @Test
+    public void testSaveAndLoadData(@TempDir Path dir) throws IOException {
+        File file = dir.resolve("expenses.csv").toFile();
+        BudgetEngine engine = new BudgetEngine();
+        engine.addExpense(JUL_25, "SaveTest", "Bills", 1, 2000);
+        engine.saveData(file);
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertLinesMatch(List.of("Date,Description,Category,Quantity,Amount,Total", "2024-07-25,SaveTest,Bills,1,20.00,20.00"), lines);
+
+        BudgetEngine loaded = new BudgetEngine();
+        loaded.loadData(file);
+        ExpenseStore store = loaded.getStore();
+        assertEquals(1, store.size(), "Data should be loaded from the CSV file");
+        assertEquals(JUL_25, store.getDate(0));
+        assertEquals("SaveTest", store.getDescription(0));
+        assertEquals("Bills", store.getCategory(0));
+        assertEquals(2000, store.getTotal(0));
+        assertEquals(2000, loaded.getCategoryTotals().get("Bills"), "Aggregates are rebuilt after the load");
+    }
+
+    @Test
+    public void testBackgroundSaveWritesTheRowsOfItsVersion(@TempDir Path dir) throws IOException {
+        File file = dir.resolve("expenses.csv").toFile();
+        BudgetEngine engine = new BudgetEngine();
+        engine.addExpense(JUL_25, "Rice", "Food", 1, 500);
+        List<Runnable> io = new ArrayList<>();
+        engine.saveDataInBackground(file, io::add, Runnable::run);
+        engine.addExpense(JUL_25, "Edited meanwhile", "Food", 1, 100);
+        engine.deleteExpense(0);
+        assertFalse(file.exists(), "Nothing is written on the engine's thread");
+
+        io.forEach(Runnable::run);
+        assertLinesMatch(List.of("Date,Description,Category,Quantity,Amount,Total", "2024-07-25,Rice,Food,1,5.00,5.00"),
+                Files.readAllLines(file.toPath(), StandardCharsets.UTF_8), "The rows as they were when the save began");
+        BudgetEngine loaded = new BudgetEngine();
+        loaded.loadSnapshot(LedgerSnapshot.siblingOf(file.toPath()).toFile());
+        assertEquals(500, loaded.getTotal(), "The snapshot is written from the same version");
+    }
+
+    @Test
+    public void testDailySeriesIsReusedUntilTheLedgerChanges() {
+        BudgetEngine engine = new BudgetEngine();
+        engine.addExpense(JUL_25, "Rice", "Food", 1, 500);
+        TimeSeries first = engine.getDailySeries(DateRange.ALL);
+        assertSame(first, engine.getDailySeries(DateRange.ALL), "Charts rebuild their pyramids only for a new series");
+
+        engine.addExpense(JUL_25 + 3, "Tea", "Food", 1, 100);
+        TimeSeries second = engine.getDailySeries(DateRange.ALL);
+        assertNotSame(first, second);
+        assertEquals(600, second.cumulative[second.size() - 1]);
+        assertNotSame(second, engine.getDailySeries(new DateRange(JUL_25, JUL_25)), "Another range, another series");
+    }
+
+    @Test
+    public void testFailedReplayLeavesTheLedgerUnsaveable(@TempDir Path dir) throws IOException {
+        File csv = dir.resolve("expenses.csv").toFile();
+        Path journalFile = CommandJournal.siblingOf(csv.toPath());
+        long generation = System.currentTimeMillis();
+        ExpenseStore rows = new ExpenseStore();
+        rows.add(JUL_25, "Rice", "Food", 1, 500);
+        LedgerSnapshot.write(LedgerSnapshot.siblingOf(csv.toPath()), rows, generation);
+        // A record the snapshot's rows cannot take: row 5 of a one-row ledger
+        CommandJournal journal = CommandJournal.open(journalFile, generation);
+        journal.recordExecute(new AddExpenseCommand(rows, new Expense(JUL_25, "Tea", "Food", 1, 100)));
+        journal.recordExecute(new DeleteExpenseCommand(rows, 5));
+        journal.close();
+        byte[] recorded = Files.readAllBytes(journalFile);
+
+        BudgetEngine engine = new BudgetEngine();
+        engine.open(csv);
+
+        assertFalse(engine.isSaveable(), "The store holds a partial replay");
+        assertTrue(engine.getUnsaveableReason().contains("could not be replayed"), engine.getUnsaveableReason());
+        engine.addExpense(JUL_25, "Bus", "Transport", 1, 80);
+        engine.saveData(csv);
+        engine.close();
+        assertFalse(csv.exists(), "Nothing was written over the ledger");
+        assertArrayEquals(recorded, Files.readAllBytes(journalFile), "The journal is left as it was");
+    }
+
+    @Test
+    public void testCategoryRowsOfAnUnknownNameAddNothing() {
+        BudgetEngine engine = new BudgetEngine();
+        engine.addExpense(100, "Rice", "Food", 1, 500);
+        int categories = engine.getStore().categories().size();
+
+        assertTrue(engine.getCategoryRows("Holidays").isEmpty());
+        assertEquals(categories, engine.getStore().categories().size(), "A read must not intern the name");
+        assertArrayEquals(new int[]{0}, engine.getCategoryRows("Food").toArray());
+    }
+
+    @Test
+    public void testRecalculationObserversRunAfterABulkLoad() {
+        BudgetEngine engine = new BudgetEngine();
+        int[] runs = {0};
+        RowBitmap[] rows = {null};
+        engine.addRecalculationObserver(() -> {
+            runs[0]++;
+            rows[0] = engine.getCategoryRows("Food");
+        });
+
+        engine.beginBulkLoad();
+        ExpenseStore store = engine.getStore();
+        store.add(100, "Rice", "Food", 1, 500);
+        store.add(101, "Bus", "Transport", 1, 80);
+        store.add(102, "Tea", "Food", 2, 30);
+        assertEquals(0, runs[0], "Nothing runs while the load goes on");
+        engine.endBulkLoad();
+
+        assertEquals(1, runs[0]);
+        assertArrayEquals(new int[]{0, 2}, rows[0].toArray(), "The rebuilt index holds the loaded rows");
+        engine.recalculateAll();
+        assertEquals(2, runs[0]);
+    }
+}
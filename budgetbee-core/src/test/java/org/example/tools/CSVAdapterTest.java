@@ -0,0 +1,77 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVAdapterTest {
+    private static final String[] AWKWARD = {
+            "Rice, basmati", "5\" pipe", "\"Quoted\"", "Two\nlines", "Windows\r\nline", "\"", ",", "\"\"",
+            "Trailing quote\"", "Café ৳ 咖啡", " padded ", "plain"
+    };
+
+    @TempDir
+    Path dir;
+
+    private ExpenseStore readBack(Path file) throws IOException {
+        ExpenseStore rows = new ExpenseStore();
+        MappedCsvParser.Result result = new MappedCsvParser().parse(file, (chunk, done, size) -> rows.appendAll(chunk), () -> false);
+        assertFalse(result.hasRejects(), () -> result.describeRejects(file, 5));
+        return rows;
+    }
+
+    @Test
+    public void testQuotesCommasAndNewlinesRoundTrip() throws IOException {
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < AWKWARD.length; i++) {
+            store.add(19_000 + i, AWKWARD[i], AWKWARD[AWKWARD.length - 1 - i], i + 1, -250 + 1000L * i);
+        }
+        Path file = dir.resolve("expenses.csv");
+        AtomicFileWriter.write(file, new CSVAdapter(store)::writeTo);
+
+        ExpenseStore rows = readBack(file);
+        assertEquals(store.size(), rows.size());
+        for (int row = 0; row < store.size(); row++) {
+            assertEquals(store.getDate(row), rows.getDate(row));
+            assertEquals(store.getDescription(row), rows.getDescription(row), "Description of row " + row);
+            assertEquals(store.getCategory(row), rows.getCategory(row), "Category of row " + row);
+            assertEquals(store.getQuantity(row), rows.getQuantity(row));
+            assertEquals(store.getAmount(row), rows.getAmount(row));
+        }
+    }
+
+    @Test
+    public void testQuotingOnlyWhereNeeded() throws IOException {
+        ExpenseStore store = new ExpenseStore();
+        store.add(19_000, "plain", "Food", 2, 1250);
+        store.add(19_000, "Say \"hi\", twice", "Food", 1, 5);
+        Path file = dir.resolve("expenses.csv");
+        AtomicFileWriter.write(file, new CSVAdapter(store)::writeTo);
+
+        assertLinesMatch(List.of("Date,Description,Category,Quantity,Amount,Total",
+                        "2022-01-08,plain,Food,2,12.50,25.00",
+                        "2022-01-08,\"Say \"\"hi\"\", twice\",Food,1,0.05,0.05"),
+                Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRowsPastOneBufferRoundTrip() throws IOException {
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < 20_000; i++) store.add(19_000 + i % 400, i % 3 == 0 ? "Row, " + i : "Row \"" + i + "\"", "Food", 1, i);
+        Path file = dir.resolve("expenses.csv");
+        AtomicFileWriter.write(file, new CSVAdapter(store)::writeTo);
+        assertTrue(Files.size(file) > 64 * 1024, "Several flushes of the 64 KB buffer");
+
+        ExpenseStore rows = readBack(file);
+        assertEquals(store.size(), rows.size());
+        for (int row = 0; row < store.size(); row += 97) assertEquals(store.getDescription(row), rows.getDescription(row));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandInvokerTest {
+
+    private static ExpenseStore storeOf(int rows, int descriptionLength) {
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < rows; i++) store.add(100 + i, ("d" + i).repeat(descriptionLength / 2), "Food", 1, 100);
+        return store;
+    }
+
+    @Test
+    public void testEstimatesCountTheCopiedStrings() {
+        ExpenseStore store = storeOf(10, 10_000);
+        BatchDeleteCommand batch = new BatchDeleteCommand(store, new int[]{0, 1, 2});
+        batch.execute();
+        assertTrue(batch.estimatedBytes() > 3 * 20_000, "Three 10,000-char descriptions: " + batch.estimatedBytes());
+
+        DeleteExpenseCommand single = new DeleteExpenseCommand(store, 0);
+        single.execute();
+        assertTrue(single.estimatedBytes() > 20_000, "One 10,000-char description: " + single.estimatedBytes());
+
+        BatchAddCommand add = new BatchAddCommand(store, storeOf(2, 10_000));
+        assertTrue(add.estimatedBytes() > 2 * 20_000, "Two 10,000-char descriptions: " + add.estimatedBytes());
+    }
+
+    @Test
+    public void testByteBoundDropsTheOldestSteps() {
+        ExpenseStore store = storeOf(10, 10_000);
+        CommandInvoker invoker = new CommandInvoker(100, 50_000);
+        for (int i = 0; i < 3; i++) invoker.execute(new DeleteExpenseCommand(store, 0));
+        assertEquals(7, store.size());
+
+        invoker.undo();
+        invoker.undo();
+        assertFalse(invoker.canUndo(), "Only the newest deletes fit into 50,000 bytes");
+        assertEquals(9, store.size());
+    }
+
+    // A command that grows with every execute, as one capturing more state would
+    private static class GrowingCommand implements Command {
+        int executions;
+
+        @Override
+        public void execute() { executions++; }
+
+        @Override
+        public void undo() { }
+
+        @Override
+        public long estimatedBytes() { return 1000L * executions; }
+    }
+
+    @Test
+    public void testRedoIsCountedAgainAndKeepsTheBound() {
+        CommandInvoker invoker = new CommandInvoker(100, 2500);
+        GrowingCommand first = new GrowingCommand(), second = new GrowingCommand();
+        invoker.execute(first);
+        invoker.execute(second);
+        invoker.undo();
+        invoker.redo(); // now 1000 + 2000 bytes
+
+        invoker.undo();
+        assertEquals(1, first.executions);
+        assertFalse(invoker.canUndo(), "The redo pushed the history past 2500 bytes, so the oldest step left");
+        assertTrue(invoker.canRedo());
+    }
+}
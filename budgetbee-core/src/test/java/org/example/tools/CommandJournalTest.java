@@ -0,0 +1,231 @@
+package org.example.tools;
+
+import org.example.model.Expense;
+import org.example.model.ExpenseStore;
+import org.example.model.LedgerVersions;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandJournalTest {
+    private static final long GENERATION = 42;
+
+    @TempDir
+    Path dir;
+
+    private Path journalFile;
+    private ExpenseStore store;
+    private CommandInvoker invoker;
+    private CommandJournal journal;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        journalFile = dir.resolve("expenses" + CommandJournal.EXTENSION);
+        store = new ExpenseStore();
+        invoker = new CommandInvoker();
+        journal = CommandJournal.open(journalFile, GENERATION);
+        invoker.setJournal(journal);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        journal.close();
+    }
+
+    // Six records: three adds, an edit, a delete and an undo of the delete
+    private void recordSomeCommands() {
+        invoker.execute(new AddExpenseCommand(store, new Expense(19000, "Rice", "Food", 2, 12_50)));
+        invoker.execute(new AddExpenseCommand(store, new Expense(-3, "Bus", "Transport", 1, 80)));
+        invoker.execute(new AddExpenseCommand(store, new Expense(19001, "Lamp", "Shopping", 1, 2_499_00)));
+        invoker.execute(new EditExpenseCommand(store, 0, ExpenseStore.AMOUNT, 13_00L));
+        invoker.execute(new DeleteExpenseCommand(store, 1));
+        invoker.undo();
+    }
+
+    private ReplayResult replay(long generation) throws IOException {
+        ExpenseStore replayed = new ExpenseStore();
+        int applied = CommandJournal.replay(journalFile, generation, replayed, new CommandInvoker());
+        return new ReplayResult(replayed, applied);
+    }
+
+    private static class ReplayResult {
+        final ExpenseStore store;
+        final int applied;
+
+        ReplayResult(ExpenseStore store, int applied) {
+            this.store = store;
+            this.applied = applied;
+        }
+    }
+
+    private static void assertSameRows(ExpenseStore expected, ExpenseStore actual) {
+        assertEquals(expected.size(), actual.size(), "Row count");
+        for (int r = 0; r < expected.size(); r++) {
+            assertEquals(expected.getDate(r), actual.getDate(r), "Date of row " + r);
+            assertEquals(expected.getDescription(r), actual.getDescription(r), "Description of row " + r);
+            assertEquals(expected.getCategory(r), actual.getCategory(r), "Category of row " + r);
+            assertEquals(expected.getQuantity(r), actual.getQuantity(r), "Quantity of row " + r);
+            assertEquals(expected.getAmount(r), actual.getAmount(r), "Amount of row " + r);
+        }
+    }
+
+    // Offset of the last record: walks the length prefixes after the 16-byte header
+    private long lastRecordStart() throws IOException {
+        byte[] bytes = Files.readAllBytes(journalFile);
+        java.nio.ByteBuffer buf = java.nio.ByteBuffer.wrap(bytes);
+        int pos = 16, last = -1;
+        while (pos + 8 <= bytes.length) {
+            last = pos;
+            pos += 8 + buf.getInt(pos);
+        }
+        return last;
+    }
+
+    private void flipByte(long offset) throws IOException {
+        byte[] bytes = Files.readAllBytes(journalFile);
+        bytes[(int) offset] ^= 0x5A;
+        Files.write(journalFile, bytes);
+    }
+
+    @Test
+    public void testWriteThenReplay() throws IOException {
+        recordSomeCommands();
+        journal.close();
+
+        ReplayResult result = replay(GENERATION);
+        assertEquals(6, result.applied, "Every record should be replayed");
+        assertSameRows(store, result.store);
+    }
+
+    @Test
+    public void testUndoOfCommandOlderThanJournalAppliesInverse() throws IOException {
+        journal.close();
+        invoker.setJournal(null);
+        invoker.execute(new AddExpenseCommand(store, new Expense(19000, "Rice", "Food", 2, 12_50)));
+        invoker.execute(new AddExpenseCommand(store, new Expense(19001, "Bus", "Transport", 1, 80)));
+        invoker.execute(new DeleteExpenseCommand(store, 0));
+        ExpenseStore base = store.copy(); // what the snapshot would hold
+
+        journal = CommandJournal.open(journalFile, GENERATION);
+        invoker.setJournal(journal);
+        invoker.undo();
+        journal.close();
+
+        // The replaying invoker never saw the delete: the journal's inverse puts the row back
+        int applied = CommandJournal.replay(journalFile, GENERATION, base, new CommandInvoker());
+        assertEquals(1, applied);
+        assertSameRows(store, base);
+    }
+
+    @Test
+    public void testTruncatedLastRecordIsDropped() throws IOException {
+        recordSomeCommands();
+        journal.close();
+        long size = Files.size(journalFile);
+        long lastStart = lastRecordStart();
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        ReplayResult result = replay(GENERATION);
+        assertEquals(5, result.applied, "The torn record should not be replayed");
+        assertEquals(2, result.store.size(), "The delete stays applied without its undo");
+
+        // Reopening cuts the torn tail so new records follow the last intact one
+        journal = CommandJournal.open(journalFile, GENERATION);
+        assertFalse(journal.wasReset());
+        journal.close();
+        assertEquals(lastStart, Files.size(journalFile));
+    }
+
+    @Test
+    public void testCrcMismatchStopsReplay() throws IOException {
+        recordSomeCommands();
+        journal.close();
+        flipByte(lastRecordStart() + 9); // inside the payload, after length and crc
+
+        ReplayResult result = replay(GENERATION);
+        assertEquals(5, result.applied, "A record whose CRC does not match ends the journal");
+    }
+
+    @Test
+    public void testCrcMismatchInTheMiddleDropsTheRest() throws IOException {
+        invoker.execute(new AddExpenseCommand(store, new Expense(19000, "First", "Food", 1, 100)));
+        journal.close();
+        long second = Files.size(journalFile);
+        journal = CommandJournal.open(journalFile, GENERATION);
+        invoker.setJournal(journal);
+        invoker.execute(new AddExpenseCommand(store, new Expense(19000, "Second", "Food", 1, 100)));
+        invoker.execute(new AddExpenseCommand(store, new Expense(19000, "Third", "Food", 1, 100)));
+        journal.close();
+        flipByte(second + 12);
+
+        ReplayResult result = replay(GENERATION);
+        assertEquals(1, result.applied, "Records after a damaged one can't be trusted to apply to the right rows");
+        assertEquals("First", result.store.getDescription(0));
+    }
+
+    @Test
+    public void testStaleGenerationIsNotReplayed() throws IOException {
+        recordSomeCommands();
+        journal.close();
+
+        assertEquals(-1, replay(GENERATION + 1).applied, "A journal of another snapshot must not be replayed");
+        assertEquals(-1, CommandJournal.replay(dir.resolve("missing.journal"), GENERATION, new ExpenseStore(), new CommandInvoker()));
+
+        // Opening it for the new generation starts over
+        journal = CommandJournal.open(journalFile, GENERATION + 1);
+        assertTrue(journal.wasReset());
+        journal.close();
+        assertEquals(0, replay(GENERATION + 1).applied);
+        assertEquals(-1, replay(GENERATION).applied);
+    }
+
+    @Test
+    public void testCompactionThenReplay() throws IOException {
+        LedgerVersions versions = new LedgerVersions(store);
+        store.addListener(versions);
+        Path snapshotFile = dir.resolve("expenses" + LedgerSnapshot.EXTENSION);
+        recordSomeCommands();
+
+        long next = GENERATION + 1;
+        journal.compact(versions.current(), snapshotFile, next);
+        invoker.execute(new AddExpenseCommand(store, new Expense(19002, "After", "Bills", 3, 1_00)));
+        invoker.execute(new EditExpenseCommand(store, 0, ExpenseStore.DESCRIPTION, "Rice (5 kg)"));
+        journal.close();
+
+        LedgerSnapshot snapshot = LedgerSnapshot.read(snapshotFile);
+        assertEquals(next, snapshot.generation());
+        assertEquals(3, snapshot.store().size(), "The snapshot holds the rows at compaction time");
+        assertEquals(-1, replay(GENERATION).applied, "The old generation's records are gone");
+
+        ExpenseStore replayed = snapshot.store();
+        int applied = CommandJournal.replay(journalFile, next, replayed, new CommandInvoker());
+        assertEquals(2, applied, "Only the records after the compaction are left");
+        assertSameRows(store, replayed);
+    }
+
+    @Test
+    public void testCompactionFromACopyOfTheRows() throws IOException {
+        Path snapshotFile = dir.resolve("expenses" + LedgerSnapshot.EXTENSION);
+        recordSomeCommands();
+
+        long next = GENERATION + 1;
+        journal.compact(store.copy(), snapshotFile, next);
+        invoker.execute(new DeleteExpenseCommand(store, 0));
+        journal.close();
+
+        LedgerSnapshot snapshot = LedgerSnapshot.read(snapshotFile);
+        assertEquals(3, snapshot.store().size(), "Later changes to the store do not reach the copy");
+        ExpenseStore replayed = snapshot.store();
+        assertEquals(1, CommandJournal.replay(journalFile, next, replayed, new CommandInvoker()));
+        assertSameRows(store, replayed);
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.tools;
+
+import org.example.model.DateRange;
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateRollupIndexTest {
+    private static final String[] CATEGORIES = {"Food", "Bills", "Transport", "Holidays"};
+    private static final int FIRST = EpochDays.parse("2022-01-01"), LAST = EpochDays.parse("2025-12-31");
+    private static final int STRAY_LATE = EpochDays.parse("9999-12-31"), STRAY_EARLY = EpochDays.parse("0001-01-01");
+
+    private static int randomDate(Random random) {
+        int pick = random.nextInt(50);
+        if (pick == 0) return STRAY_LATE;
+        if (pick == 1) return STRAY_EARLY;
+        return FIRST + random.nextInt(LAST - FIRST + 1);
+    }
+
+    private static long bruteTotal(ExpenseStore store, String category, int from, int to) {
+        long total = 0;
+        for (int row = 0; row < store.size(); row++) {
+            int date = store.getDate(row);
+            if (date >= from && date <= to && (category == null || category.equals(store.getCategory(row)))) total += store.getTotal(row);
+        }
+        return total;
+    }
+
+    private static void assertMatchesRows(BudgetEngine engine, Random random) {
+        ExpenseStore store = engine.getStore();
+        for (int i = 0; i < 20; i++) {
+            int a = FIRST - 40 + random.nextInt(LAST - FIRST + 80), b = FIRST - 40 + random.nextInt(LAST - FIRST + 80);
+            DateRange range = new DateRange(Math.min(a, b), Math.max(a, b));
+            assertEquals(bruteTotal(store, null, range.fromDay, range.toDay), engine.getTotal(range),
+                    EpochDays.iso(range.fromDay) + ".." + EpochDays.iso(range.toDay));
+            Map<String, Long> totals = engine.getCategoryTotals(range);
+            for (String category : CATEGORIES) {
+                assertEquals(bruteTotal(store, category, range.fromDay, range.toDay), totals.getOrDefault(category, 0L), category);
+            }
+        }
+        assertEquals(bruteTotal(store, null, Integer.MIN_VALUE, Integer.MAX_VALUE), engine.getTotal(new DateRange(Integer.MIN_VALUE, STRAY_LATE)),
+                "An open start reaches the year-1 rows");
+        assertEquals(bruteTotal(store, null, STRAY_LATE, STRAY_LATE), engine.getTotal(new DateRange(STRAY_LATE, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testRangeTotalsFollowAddDeleteEditAndUndo() {
+        Random random = new Random(7);
+        BudgetEngine engine = new BudgetEngine();
+        for (int step = 0; step < 1500; step++) {
+            int size = engine.getStore().size();
+            int op = random.nextInt(10);
+            if (op < 5 || size == 0) {
+                engine.addExpense(randomDate(random), "Row " + step, CATEGORIES[random.nextInt(CATEGORIES.length)],
+                        1 + random.nextInt(3), random.nextInt(10_000));
+            } else if (op == 5) {
+                engine.deleteExpense(random.nextInt(size));
+            } else if (op == 6 && size > 1) {
+                int first = random.nextInt(size - 1);
+                engine.deleteExpenses(new int[]{first, first + 1 + random.nextInt(size - 1 - first)});
+            } else if (op <= 7) {
+                engine.editExpense(random.nextInt(size), ExpenseStore.DATE, randomDate(random));
+            } else if (op == 8) {
+                engine.editExpense(random.nextInt(size), ExpenseStore.AMOUNT, (long) random.nextInt(10_000));
+            } else {
+                engine.undo();
+                if (random.nextBoolean()) engine.redo();
+            }
+            if (step % 100 == 0) assertMatchesRows(engine, random);
+        }
+        assertMatchesRows(engine, random);
+        engine.recalculateAll();
+        assertMatchesRows(engine, random);
+    }
+
+    @Test
+    public void testMonthAndYearTotalsAgainstTheRows() {
+        Random random = new Random(11);
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < 3000; i++) store.add(randomDate(random), "Row", CATEGORIES[random.nextInt(CATEGORIES.length)], 1, random.nextInt(1000));
+
+        DateRollupIndex incremental = new DateRollupIndex();
+        for (int row = 0; row < store.size(); row++) incremental.apply(store.getDate(row), store.getCategoryId(row), store.getTotal(row), 1);
+        // Remove every third row again, as a delete (or the undo of an add) would
+        ExpenseStore kept = new ExpenseStore();
+        for (int row = 0; row < store.size(); row++) {
+            if (row % 3 == 0) incremental.apply(store.getDate(row), store.getCategoryId(row), store.getTotal(row), -1);
+            else kept.add(store.getDate(row), store.getDescription(row), store.getCategory(row), store.getQuantity(row), store.getAmount(row));
+        }
+        DateRollupIndex rebuilt = new DateRollupIndex();
+        rebuilt.recompute(kept);
+
+        for (LocalDate month = LocalDate.of(2021, 11, 1); month.isBefore(LocalDate.of(2026, 3, 1)); month = month.plusMonths(1)) {
+            long expected = bruteTotal(kept, null, EpochDays.of(month), EpochDays.of(month.plusMonths(1)) - 1);
+            assertEquals(expected, incremental.monthTotal(month.getYear(), month.getMonthValue()), month.toString());
+            assertEquals(expected, rebuilt.monthTotal(month.getYear(), month.getMonthValue()), month.toString());
+        }
+        for (int year : new int[]{1, 2021, 2022, 2023, 2024, 2025, 2026, 9999}) {
+            long expected = bruteTotal(kept, null, EpochDays.of(LocalDate.of(year, 1, 1)), EpochDays.of(LocalDate.of(year, 12, 31)));
+            assertEquals(expected, incremental.yearTotal(year), "Year " + year);
+            assertEquals(expected, rebuilt.yearTotal(year), "Year " + year);
+        }
+        assertEquals(bruteTotal(kept, null, Integer.MIN_VALUE, Integer.MAX_VALUE), incremental.total(DateRange.ALL));
+    }
+
+    @Test
+    public void testDailySeriesSkipsTheEmptyYearsBetween() {
+        DateRollupIndex index = new DateRollupIndex();
+        int day = EpochDays.parse("2024-07-25");
+        index.apply(day, 0, 500, 1);
+        index.apply(STRAY_LATE, 0, 100, 1);
+
+        TimeSeries series = index.daily(DateRange.ALL);
+        assertEquals(4, series.size(), "The two days that have spending, each with a zero towards the gap");
+        assertArrayEquals(new int[]{day, day + 1, STRAY_LATE - 1, STRAY_LATE}, series.days);
+        assertEquals(600, series.cumulative[3]);
+        assertEquals(0, index.daily(new DateRange(day + 1, STRAY_LATE - 1)).size());
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DuplicateIndexTest {
+    private static final String HEADER = "Date,Description,Category,Quantity,Amount,Total\n";
+
+    @TempDir
+    Path dir;
+
+    private static String key(ExpenseStore store, int row) {
+        return store.getDate(row) + "|" + store.getDescription(row) + "|" + store.getCategory(row) + "|"
+                + store.getQuantity(row) + "|" + store.getAmount(row);
+    }
+
+    private static ExpenseStore rows(String... descriptions) {
+        ExpenseStore store = new ExpenseStore();
+        for (String d : descriptions) store.add(100, d, "Food", 1, 500);
+        return store;
+    }
+
+    @Test
+    public void testMatchingIsPerOccurrence() {
+        DuplicateIndex index = new DuplicateIndex();
+        index.recompute(rows("Coffee", "Tea", "Tea"));
+
+        DuplicateIndex.Split split = index.split(rows("Coffee", "Coffee", "Tea", "Coffee", "Cake"));
+        assertEquals(2, split.duplicates.size(), "The ledger holds one coffee: only the first one in the batch matches");
+        assertEquals("Coffee", split.duplicates.getDescription(0));
+        assertEquals("Tea", split.duplicates.getDescription(1));
+        assertEquals(3, split.fresh.size());
+
+        split = index.split(rows("Tea", "Tea", "Tea"));
+        assertEquals(2, split.duplicates.size(), "Two teas in the ledger, two matches");
+        assertEquals(1, split.fresh.size());
+    }
+
+    @Test
+    public void testEveryColumnTellsRowsApart() {
+        ExpenseStore ledger = new ExpenseStore();
+        ledger.add(100, "Rice", "Food", 2, 500);
+        DuplicateIndex index = new DuplicateIndex();
+        index.recompute(ledger);
+
+        ExpenseStore batch = new ExpenseStore();
+        batch.add(100, "Rice", "Food", 2, 500);
+        batch.add(-100, "Rice", "Food", 2, 500);
+        batch.add(100, "rice", "Food", 2, 500);
+        batch.add(100, "Rice", "Bills", 2, 500);
+        batch.add(100, "Rice", "Food", 3, 500);
+        batch.add(100, "Rice", "Food", 2, 501);
+        DuplicateIndex.Split split = index.split(batch);
+        assertEquals(1, split.duplicates.size());
+        assertEquals(5, split.fresh.size());
+        assertEquals(-100, split.fresh.getDate(0), "Fresh rows keep batch order");
+    }
+
+    // Rows added and removed one by one (the listener's path), well past the Bloom filter's rebuild
+    // thresholds, must answer like a multiset of the live rows and like an index recomputed from them
+    @Test
+    public void testRandomChangesMatchAMultiset() {
+        Random random = new Random(11);
+        ExpenseStore all = new ExpenseStore();
+        for (int i = 0; i < 20_000; i++) {
+            all.add(random.nextInt(200) - 100, "d" + random.nextInt(300), "c" + random.nextInt(5), 1 + random.nextInt(2), random.nextInt(50));
+        }
+        DuplicateIndex index = new DuplicateIndex();
+        Map<String, Integer> live = new HashMap<>();
+        boolean[] added = new boolean[all.size()];
+        for (int step = 0; step < 60_000; step++) {
+            int row = random.nextInt(all.size());
+            // Grow first, then remove most rows again
+            boolean add = step < 25_000 ? random.nextInt(4) != 0 : random.nextInt(4) == 0;
+            if (add && !added[row]) {
+                index.add(all, row);
+                live.merge(key(all, row), 1, Integer::sum);
+                added[row] = true;
+            } else if (!add && added[row]) {
+                index.remove(all, row);
+                live.merge(key(all, row), -1, Integer::sum);
+                added[row] = false;
+            }
+        }
+
+        ExpenseStore liveRows = new ExpenseStore();
+        for (int row = 0; row < all.size(); row++) if (added[row]) liveRows.add(all.get(row));
+        DuplicateIndex recomputed = new DuplicateIndex();
+        recomputed.recompute(liveRows);
+
+        ExpenseStore batch = new ExpenseStore();
+        for (int i = 0; i < 5_000; i++) batch.add(all.get(random.nextInt(all.size())));
+        DuplicateIndex.Split split = index.split(batch);
+
+        Map<String, Integer> left = new HashMap<>(live);
+        int expectedDuplicates = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            String key = key(batch, row);
+            if (left.getOrDefault(key, 0) > 0) {
+                left.merge(key, -1, Integer::sum);
+                expectedDuplicates++;
+            }
+        }
+        DuplicateIndex.Split fromScratch = recomputed.split(batch);
+        assertEquals(expectedDuplicates, fromScratch.duplicates.size(), "A recomputed index");
+        assertEquals(expectedDuplicates, split.duplicates.size(), "An index kept up to date row by row");
+        assertEquals(batch.size() - expectedDuplicates, split.fresh.size());
+        assertTrue(split.bloomPassed < batch.size(), "The Bloom filter still turns rows away");
+    }
+
+    @Test
+    public void testOverlappingStatementsSkipTheRowsAlreadyImported() throws IOException {
+        String rice = "2024-01-05,Rice,Food,1,10.00,10.00\n";
+        String bus = "2024-01-06,Bus,Transport,1,0.80,0.80\n";
+        String tea = "2024-01-07,Tea,Food,1,1.00,1.00\n";
+        Path january = dir.resolve("january.csv"), overlap = dir.resolve("overlap.csv");
+        Files.write(january, (HEADER + rice + bus + bus).getBytes(StandardCharsets.UTF_8));
+        Files.write(overlap, (HEADER + bus + bus + bus + tea + rice).getBytes(StandardCharsets.UTF_8));
+
+        BudgetEngine engine = new BudgetEngine();
+        assertEquals(0, engine.importStatements(List.of(january.toFile())).duplicates.size());
+        StatementImporter.Result result = engine.importStatements(List.of(overlap.toFile()));
+
+        assertEquals(3, result.duplicates.size(), "Rice and the two buses are already in the ledger");
+        assertEquals(2, result.batch.size(), "The third bus and the tea are new");
+        assertEquals(5, engine.getStore().size());
+
+        engine.undo();
+        engine.deleteExpense(0); // rice leaves the ledger, so the next import brings it back
+        result = engine.importStatements(List.of(overlap.toFile()));
+        assertEquals(2, result.duplicates.size());
+        assertEquals("Rice", result.batch.getDescription(0));
+    }
+}
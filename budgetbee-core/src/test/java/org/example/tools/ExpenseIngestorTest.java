@@ -0,0 +1,126 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpenseIngestorTest {
+    private ExecutorService ledgerThread; // the engine is only touched here, as on the EDT in the app
+    private BudgetEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        ledgerThread = Executors.newSingleThreadExecutor();
+        engine = new BudgetEngine();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ledgerThread.shutdownNow();
+    }
+
+    private ExpenseStore rowsOnTheLedgerThread() throws Exception {
+        return ledgerThread.submit(() -> engine.getStore().copy()).get(10, TimeUnit.SECONDS);
+    }
+
+    // Holds the ledger thread until the latch opens, so batches queue up behind it
+    private CountDownLatch blockLedgerThread() {
+        CountDownLatch release = new CountDownLatch(1);
+        ledgerThread.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return release;
+    }
+
+    @Test
+    public void testProducersKeepTheirOrderAndNothingIsLost() throws Exception {
+        int producers = 6, perProducer = 20_000;
+        ExpenseIngestor ingestor = new ExpenseIngestor(engine, ledgerThread, 1024, 300); // many laps of the ring
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String name = "p" + p;
+            boolean offering = p % 2 == 0;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (!offering) ingestor.submit(i, name, "Food", 1, i);
+                    else while (!ingestor.offer(i, name, "Food", 1, i)) Thread.onSpinWait();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        ingestor.close();
+        assertTrue(ingestor.awaitClosed(30, TimeUnit.SECONDS));
+
+        ExpenseStore rows = rowsOnTheLedgerThread();
+        assertEquals(producers * perProducer, rows.size(), "Every submitted row arrives once");
+        long[] next = new long[producers];
+        for (int row = 0; row < rows.size(); row++) {
+            int p = Integer.parseInt(rows.getDescription(row).substring(1));
+            assertEquals(next[p]++, rows.getAmount(row), "Rows of producer " + p + " stay in submit order");
+        }
+        assertEquals(0, ingestor.pending());
+        assertEquals((long) producers * perProducer * (perProducer - 1) / 2, ledgerThread.submit(() -> engine.getTotal()).get());
+    }
+
+    @Test
+    public void testOfferFailsWhileTheRingIsFull() throws Exception {
+        CountDownLatch release = blockLedgerThread();
+        ExpenseIngestor ingestor = new ExpenseIngestor(engine, ledgerThread, 16, 4);
+        int accepted = 0, round;
+        do { // offer until refused, give the consumer time to take what it can, and again until it takes nothing
+            round = 0;
+            while (accepted <= 100 && ingestor.offer(1, "Tea", "Food", 1, accepted)) round++;
+            accepted += round;
+            Thread.sleep(50);
+        } while (round > 0 && accepted <= 100);
+        // The ring's 16 slots, the first batch handed over (1 to 4 rows), and a full batch of 4 waiting behind it
+        assertTrue(accepted >= 16 + 1 + 4 && accepted <= 16 + 2 * 4, "offer stopped at " + accepted);
+        assertFalse(ingestor.offer(1, "Tea", "Food", 1, -1), "Still full: nothing was applied");
+
+        release.countDown();
+        ingestor.close();
+        assertTrue(ingestor.awaitClosed(10, TimeUnit.SECONDS));
+        assertEquals(accepted, rowsOnTheLedgerThread().size(), "Every accepted row, and no refused one");
+    }
+
+    @Test
+    public void testCloseDrainsWhatIsQueued() throws Exception {
+        CountDownLatch release = blockLedgerThread();
+        ExpenseIngestor ingestor = new ExpenseIngestor(engine, ledgerThread, 1024, 64);
+        for (int i = 0; i < 500; i++) ingestor.submit(i, "Rice", "Food", 1, 100);
+        ingestor.close();
+        assertFalse(ingestor.awaitClosed(50, TimeUnit.MILLISECONDS), "The queued rows wait for the ledger thread");
+
+        release.countDown();
+        assertTrue(ingestor.awaitClosed(10, TimeUnit.SECONDS));
+        ExpenseStore rows = rowsOnTheLedgerThread();
+        assertEquals(500, rows.size());
+        for (int row = 0; row < rows.size(); row++) assertEquals(row, rows.getDate(row));
+    }
+
+    @Test
+    public void testSubmitAndOfferThrowAfterClose() throws Exception {
+        ExpenseIngestor ingestor = new ExpenseIngestor(engine, ledgerThread);
+        ingestor.submit(1, "Bus", "Transport", 1, 80);
+        ingestor.close();
+        ingestor.close(); // a second close is harmless
+        assertThrows(IllegalStateException.class, () -> ingestor.submit(2, "Bus", "Transport", 1, 80));
+        assertThrows(IllegalStateException.class, () -> ingestor.offer(2, "Bus", "Transport", 1, 80));
+        assertTrue(ingestor.awaitClosed(10, TimeUnit.SECONDS));
+        assertEquals(1, rowsOnTheLedgerThread().size(), "Only the row from before close");
+    }
+}
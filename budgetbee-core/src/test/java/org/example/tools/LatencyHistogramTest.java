@@ -0,0 +1,75 @@
+package org.example.tools;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEveryValueFallsInsideItsBucket() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long v = i < 1000 ? i : random.nextLong() >>> (1 + random.nextInt(63));
+            int bucket = LatencyHistogram.index(v);
+            assertTrue(v <= LatencyHistogram.upperBound(bucket), v + " above its bucket " + bucket);
+            if (bucket > 0) assertTrue(v > LatencyHistogram.upperBound(bucket - 1), v + " also fits bucket " + (bucket - 1));
+            if (v >= 16) assertTrue(LatencyHistogram.upperBound(bucket) - v <= v / 8, "Bucket of " + v + " is wider than 12.5%");
+        }
+        assertTrue(LatencyHistogram.index(Long.MAX_VALUE) < 64 * 8, "The largest value has a counter");
+    }
+
+    @Test
+    public void testPercentilesWithinTheBucketError() {
+        Random random = new Random(2);
+        long[] values = new long[50_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(8 + 6 * random.nextDouble()); // about 3 us to 3 s, log-uniform
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        LatencyHistogram.Snapshot s = histogram.snapshot();
+        for (double q : new double[]{0.01, 0.5, 0.9, 0.99, 0.999, 1.0}) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            long reported = s.percentileNanos(q);
+            assertTrue(reported >= exact && reported <= exact + exact / 8, "p" + q + ": " + reported + " for " + exact);
+        }
+        assertEquals(values[values.length - 1], s.percentileNanos(1.0), "Never above the max seen");
+        assertEquals(values.length, s.count);
+        assertEquals(Arrays.stream(values).sum(), s.sumNanos);
+    }
+
+    @Test
+    public void testEmptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().percentileNanos(0.5));
+        assertEquals(0, histogram.snapshot().meanNanos());
+        histogram.record(-5); // a clock step backwards
+        assertEquals(0, histogram.snapshot().maxNanos);
+        assertEquals(1, histogram.snapshot().count);
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().count);
+    }
+
+    @Test
+    public void testRecordingFromSeveralThreads() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            long value = 1000L * (t + 1);
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) histogram.record(value);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        LatencyHistogram.Snapshot s = histogram.snapshot();
+        assertEquals(8 * 50_000, s.count, "No record lost");
+        assertEquals(50_000L * 1000 * (1 + 2 + 3 + 4 + 5 + 6 + 7 + 8), s.sumNanos);
+        assertEquals(8000, s.maxNanos);
+    }
+}
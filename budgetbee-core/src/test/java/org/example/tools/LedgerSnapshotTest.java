@@ -0,0 +1,118 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerSnapshotTest {
+    private static final int HEADER_SIZE = 24 + 7 * 16 + 8; // see the layout in LedgerSnapshot
+
+    @TempDir
+    Path dir;
+
+    private static ExpenseStore sampleRows() {
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < 1000; i++) store.add(19_000 + i % 60, "Row " + i % 37, i % 2 == 0 ? "Food" : "Bills", 1 + i % 4, 125L * i);
+        return store;
+    }
+
+    private Path writeSample() throws IOException {
+        Path file = dir.resolve("expenses" + LedgerSnapshot.EXTENSION);
+        LedgerSnapshot.write(file, sampleRows(), 42);
+        return file;
+    }
+
+    private static String readFailure(Path file) {
+        return assertThrows(IOException.class, () -> LedgerSnapshot.read(file)).getMessage();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ExpenseStore rows = sampleRows();
+        LedgerSnapshot loaded = LedgerSnapshot.read(writeSample());
+        assertEquals(42, loaded.generation());
+        assertEquals(rows.size(), loaded.store().size());
+        for (int row = 0; row < rows.size(); row += 13) {
+            assertEquals(rows.getDate(row), loaded.store().getDate(row));
+            assertEquals(rows.getDescription(row), loaded.store().getDescription(row));
+            assertEquals(rows.getCategory(row), loaded.store().getCategory(row));
+            assertEquals(rows.getTotal(row), loaded.store().getTotal(row));
+        }
+    }
+
+    @Test
+    public void testBadBlockChecksum() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[HEADER_SIZE + 5] ^= 1; // one bit of the dates block
+        Files.write(file, bytes);
+        assertTrue(readFailure(file).startsWith("Snapshot block 0 checksum mismatch"), readFailure(file));
+
+        bytes[HEADER_SIZE + 5] ^= 1;
+        bytes[bytes.length - 2] ^= 1; // the category dictionary, the last block
+        Files.write(file, bytes);
+        assertTrue(readFailure(file).startsWith("Snapshot block 6 checksum mismatch"), readFailure(file));
+    }
+
+    @Test
+    public void testBadHeaderChecksum() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[19] ^= 1; // the generation
+        Files.write(file, bytes);
+        assertTrue(readFailure(file).startsWith("Snapshot header checksum mismatch"), readFailure(file));
+    }
+
+    @Test
+    public void testTruncatedFile() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertTrue(readFailure(file).startsWith("Truncated snapshot"), readFailure(file));
+        Files.write(file, Arrays.copyOf(bytes, HEADER_SIZE - 1));
+        assertTrue(readFailure(file).startsWith("Snapshot too short"), readFailure(file));
+        Files.write(file, new byte[0]);
+        assertTrue(readFailure(file).startsWith("Not a BudgetBee snapshot"), readFailure(file));
+    }
+
+    @Test
+    public void testWrongMagicOrVersion() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, ("Date,Description\n" + new String(bytes, StandardCharsets.ISO_8859_1)).getBytes(StandardCharsets.ISO_8859_1));
+        assertTrue(readFailure(file).startsWith("Not a BudgetBee snapshot"), "A CSV by another name");
+
+        ByteBuffer.wrap(bytes).putInt(4, 2);
+        Files.write(file, bytes);
+        assertEquals("Unsupported snapshot version 2", readFailure(file));
+    }
+
+    @Test
+    public void testOpenFallsBackToTheCsvPastADamagedSnapshot() throws IOException {
+        File csv = dir.resolve("expenses.csv").toFile();
+        Files.writeString(csv.toPath(), "Date,Description,Category,Quantity,Amount,Total\n2024-07-25,Rice,Food,2,5.00,10.00\n");
+        Path snapshot = writeSample();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[HEADER_SIZE + 5] ^= 1;
+        Files.write(snapshot, bytes);
+        assertTrue(snapshot.toFile().setLastModified(csv.lastModified() + 1000), "The snapshot is the newer file");
+
+        BudgetEngine engine = new BudgetEngine();
+        engine.open(csv);
+        assertEquals(1, engine.getStore().size(), "The CSV's rows, not the snapshot's");
+        assertEquals(1000, engine.getTotal());
+        assertTrue(engine.isSaveable(), "Nothing is missing");
+        assertTrue(engine.getLoadNotice().startsWith("the snapshot expenses.bbl could not be read (Snapshot block 0"), engine.getLoadNotice());
+        engine.close();
+    }
+}
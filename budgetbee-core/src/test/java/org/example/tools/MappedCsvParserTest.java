@@ -0,0 +1,101 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedCsvParserTest {
+    private static final String HEADER = "Date,Description,Category,Quantity,Amount,Total\n";
+
+    @TempDir
+    Path dir;
+
+    private Path write(String content) throws IOException {
+        Path file = dir.resolve("expenses.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testRejectedLinesAreCountedWithOffsets() throws IOException {
+        String good = "2024-01-05,Rice,Food,2,12.50,25.00\n";
+        String shortLine = "2024-01-06,Bus,Transport\n";
+        String badAmount = "2024-01-07,Lamp,Shopping,1,twelve,12\n";
+        Path file = write(HEADER + good + shortLine + "\n" + badAmount + good);
+
+        ExpenseStore rows = new ExpenseStore();
+        MappedCsvParser.Result result = new MappedCsvParser().parse(file, (chunk, done, size) -> rows.appendAll(chunk), () -> false);
+
+        assertEquals(2, result.rows);
+        assertEquals(2, rows.size());
+        assertEquals(2, result.rejected, "Blank lines are not rejects, short and malformed lines are");
+        long shortAt = HEADER.length() + good.length();
+        long badAt = shortAt + shortLine.length() + 1;
+        assertArrayEquals(new long[]{shortAt, badAt}, result.rejectedOffsets);
+        assertTrue(result.describeRejects(file, 1).startsWith("2 lines of expenses.csv could not be read (at bytes " + shortAt + ", ..."));
+    }
+
+    @Test
+    public void testCleanFileHasNoRejects() throws IOException {
+        Path file = write(HEADER + "2024-01-05,\"Rice, basmati\",Food,2,৳12.50,25.00\n");
+        MappedCsvParser.Result result = new MappedCsvParser().parse(file, (chunk, done, size) -> { }, () -> false);
+        assertEquals(1, result.rows);
+        assertFalse(result.hasRejects());
+    }
+
+    @Test
+    public void testEngineRefusesToReplaceFileWithRejects() throws IOException {
+        Path file = write(HEADER + "2024-01-05,Rice,Food,2,12.50,25.00\nnot an expense\n");
+        byte[] before = Files.readAllBytes(file);
+
+        BudgetEngine engine = new BudgetEngine();
+        engine.open(file.toFile());
+        assertEquals(1, engine.getStore().size());
+        assertFalse(engine.isSaveable());
+
+        engine.addExpense(19800, "Tea", "Food", 1, 300);
+        engine.saveData(file.toFile());
+        assertArrayEquals(before, Files.readAllBytes(file), "The unreadable line must survive");
+        assertFalse(new File(dir.toFile(), "expenses" + LedgerSnapshot.EXTENSION).exists(), "No snapshot may hide it either");
+        engine.close();
+    }
+
+    @Test
+    public void testBareQuoteInsideAFieldDoesNotShiftLaterChunks() throws IOException {
+        // About 4 MB, so a one-thread pool cuts it into 1 MB chunks; the bare quote sits in the first one
+        StringBuilder csv = new StringBuilder(HEADER).append("2024-01-05,5\" pipe,Bills,1,3.00,3.00\n");
+        int lines = 1;
+        while (csv.length() < 4 << 20) {
+            if (lines % 1000 == 0) csv.append("2024-01-06,\"Rice, \"\"basmati\"\"\nsecond line\",Food,1,2.00,2.00\n");
+            else csv.append("2024-01-07,Tea number ").append(lines).append(",Food,1,0.50,0.50\n");
+            lines++;
+        }
+        Path file = write(csv.toString());
+
+        ExpenseStore rows = new ExpenseStore();
+        ForkJoinPool pool = new ForkJoinPool(1);
+        MappedCsvParser.Result result;
+        try {
+            result = new MappedCsvParser(pool).parse(file, (chunk, done, size) -> rows.appendAll(chunk), () -> false);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertFalse(result.hasRejects(), () -> result.describeRejects(file, 5));
+        assertEquals(lines, rows.size());
+        assertEquals("5\" pipe", rows.getDescription(0), "A quote inside a field is a plain character");
+        for (int row = 1; row < rows.size(); row++) {
+            String expected = row % 1000 == 0 ? "Rice, \"basmati\"\nsecond line" : "Tea number " + row;
+            assertEquals(expected, rows.getDescription(row), "Row " + row);
+        }
+    }
+}
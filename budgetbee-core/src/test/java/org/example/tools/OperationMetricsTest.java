@@ -0,0 +1,89 @@
+package org.example.tools;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OperationMetricsTest {
+
+    @Test
+    public void testOperationsAreSharedAndCountedAcrossThreads() throws InterruptedException {
+        OperationMetrics metrics = new OperationMetrics();
+        OperationMetrics.Operation op = metrics.operation("test.shared");
+        assertSame(op, metrics.operation("test.shared"));
+
+        Thread[] threads = new Thread[6];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) metrics.operation("test.shared").record(2_000);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(60_000, op.getCount());
+        assertEquals(2.0, op.getMeanMicros());
+        assertTrue(op.getP99Micros() >= 2.0 && op.getP99Micros() <= 2.25, "Within one bucket: " + op.getP99Micros());
+        op.reset();
+        assertEquals(0, op.getCount());
+    }
+
+    @Test
+    public void testJsonLine() {
+        OperationMetrics metrics = new OperationMetrics();
+        metrics.operation("test.b").record(3_000);
+        metrics.operation("test.a").record(1_000);
+        String json = metrics.toJson();
+        assertTrue(json.contains("\"test.a\":{\"count\":1,\"meanMicros\":1.0,\"p50Micros\":1.0,\"p99Micros\":1.0,\"maxMicros\":1.0}"), json);
+        assertTrue(json.indexOf("test.a") < json.indexOf("test.b"), "Operations in name order");
+    }
+
+    @Test
+    public void testDumpAppendsAndReportsAFailureOnce(@TempDir Path dir) throws Exception {
+        OperationMetrics metrics = new OperationMetrics();
+        metrics.operation("test.dump").record(1_000);
+        Path file = dir.resolve("metrics.jsonl");
+        metrics.dump(file);
+        metrics.dump(file);
+        assertEquals(2, Files.readAllLines(file).size());
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            for (int i = 0; i < 3; i++) metrics.dump(dir); // a directory cannot be appended to
+        } finally {
+            System.setErr(err);
+        }
+        String printed = captured.toString(StandardCharsets.UTF_8);
+        assertEquals(1, printed.lines().count(), printed);
+        assertTrue(printed.startsWith("Cannot write metrics to " + dir), printed);
+    }
+
+    @Test
+    public void testOperationsShowUpOverJmx() throws Exception {
+        OperationMetrics metrics = new OperationMetrics();
+        metrics.operation("test.jmx.before").record(1_000);
+        metrics.exposeOverJmx();
+        ObjectName before = new ObjectName(OperationMetrics.JMX_DOMAIN + ":type=Operation,name=" + ObjectName.quote("test.jmx.before"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!ManagementFactory.getPlatformMBeanServer().isRegistered(before) && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(before, "Count"));
+
+        metrics.operation("test.jmx.after");
+        ObjectName after = new ObjectName(OperationMetrics.JMX_DOMAIN + ":type=Operation,name=" + ObjectName.quote("test.jmx.after"));
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(after), "Operations created later register at once");
+
+        OperationMetrics other = new OperationMetrics(); // the same names again: left out quietly
+        other.operation("test.jmx.before");
+        other.exposeOverJmx();
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.tools;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowBitmapTest {
+
+    private static RowBitmap bitmapOf(NavigableSet<Integer> rows) {
+        RowBitmap bitmap = new RowBitmap();
+        for (int row : rows) bitmap.add(row);
+        return bitmap;
+    }
+
+    private static void assertSameRows(NavigableSet<Integer> expected, RowBitmap actual, String message) {
+        assertEquals(expected.size(), actual.cardinality(), message + ": cardinality");
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), actual.toArray(), message);
+        assertEquals(expected.isEmpty(), actual.isEmpty(), message + ": isEmpty");
+    }
+
+    // Sparse rows, dense runs (bitmap containers) and rows near the 65536 boundaries
+    private static TreeSet<Integer> randomRows(Random random) {
+        TreeSet<Integer> rows = new TreeSet<>();
+        int containers = 1 + random.nextInt(5);
+        for (int c = 0; c < containers; c++) {
+            int base = random.nextInt(6) << 16;
+            if (random.nextBoolean()) {
+                int from = base + random.nextInt(20_000), to = from + 5_000 + random.nextInt(40_000);
+                for (int row = from; row < to; row++) if (random.nextInt(4) != 0) rows.add(row);
+            } else {
+                for (int i = random.nextInt(200); i > 0; i--) rows.add(base + random.nextInt(1 << 16));
+            }
+            rows.add(base + 0xFFFF);
+        }
+        return rows;
+    }
+
+    // The reference: every row moved one by one
+    private static TreeSet<Integer> shifted(NavigableSet<Integer> rows, int[] starts, int[] offsets) {
+        TreeSet<Integer> result = new TreeSet<>();
+        for (int row : rows) {
+            int k = -1;
+            while (k + 1 < starts.length && starts[k + 1] <= row) k++;
+            if (k < 0) result.add(row);
+            else if (offsets[k] != Integer.MIN_VALUE) result.add(row + offsets[k]);
+        }
+        return result;
+    }
+
+    private static TreeSet<Integer> inserted(NavigableSet<Integer> rows, int[] positions) {
+        TreeSet<Integer> result = new TreeSet<>();
+        for (int row : rows) {
+            int k = 0;
+            while (k < positions.length && positions[k] <= row + k) k++;
+            result.add(row + k);
+        }
+        return result;
+    }
+
+    private static TreeSet<Integer> deleted(NavigableSet<Integer> rows, int[] removed) {
+        TreeSet<Integer> result = new TreeSet<>();
+        int k = 0;
+        for (int row : rows) {
+            while (k < removed.length && removed[k] < row) k++;
+            if (k < removed.length && removed[k] == row) continue;
+            result.add(row - k);
+        }
+        return result;
+    }
+
+    private static int[] ascending(Random random, int bound, int count) {
+        return random.ints(0, bound).distinct().limit(count).sorted().toArray();
+    }
+
+    @Test
+    public void testAddRemoveContainsAcrossContainerKinds() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> expected = randomRows(random);
+            RowBitmap bitmap = bitmapOf(expected);
+            assertSameRows(expected, bitmap, "round " + round);
+
+            // Thin a dense run out until its container turns back into an array, and back
+            List<Integer> rows = new ArrayList<>(expected);
+            for (int i = 0; i < rows.size(); i += 1 + random.nextInt(3)) {
+                bitmap.remove(rows.get(i));
+                expected.remove(rows.get(i));
+            }
+            bitmap.remove(Integer.MAX_VALUE);
+            assertSameRows(expected, bitmap, "round " + round + " after removals");
+            for (int i = 0; i < 1000; i++) {
+                int row = random.nextInt(6 << 16);
+                assertEquals(expected.contains(row), bitmap.contains(row), "contains " + row);
+                Integer floor = expected.floor(row);
+                assertEquals(floor == null ? -1 : floor, bitmap.previous(row), "previous " + row);
+            }
+        }
+    }
+
+    @Test
+    public void testRangeShiftsMatchMovingEveryRow() {
+        Random random = new Random(2);
+        for (int round = 0; round < 60; round++) {
+            TreeSet<Integer> expected = randomRows(random);
+            RowBitmap bitmap = bitmapOf(expected);
+            int first = random.nextInt(7 << 16);
+            // Offsets that are and are not multiples of 65536, so containers move by key and by value
+            int n = random.nextBoolean() ? 1 + random.nextInt(3 << 16) : (1 + random.nextInt(2)) << 16;
+            if (random.nextBoolean()) {
+                bitmap.apply(RowBitmap.Shift.inserted(first, n));
+                expected = shifted(expected, new int[]{first}, new int[]{n});
+            } else {
+                bitmap.apply(RowBitmap.Shift.deleted(first, n));
+                expected = shifted(expected, new int[]{first, first + n}, new int[]{Integer.MIN_VALUE, -n});
+            }
+            assertSameRows(expected, bitmap, "round " + round + " first " + first + " n " + n);
+        }
+    }
+
+    @Test
+    public void testScatteredShiftsMatchMovingEveryRow() {
+        Random random = new Random(3);
+        for (int round = 0; round < 60; round++) {
+            TreeSet<Integer> expected = randomRows(random);
+            RowBitmap bitmap = bitmapOf(expected);
+            int bound = expected.last() + 10;
+            if (random.nextBoolean()) {
+                int[] positions = ascending(random, bound, 1 + random.nextInt(random.nextBoolean() ? 5 : 500));
+                bitmap.apply(RowBitmap.Shift.inserted(positions));
+                expected = inserted(expected, positions);
+            } else {
+                int[] removed = ascending(random, bound, 1 + random.nextInt(random.nextBoolean() ? 5 : 500));
+                bitmap.apply(RowBitmap.Shift.deleted(removed));
+                expected = deleted(expected, removed);
+            }
+            assertSameRows(expected, bitmap, "round " + round);
+        }
+    }
+
+    @Test
+    public void testAdjacentScatteredRowsFormOneSegment() {
+        TreeSet<Integer> expected = new TreeSet<>(List.of(0, 1, 2, 3, 4, 5, 6));
+        RowBitmap bitmap = bitmapOf(expected);
+        bitmap.apply(RowBitmap.Shift.deleted(new int[]{2, 3, 5}));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, bitmap.toArray(), "4 and 6 move down by 2 and 3");
+        bitmap.apply(RowBitmap.Shift.inserted(new int[]{2, 3, 5}));
+        assertArrayEquals(new int[]{0, 1, 4, 6}, bitmap.toArray(), "and back up to where they were");
+    }
+
+    @Test
+    public void testShiftBelowTheChangeLeavesTheBitmapAlone() {
+        RowBitmap bitmap = bitmapOf(new TreeSet<>(List.of(3, 70_000)));
+        bitmap.apply(RowBitmap.Shift.inserted(70_001, 5));
+        bitmap.apply(RowBitmap.Shift.deleted(80_000, 5));
+        assertArrayEquals(new int[]{3, 70_000}, bitmap.toArray());
+        RowBitmap empty = new RowBitmap();
+        empty.apply(RowBitmap.Shift.deleted(0, 10));
+        assertTrue(empty.isEmpty());
+    }
+
+    @Test
+    public void testAndOrMatchSets() {
+        Random random = new Random(4);
+        for (int round = 0; round < 30; round++) {
+            TreeSet<Integer> a = randomRows(random), b = randomRows(random);
+            TreeSet<Integer> union = new TreeSet<>(a), intersection = new TreeSet<>(a);
+            union.addAll(b);
+            intersection.retainAll(b);
+            RowBitmap x = bitmapOf(a), y = bitmapOf(b);
+            assertSameRows(union, RowBitmap.or(x, y), "or, round " + round);
+            assertSameRows(intersection, RowBitmap.and(x, y), "and, round " + round);
+            assertSameRows(a, x, "The operands are left as they were");
+            RowBitmap copy = x.copy();
+            copy.add(Integer.MAX_VALUE - 1);
+            assertFalse(x.contains(Integer.MAX_VALUE - 1), "A copy is independent");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchIndexTest {
+    private static final String[] WORDS = {"uber", "Uber Eats", "coffee", "Coffee beans", "bus uber", "rice", "subway", "UBER"};
+
+    private static int rank(String text, String q) {
+        int at = text.indexOf(q);
+        if (at < 0) return -1;
+        return text.length() == q.length() ? 0 : at == 0 ? 1 : !Character.isLetterOrDigit(text.charAt(at - 1)) ? 2 : 3;
+    }
+
+    @Test
+    public void testRankedRowsMatchABruteForceSort() {
+        Random random = new Random(7);
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < 200_000; i++) store.add(19000, WORDS[random.nextInt(WORDS.length)], "Food", 1, 100);
+        SearchIndex index = new SearchIndex();
+        index.recompute(store);
+
+        for (String query : new String[]{"uber", "UB", "e", "coffee beans", "zzz"}) {
+            for (int limit : new int[]{1, 100, 1_000_000}) {
+                String q = query.toLowerCase(Locale.ROOT);
+                List<int[]> expected = new ArrayList<>(); // rank, row
+                for (int row = 0; row < store.size(); row++) {
+                    int r = rank(store.getDescription(row).toLowerCase(Locale.ROOT), q);
+                    if (r >= 0) expected.add(new int[]{r, row});
+                }
+                expected.sort(Comparator.<int[]>comparingInt(e -> e[0]).thenComparingInt(e -> -e[1]));
+
+                SearchIndex.Result result = index.search(query, limit);
+                assertEquals(expected.size(), result.matchingRows, query);
+                assertEquals(Math.min(limit, expected.size()), result.rankedRows.length, query);
+                for (int i = 0; i < result.rankedRows.length; i++) {
+                    assertEquals(expected.get(i)[1], result.rankedRows[i], query + " at " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRemovedRowsDropOutOfResults() {
+        ExpenseStore store = new ExpenseStore();
+        store.add(19000, "Taxi", "Transport", 1, 100);
+        store.add(19000, "Taxi home", "Transport", 1, 100);
+        SearchIndex index = new SearchIndex();
+        index.recompute(store);
+
+        index.remove(0, store.getDescriptionId(0));
+        SearchIndex.Result result = index.search("taxi", 10);
+        assertArrayEquals(new int[]{1}, result.rankedRows);
+        assertFalse(result.matches(store.getDescriptionId(0)), "A description without rows is not a match");
+        assertTrue(result.matches(store.getDescriptionId(1)));
+    }
+
+    // More shifts than the index queues, in the middle of the rows, checked against the store after each
+    @Test
+    public void testQueuedShiftsKeepRowsInStep() {
+        Random random = new Random(11);
+        ExpenseStore store = new ExpenseStore();
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 5_000; i++) store.add(19000, WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(300), "Food", 1, 100);
+        index.recompute(store);
+
+        for (int step = 0; step < 700; step++) {
+            int size = store.size();
+            if (random.nextBoolean()) {
+                int row = random.nextInt(size + 1);
+                ExpenseStore one = new ExpenseStore();
+                one.add(19000, WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(300), "Food", 1, 100);
+                store.insert(row, one.get(0));
+                index.shift(RowBitmap.Shift.inserted(row, 1));
+                index.add(row, store.getDescriptionId(row), store.getDescription(row));
+            } else {
+                int[] rows = random.ints(0, size).distinct().limit(1 + random.nextInt(3)).sorted().toArray();
+                for (int row : rows) index.remove(row, store.getDescriptionId(row));
+                store.removeRows(rows);
+                index.shift(RowBitmap.Shift.deleted(rows));
+            }
+            if (step % 50 != 0 && step != 699) continue;
+            String query = WORDS[random.nextInt(WORDS.length)].toLowerCase(Locale.ROOT);
+            List<Integer> expected = new ArrayList<>();
+            for (int row = store.size() - 1; row >= 0; row--) {
+                if (store.getDescription(row).toLowerCase(Locale.ROOT).contains(query)) expected.add(row);
+            }
+            SearchIndex.Result result = index.search(query, Integer.MAX_VALUE);
+            assertEquals(expected.size(), result.matchingRows, "step " + step);
+            int[] found = result.rankedRows.clone();
+            Arrays.sort(found);
+            for (int i = 0; i < found.length; i++) assertEquals((int) expected.get(found.length - 1 - i), found[i], "step " + step);
+        }
+    }
+}
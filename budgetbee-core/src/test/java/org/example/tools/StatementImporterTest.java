@@ -0,0 +1,119 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementImporterTest {
+    private static final String HEADER = "Date,Description,Category,Quantity,Amount,Total\n";
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String... lines) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, (HEADER + String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<String> descriptions(ExpenseStore store) {
+        List<String> result = new ArrayList<>();
+        for (int row = 0; row < store.size(); row++) result.add(store.getDescription(row));
+        return result;
+    }
+
+    @Test
+    public void testFailingFileDoesNotStopTheOthers() throws IOException {
+        Path first = write("a.csv", "2024-01-05,Rice,Food,1,10.00,10.00");
+        Path missing = dir.resolve("missing.csv");
+        Path last = write("c.csv", "2024-01-04,Bus,Transport,1,0.80,0.80");
+
+        StatementImporter.Result result = new StatementImporter(2).read(List.of(first.toFile(), missing.toFile(), last.toFile()));
+
+        assertEquals(List.of(first, last), result.imported);
+        assertEquals(List.of(missing), new ArrayList<>(result.errors.keySet()));
+        assertInstanceOf(NoSuchFileException.class, result.errors.get(missing), "The cause, not the pool's wrapper");
+        assertEquals(List.of("Bus", "Rice"), descriptions(result.batch), "The good files are read and merged by date");
+        assertTrue(result.rejects.isEmpty());
+    }
+
+    @Test
+    public void testSameDayRowsKeepFileThenLineOrder() throws IOException {
+        write("1.csv",
+                "2024-03-02,A1,Food,1,1.00,1.00",
+                "2024-03-01,A2,Food,1,1.00,1.00",
+                "2024-03-02,A3,Food,1,1.00,1.00");
+        write("2.csv",
+                "2024-03-02,B1,Food,1,1.00,1.00",
+                "1969-12-31,B2,Food,1,1.00,1.00",
+                "2024-03-01,B3,Food,1,1.00,1.00");
+        write("3.csv",
+                "1969-12-31,C1,Food,1,1.00,1.00",
+                "1950-06-01,C2,Food,1,1.00,1.00",
+                "2024-03-02,C3,Food,1,1.00,1.00",
+                "bad line");
+        Files.write(dir.resolve("notes.txt"), "not a statement".getBytes(StandardCharsets.UTF_8));
+
+        StatementImporter.Result result = new StatementImporter(3).read(List.of(dir.toFile()));
+
+        assertEquals(3, result.imported.size(), "Only the *.csv files in the directory");
+        assertEquals(List.of("C2", "B2", "C1", "A2", "B3", "A1", "A3", "B1", "C3"), descriptions(result.batch),
+                "By date, pre-1970 dates first; same-day rows by file name, then line");
+        assertEquals(List.of(dir.resolve("3.csv")), new ArrayList<>(result.rejects.keySet()));
+        assertEquals(EpochDays.parse("1950-06-01"), result.batch.getDate(0));
+    }
+
+    // The merge key is date << 32 | row: negative dates must still sort below positive ones, rows in order
+    @Test
+    public void testMergeOrdersNegativeDatesByDateThenRow() {
+        Random random = new Random(5);
+        List<ExpenseStore> stores = new ArrayList<>();
+        List<int[]> expected = new ArrayList<>(); // {date, position in the appended order}
+        int position = 0;
+        for (int s = 0; s < 4; s++) {
+            ExpenseStore store = new ExpenseStore();
+            for (int i = random.nextInt(400); i > 0; i--) {
+                int date = random.nextInt(3) == 0 ? -1 - random.nextInt(800_000) : random.nextInt(40) - 20;
+                store.add(date, "r" + position, "Food", 1, position);
+                expected.add(new int[]{date, position++});
+            }
+            stores.add(store);
+        }
+        expected.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+
+        ExpenseStore merged = StatementImporter.merge(stores);
+        assertEquals(expected.size(), merged.size());
+        for (int row = 0; row < merged.size(); row++) {
+            assertEquals(expected.get(row)[0], merged.getDate(row), "date of row " + row);
+            assertEquals(expected.get(row)[1], merged.getAmount(row), "row " + row + " is the same-day row that came first");
+            assertEquals("r" + expected.get(row)[1], merged.getDescription(row));
+        }
+    }
+
+    @Test
+    public void testImportIsOneUndoableStep() throws IOException {
+        Path file = write("a.csv", "2024-01-05,Rice,Food,2,10.00,20.00", "2024-01-06,Bus,Transport,1,0.80,0.80");
+        BudgetEngine engine = new BudgetEngine();
+        engine.addExpense(EpochDays.parse("2024-01-01"), "Tea", "Food", 1, 100);
+
+        StatementImporter.Result result = engine.importStatements(List.<File>of(file.toFile()));
+        assertEquals(2, result.batch.size());
+        assertEquals(3, engine.getStore().size());
+        assertEquals(2180, engine.getTotal());
+        engine.undo();
+        assertEquals(List.of("Tea"), descriptions(engine.getStore()));
+    }
+}
@@ -0,0 +1,668 @@
+package org.example;
+
+import org.example.model.DateRange;
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.example.model.Money;
+import org.example.tools.*;
+import javax.swing.*;
+import javax.swing.border.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
+import javax.swing.table.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.File;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// REMOVED "implements BudgetObserver" to keep it simple
+public class BudgetBee extends JFrame {
+
+    // 1. SINGLETON PATTERN
+    private static BudgetBee instance;
+
+    // --- UI Components ---
+    private JTextField descField, qtyField, amtField;
+    private JComboBox<String> catCombo;
+    private JComboBox<DateRange.Period> periodCombo;
+    private JComboBox<String> filterCombo;
+    private JLabel filterSummary;
+    private ExpenseRowSorter sorter;
+    private RowBitmap filterRows; // rows shown by the table, null = all
+    private JTextField searchField;
+    private Timer searchDebounce;
+    private SearchIndex.Result searchResult; // null = no search
+    private int searchSeq;                   // drops answers to queries that were typed over
+    private ExpenseStore store;
+    private ExpenseTableModel model;
+    private ExpenseTable table;
+    private JLabel lblTotal, lblItems, lblAvg;
+    private JPanel chartPanel;
+    private ChartRenderer chartRenderer; // draws off the EDT; the panel only blits its image
+    private JPanel mainPanel;
+    private JPanel loadPanel;
+    private JProgressBar loadProgress;
+    private SwingWorker<?, ?> loadWorker;
+    private final List<JButton> ledgerButtons = new ArrayList<>(); // change the ledger: off while it loads
+    private JButton saveButton;
+
+    // --- Logic & Patterns ---
+    private BudgetManagerFacade facade; // FACADE PATTERN
+    private final RefreshScheduler refresh = new RefreshScheduler(); // views redraw once per frame, not per change
+    private ChartStrategy chartStrategy = new PieChartStrategy(); // STRATEGY PATTERN
+
+    // --- Constants ---
+    private final Color BG_COLOR = new Color(245, 247, 250);
+    private final Color CARD_BG = Color.WHITE;
+    private final Color TEXT_COLOR = new Color(44, 62, 80);
+
+    private static final String ALL_CATEGORIES = "All categories";
+    private static final String SEARCH_PLACEHOLDER = "Search descriptions";
+    private static final int SEARCH_DELAY_MS = 150;
+    private static final int SEARCH_LIMIT = 100;
+    private static final String METRICS_FILE = "budgetbee-metrics.jsonl";
+    private static final int IMPORT_DUPLICATES_SHOWN = 10;
+    private static final OperationMetrics.Operation CHART_PAINT = OperationMetrics.global().operation("chart.paint");
+
+    // Queries run here, never on the EDT
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "budgetbee-search");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Color[] CHART_COLORS = {
+            new Color(255, 107, 107), new Color(78, 205, 196), new Color(255, 230, 109),
+            new Color(26, 83, 92), new Color(85, 98, 112), new Color(199, 244, 100)
+    };
+
+    // ==========================================
+    //               CONSTRUCTOR
+    // ==========================================
+    private BudgetBee() {
+        setupFrame();
+
+        // 1. Setup Logic
+        store = new ExpenseStore();
+        facade = new BudgetManagerFacade(store);
+        setupTableData();
+
+        // OBSERVER PATTERN (Simple Version)
+        // Every change only marks the views dirty; the scheduler refreshes them at the next frame
+        facade.addObserver(refresh::markAllDirty);
+        refresh.register(RefreshScheduler.View.STATS, this::updateUIStats);
+        refresh.register(RefreshScheduler.View.CHART, this::renderChart);
+        refresh.register(RefreshScheduler.View.TABLE, this::refreshTableViews);
+
+        // 2. Setup UI
+        setupHeader();
+        setupTableUI();
+        setupBottomPanel();
+        setupChartPanel();
+        // Rows loaded or recalculated while the indexes were suspended: the category filter picks them up again
+        facade.addRecalculationObserver(this::applyFilter);
+
+        // Field metrics: JMX (jconsole / VisualVM) and a JSON line per minute in budgetbee-metrics.jsonl
+        OperationMetrics.global().exposeOverJmx();
+        OperationMetrics.global().dumpEvery(Paths.get(METRICS_FILE), 1, TimeUnit.MINUTES);
+        // EDT stalls over -Dbudgetbee.edtStallMillis end up in flight recordings, with the EDT's stack
+        new EdtWatchdog().start();
+
+        // 3. Load Data (in the background, so the window shows up right away)
+        startLoad(new File("expenses.csv"));
+    }
+
+    public static synchronized BudgetBee getInstance() {
+        if (instance == null) instance = new BudgetBee();
+        return instance;
+    }
+
+    // ==========================================
+    //             UI SETUP METHODS
+    // ==========================================
+    private void setupFrame() {
+        setTitle("BudgetBee - Modern Expense Tracker");
+        setSize(1250, 800);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+
+        mainPanel = new JPanel(new BorderLayout(20, 20));
+        mainPanel.setBorder(new EmptyBorder(25, 25, 25, 25));
+        mainPanel.setBackground(BG_COLOR);
+        add(mainPanel);
+    }
+
+    private void setupTableData() {
+        model = new ExpenseTableModel(facade);
+        table = new ExpenseTable(model);
+        customizeTable(table);
+
+        // Sorting uses typed keys; filtering goes through the category bitmaps and the search index
+        sorter = new ExpenseRowSorter(model);
+        table.setRowSorter(sorter);
+    }
+
+    private void setupHeader() {
+        JPanel header = new JPanel(new BorderLayout());
+        header.setBackground(BG_COLOR);
+
+        JLabel title = new JLabel("BudgetBee");
+        title.setFont(new Font("Segoe UI", Font.BOLD, 32));
+        title.setForeground(TEXT_COLOR);
+
+        header.add(title, BorderLayout.NORTH);
+        header.add(new JLabel("Smart Expense Tracking"), BorderLayout.SOUTH);
+        header.add(createLoadPanel(), BorderLayout.EAST);
+
+        mainPanel.add(header, BorderLayout.NORTH);
+    }
+
+    private JPanel createLoadPanel() {
+        loadPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        loadPanel.setBackground(BG_COLOR);
+
+        loadProgress = new JProgressBar(0, 100);
+        loadProgress.setStringPainted(true);
+        loadProgress.setString("Loading...");
+
+        JButton bCancel = createBtn("Cancel", new Color(149, 165, 166));
+        bCancel.addActionListener(e -> {
+            if (loadWorker != null) loadWorker.cancel(true);
+        });
+
+        loadPanel.add(loadProgress);
+        loadPanel.add(bCancel);
+        loadPanel.setVisible(false);
+        return loadPanel;
+    }
+
+    private void setupTableUI() {
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.getViewport().setBackground(CARD_BG);
+        scroll.setBorder(BorderFactory.createEmptyBorder());
+
+        JPanel tableCard = new JPanel(new BorderLayout());
+        tableCard.setBorder(new LineBorder(new Color(230, 230, 230), 1, true));
+        tableCard.add(createFilterBar(), BorderLayout.NORTH);
+        tableCard.add(scroll);
+
+        mainPanel.add(tableCard, BorderLayout.CENTER);
+    }
+
+    private JPanel createFilterBar() {
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 8));
+        bar.setBackground(CARD_BG);
+
+        filterCombo = new JComboBox<>(new String[]{ALL_CATEGORIES});
+        filterCombo.setBackground(CARD_BG);
+        filterCombo.addPopupMenuListener(new PopupMenuListener() {
+            // Categories can come from loaded files, so the list is refreshed before it opens
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) { refreshFilterChoices(); }
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) { }
+            public void popupMenuCanceled(PopupMenuEvent e) { }
+        });
+        filterCombo.addActionListener(e -> applyFilter());
+
+        searchField = createField(SEARCH_PLACEHOLDER);
+        searchField.setColumns(18);
+        searchDebounce = new Timer(SEARCH_DELAY_MS, e -> runSearch());
+        searchDebounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            // Every keystroke restarts the timer, so only the last one in a burst is searched
+            public void insertUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            public void removeUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            public void changedUpdate(DocumentEvent e) { }
+        });
+
+        filterSummary = new JLabel();
+        filterSummary.setForeground(Color.GRAY);
+
+        bar.add(new JLabel("Show:"));
+        bar.add(filterCombo);
+        bar.add(searchField);
+        bar.add(filterSummary);
+        return bar;
+    }
+
+    private void setupBottomPanel() {
+        JPanel bottom = new JPanel();
+        bottom.setLayout(new BoxLayout(bottom, BoxLayout.Y_AXIS));
+        bottom.setBackground(BG_COLOR);
+
+        // Row 1: Inputs
+        JPanel inputPanel = new JPanel(new GridLayout(1, 4, 15, 0));
+        inputPanel.setBackground(BG_COLOR);
+
+        descField = createField("Description");
+        catCombo = new JComboBox<>(new String[]{"Food", "Transport", "Shopping", "Entertainment", "Bills", "Other"});
+        catCombo.setBackground(CARD_BG);
+        qtyField = createField("Qty");
+        amtField = createField("Amount");
+
+        inputPanel.add(descField);
+        inputPanel.add(catCombo);
+        inputPanel.add(qtyField);
+        inputPanel.add(amtField);
+
+        // Row 2: Stats
+        JPanel statsPanel = new JPanel(new GridLayout(1, 3, 20, 0));
+        statsPanel.setBackground(BG_COLOR);
+        statsPanel.setPreferredSize(new Dimension(-1, 80));
+
+        lblTotal = createStatLabel("TOTAL SPENT", new Color(255, 107, 107));
+        lblItems = createStatLabel("ITEMS", new Color(78, 205, 196));
+        lblAvg = createStatLabel("AVERAGE", new Color(255, 206, 86));
+
+        statsPanel.add(lblTotal);
+        statsPanel.add(lblItems);
+        statsPanel.add(lblAvg);
+
+        bottom.add(inputPanel);
+        bottom.add(createButtonPanel()); // Add Buttons Row
+        bottom.add(statsPanel);
+
+        mainPanel.add(bottom, BorderLayout.SOUTH);
+    }
+
+    private void setupChartPanel() {
+        chartPanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                // Draw Card Background
+                g.setColor(CARD_BG);
+                g.fillRoundRect(0, 0, getWidth(), getHeight(), 20, 20);
+
+                // Draw Chart (Strategy Pattern): the last image the renderer finished
+                long start = System.nanoTime();
+                Image chart = chartRenderer.image();
+                if (chart != null) g.drawImage(chart, 0, 0, null);
+                CHART_PAINT.recordSince(start);
+            }
+        };
+        chartPanel.setBackground(BG_COLOR);
+        chartRenderer = new ChartRenderer(chartPanel);
+        chartPanel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) { refresh.markDirty(RefreshScheduler.View.CHART); }
+        });
+
+        // Period selector above the chart; the report uses it too
+        periodCombo = new JComboBox<>(DateRange.Period.values());
+        periodCombo.setBackground(CARD_BG);
+        periodCombo.addActionListener(e -> refresh.markDirty(RefreshScheduler.View.CHART));
+
+        JPanel chartCard = new JPanel(new BorderLayout(0, 10));
+        chartCard.setPreferredSize(new Dimension(400, 0));
+        chartCard.setBackground(BG_COLOR);
+        chartCard.setBorder(new EmptyBorder(0, 15, 0, 0));
+        chartCard.add(periodCombo, BorderLayout.NORTH);
+        chartCard.add(chartPanel, BorderLayout.CENTER);
+
+        mainPanel.add(chartCard, BorderLayout.EAST);
+    }
+
+    // ==========================================
+    //           BUTTONS & LISTENERS
+    // ==========================================
+    private JPanel createButtonPanel() {
+        JPanel btns = new JPanel(new GridLayout(1, 8, 10, 0));
+        btns.setBackground(BG_COLOR);
+        btns.setBorder(new EmptyBorder(15, 0, 15, 0));
+
+        JButton bAdd = createBtn("Add", new Color(46, 204, 113));
+        JButton bSave = createBtn("Save", new Color(52, 152, 219));
+        JButton bImport = createBtn("Import", new Color(26, 188, 156));
+        JButton bDel = createBtn("Delete", new Color(231, 76, 60));
+        JButton bView = createBtn("View Bars", new Color(155, 89, 182));
+        JButton bUndo = createBtn("Undo", new Color(241, 196, 15));
+        JButton bRedo = createBtn("Redo", new Color(230, 126, 34));
+        JButton bRep = createBtn("Report", new Color(52, 73, 94));
+
+        // Add Listeners
+        bAdd.addActionListener(e -> performAddAction());
+        bSave.addActionListener(e -> facade.saveInBackground(new File("expenses.csv")));
+        bImport.addActionListener(e -> importStatements());
+        bDel.addActionListener(e -> deleteSelectedRows());
+        bUndo.addActionListener(e -> facade.undo());
+        bRedo.addActionListener(e -> facade.redo());
+        bRep.addActionListener(e -> showReport());
+
+        // Cycles pie -> bars -> timeline; the button names the next one
+        bView.addActionListener(e -> {
+            ChartFactory.Type next = chartStrategy instanceof PieChartStrategy ? ChartFactory.Type.BAR
+                    : chartStrategy instanceof BarChartStrategy ? ChartFactory.Type.TIME_SERIES : ChartFactory.Type.PIE;
+            chartStrategy = ChartFactory.create(next);
+            bView.setText(next == ChartFactory.Type.BAR ? "View Timeline" : next == ChartFactory.Type.TIME_SERIES ? "View Pie" : "View Bars");
+            refresh.markDirty(RefreshScheduler.View.CHART);
+        });
+
+        saveButton = bSave;
+        ledgerButtons.addAll(List.of(bAdd, bSave, bImport, bDel, bUndo, bRedo));
+
+        btns.add(bAdd); btns.add(bSave); btns.add(bImport); btns.add(bDel);
+        btns.add(bView); btns.add(bUndo); btns.add(bRedo); btns.add(bRep);
+
+        return btns;
+    }
+
+    // ==========================================
+    //              LOGIC METHODS
+    // ==========================================
+
+    // Commands replay into the journal by row index, so nothing may change the store until the load is over
+    private void startLoad(File file) {
+        setLedgerEditable(false);
+        loadWorker = facade.loadDataInBackground(file, () -> {
+            loadWorker = null;
+            loadPanel.setVisible(false);
+            setLedgerEditable(true);
+            if (!facade.isSaveable()) {
+                JOptionPane.showMessageDialog(this, "Saving is turned off so " + file.getName() + " keeps what the ledger lacks:\n"
+                        + facade.getUnsaveableReason() + ".", "Load", JOptionPane.WARNING_MESSAGE);
+            } else if (facade.getLoadNotice() != null) {
+                JOptionPane.showMessageDialog(this, "Loaded " + file.getName() + ", but " + facade.getLoadNotice() + ".",
+                        "Load", JOptionPane.INFORMATION_MESSAGE);
+            }
+        });
+        if (loadWorker == null) {
+            setLedgerEditable(true);
+            return;
+        }
+
+        loadProgress.setValue(0);
+        loadWorker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) loadProgress.setValue((Integer) e.getNewValue());
+        });
+        loadPanel.setVisible(true);
+    }
+
+    // A partly loaded ledger stays unsaveable: Save would write the missing rows out of the file
+    private void setLedgerEditable(boolean editable) {
+        if (table.isEditing()) table.getCellEditor().cancelCellEditing();
+        model.setEditable(editable);
+        for (JButton b : ledgerButtons) b.setEnabled(editable);
+        saveButton.setEnabled(editable && facade.isSaveable());
+        if (editable && !facade.isSaveable()) saveButton.setToolTipText("Not saved: " + facade.getUnsaveableReason());
+    }
+
+    // Refreshed by the RefreshScheduler, at most once per frame
+    private void updateUIStats() {
+        updateStatLabel(lblTotal, "$" + Money.plain(facade.getTotal()));
+        updateStatLabel(lblItems, String.valueOf(facade.getTotalItems()));
+        updateStatLabel(lblAvg, "$" + Money.plain(Money.average(facade.getTotal(), facade.getTotalItems())));
+    }
+
+    // Runs a frame after the change, so the table (and its sorter) has already seen it
+    private void refreshTableViews() {
+        updateFilterSummary();
+        if (searchResult != null) searchDebounce.restart(); // new rows may match too
+    }
+
+    // All selected rows as one command, so the views refresh once
+    private void deleteSelectedRows() {
+        int[] viewRows = table.getSelectedRows();
+        if (viewRows.length == 0) {
+            facade.deleteExpense(-1);
+            return;
+        }
+        int[] modelRows = new int[viewRows.length];
+        for (int i = 0; i < viewRows.length; i++) modelRows[i] = table.convertRowIndexToModel(viewRows[i]);
+        // Any number of rows is one command: one model event, one undo step
+        if (modelRows.length == 1) facade.deleteExpense(modelRows[0]);
+        else facade.deleteExpenses(modelRows);
+    }
+
+    private void refreshFilterChoices() {
+        var categories = facade.getStore().categories();
+        for (int id = filterCombo.getItemCount() - 1; id < categories.size(); id++) filterCombo.addItem(categories.get(id));
+    }
+
+    private void applyFilter() {
+        String category = (String) filterCombo.getSelectedItem();
+        filterRows = ALL_CATEGORIES.equals(category) ? null : facade.getCategoryRows(category);
+
+        List<RowFilter<TableModel, Integer>> filters = new ArrayList<>();
+        if (filterRows != null) filters.add(new BitmapRowFilter(filterRows));
+        if (searchResult != null) filters.add(new SearchRowFilter(store, searchResult));
+        sorter.setRowFilter(filters.isEmpty() ? null : filters.size() == 1 ? filters.get(0) : RowFilter.andFilter(filters));
+        updateFilterSummary();
+    }
+
+    // The query runs on the search thread; only the newest answer is applied, back on the EDT
+    private void runSearch() {
+        String text = searchField.getText().trim();
+        String query = text.equals(SEARCH_PLACEHOLDER) ? "" : text;
+        int seq = ++searchSeq;
+        if (query.isEmpty()) {
+            if (searchResult == null) return;
+            searchResult = null;
+            applyFilter();
+            return;
+        }
+        searchExecutor.execute(() -> {
+            SearchIndex.Result result = facade.search(query, SEARCH_LIMIT);
+            SwingUtilities.invokeLater(() -> {
+                if (seq != searchSeq) return;
+                searchResult = result;
+                applyFilter();
+                showTopMatch(result);
+            });
+        });
+    }
+
+    // Scrolls to the best-ranked match, unless the ledger changed since the query ran
+    private void showTopMatch(SearchIndex.Result result) {
+        if (result.rankedRows.length == 0 || result.version != facade.getSearchVersion()) return;
+        int viewRow = table.convertRowIndexToView(result.rankedRows[0]);
+        if (viewRow < 0) return;
+        table.getSelectionModel().setSelectionInterval(viewRow, viewRow);
+        table.scrollRectToVisible(table.getCellRect(viewRow, 0, true));
+    }
+
+    // Category-only totals come straight from the bitmap; with a search, from the visible rows
+    private void updateFilterSummary() {
+        if (filterSummary == null) return;
+        if (searchResult != null) {
+            long total = 0;
+            for (int v = 0; v < table.getRowCount(); v++) total += store.getTotal(table.convertRowIndexToModel(v));
+            filterSummary.setText(String.format("%,d matches  |  %s", table.getRowCount(), Money.format(total)));
+        } else if (filterRows == null) {
+            filterSummary.setText(String.format("%,d rows", facade.getStore().size()));
+        } else {
+            filterSummary.setText(String.format("%,d rows  |  %s", filterRows.cardinality(), Money.format(facade.getTotal(filterRows))));
+        }
+    }
+
+    private void performAddAction() {
+        String desc = descField.getText().trim();
+        String qtyStr = qtyField.getText().trim();
+        String amtStr = amtField.getText().trim();
+
+        if (desc.equals("Description") || qtyStr.equals("Qty") || amtStr.equals("Amount") ||
+                desc.isEmpty() || qtyStr.isEmpty() || amtStr.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please fill in all fields.", "Missing Info", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        try {
+            int qty = Integer.parseInt(qtyStr);
+            long amt = Money.parse(amtStr);
+
+            if (qty <= 0 || amt <= 0) throw new NumberFormatException();
+
+            int date = EpochDays.today();
+            String category = (String) catCombo.getSelectedItem();
+
+            facade.addExpense(date, desc, category, qty, amt);
+
+            // Reset Fields
+            descField.setText("Description"); descField.setForeground(Color.GRAY);
+            qtyField.setText("Qty"); qtyField.setForeground(Color.GRAY);
+            amtField.setText("Amount"); amtField.setForeground(Color.GRAY);
+
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "Enter valid positive numbers.", "Invalid Input", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // Statement CSVs and folders of them, added in date order as one undo step
+    private void importStatements() {
+        JFileChooser chooser = new JFileChooser(new File("."));
+        chooser.setDialogTitle("Import Statements");
+        chooser.setMultiSelectionEnabled(true);
+        chooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV statements", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        facade.importInBackground(List.of(chooser.getSelectedFiles()), result -> {
+            StringBuilder message = new StringBuilder(String.format("Imported %,d rows from %d file(s).",
+                    result.batch.size(), result.imported.size()));
+            ExpenseStore dup = result.duplicates;
+            if (dup.size() > 0) {
+                message.append(String.format("%nSkipped %,d rows already in the ledger:", dup.size()));
+                for (int i = 0; i < Math.min(dup.size(), IMPORT_DUPLICATES_SHOWN); i++) {
+                    message.append(String.format("%n  %s  %s  %s  x%d  %s", EpochDays.format(dup.getDate(i)), dup.getDescription(i),
+                            dup.getCategory(i), dup.getQuantity(i), Money.format(dup.getAmount(i))));
+                }
+                if (dup.size() > IMPORT_DUPLICATES_SHOWN) message.append(String.format("%n  ... and %,d more", dup.size() - IMPORT_DUPLICATES_SHOWN));
+            }
+            result.errors.forEach((file, error) -> message.append("\n").append(file.getFileName()).append(": ").append(error.getMessage()));
+            result.rejects.forEach((file, read) -> message.append("\n").append(read.describeRejects(file, BudgetEngine.REJECTS_SHOWN)));
+            JOptionPane.showMessageDialog(this, message.toString(), "Import",
+                    result.errors.isEmpty() && result.rejects.isEmpty() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+        });
+    }
+
+    private void showReport() {
+        CategoryComponent root = new CategoryGroup("Total Budget");
+        CategoryComponent needs = new CategoryGroup("Needs");
+        CategoryComponent wants = new CategoryGroup("Wants");
+
+        DateRange.Period period = (DateRange.Period) periodCombo.getSelectedItem();
+        var totals = facade.getCategoryTotals(selectedRange());
+
+        needs.add(new CategoryLeaf("Food", totals.getOrDefault("Food", 0L)));
+        needs.add(new CategoryLeaf("Bills", totals.getOrDefault("Bills", 0L)));
+        needs.add(new CategoryLeaf("Transport", totals.getOrDefault("Transport", 0L)));
+
+        wants.add(new CategoryLeaf("Shopping", totals.getOrDefault("Shopping", 0L)));
+        wants.add(new CategoryLeaf("Entertainment", totals.getOrDefault("Entertainment", 0L)));
+        wants.add(new CategoryLeaf("Other", totals.getOrDefault("Other", 0L)));
+
+        root.add(needs);
+        root.add(wants);
+
+        JOptionPane.showMessageDialog(this,
+                "Needs: $" + Money.plain(needs.getAmount()) + "\nWants: $" + Money.plain(wants.getAmount())
+                        + "\n\nTotal: $" + Money.plain(root.getAmount()),
+                "Composite Report - " + period, JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // Snapshot of the selected period's totals; the renderer skips it if the chart would not change
+    private void renderChart() {
+        DateRange range = selectedRange();
+        TimeSeries series = chartStrategy.needsSeries() ? facade.getDailySeries(range) : null;
+        ChartData data = ChartData.of(facade.getTotal(range), facade.getCategoryTotals(range), series);
+        chartRenderer.render(data, chartStrategy, chartPanel.getWidth(), chartPanel.getHeight(), CHART_COLORS);
+    }
+
+    private DateRange selectedRange() {
+        return ((DateRange.Period) periodCombo.getSelectedItem()).range(LocalDate.now());
+    }
+
+    // ==========================================
+    //              UI HELPER METHODS
+    // ==========================================
+
+    private JTextField createField(String placeholder) {
+        JTextField f = new JTextField(placeholder);
+        f.setForeground(Color.GRAY);
+        f.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        f.setBorder(BorderFactory.createCompoundBorder(new LineBorder(new Color(200, 210, 230), 1), new EmptyBorder(8, 8, 8, 8)));
+        f.addFocusListener(new FocusAdapter() {
+            public void focusGained(FocusEvent e) {
+                if (f.getText().equals(placeholder)) {
+                    f.setText("");
+                    f.setForeground(TEXT_COLOR);
+                }
+            }
+            public void focusLost(FocusEvent e) {
+                if (f.getText().isEmpty()) {
+                    f.setText(placeholder);
+                    f.setForeground(Color.GRAY);
+                }
+            }
+        });
+        return f;
+    }
+
+    private JButton createBtn(String text, Color bg) {
+        JButton btn = new JButton(text);
+        btn.setBackground(bg);
+        btn.setForeground(Color.WHITE);
+        btn.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        btn.setFocusPainted(false);
+        return btn;
+    }
+
+    private JLabel createStatLabel(String title, Color accentColor) {
+        JLabel label = new JLabel();
+        label.setOpaque(true);
+        label.setBackground(CARD_BG);
+        label.setBorder(new LineBorder(new Color(220, 220, 220)));
+        label.setHorizontalAlignment(SwingConstants.CENTER);
+
+        // Store properties to reuse in updateStatLabel
+        label.putClientProperty("title", title);
+        label.putClientProperty("color", accentColor);
+
+        updateStatLabel(label, "0");
+        return label;
+    }
+
+    private void updateStatLabel(JLabel label, String value) {
+        String title = (String) label.getClientProperty("title");
+        Color color = (Color) label.getClientProperty("color");
+        String hexColor = String.format("#%06x", color.getRGB() & 0xFFFFFF);
+
+        label.setText("<html><center>" +
+                "<span style='color:gray;font-size:10px;letter-spacing:1px'>" + title + "</span><br>" +
+                "<span style='color:" + hexColor + ";font-size:20px;font-weight:bold'>" + value + "</span>" +
+                "</center></html>");
+    }
+
+    private void customizeTable(JTable table) {
+        table.setRowHeight(50);
+        table.setShowVerticalLines(false);
+        table.setGridColor(new Color(240, 240, 240));
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        table.setSelectionBackground(new Color(232, 240, 254));
+        table.setSelectionForeground(Color.BLACK);
+
+        // Cells are typed; dates and money are formatted (and edited as text) through one cache
+        FormatCache format = new FormatCache();
+        ExpenseCellRenderer centerRenderer = new ExpenseCellRenderer(format, store);
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            table.getColumnModel().getColumn(i).setCellRenderer(centerRenderer);
+        }
+        ExpenseCellEditor textEditor = new ExpenseCellEditor(format);
+        table.setDefaultEditor(LocalDate.class, textEditor);
+        table.setDefaultEditor(Long.class, textEditor);
+
+        JTableHeader header = table.getTableHeader();
+        header.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        header.setBackground(CARD_BG);
+        header.setBorder(BorderFactory.createMatteBorder(0, 0, 2, 0, new Color(230, 230, 230)));
+    }
+}
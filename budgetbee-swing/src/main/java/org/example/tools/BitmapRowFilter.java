@@ -0,0 +1,18 @@
+package org.example.tools;
+
+import javax.swing.RowFilter;
+import javax.swing.table.TableModel;
+
+// Shows only the rows in a RowBitmap (ExpenseTableModel rows are store rows, so the lookup is direct)
+public class BitmapRowFilter extends RowFilter<TableModel, Integer> {
+    private final RowBitmap rows;
+
+    public BitmapRowFilter(RowBitmap rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+        return rows.contains(entry.getIdentifier());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// The engine as the desktop app sees it: adds loading on a SwingWorker, with batches handed to the EDT
+public class BudgetManagerFacade extends BudgetEngine {
+    // Saves are written here, one after the other, never on the EDT
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "budgetbee-save");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public BudgetManagerFacade(ExpenseStore store) {
+        super(store);
+    }
+
+    // Background load (snapshot if it is newer, CSV otherwise): batches reach the store on the EDT,
+    // aggregates are rebuilt once at the end, then the journal is replayed and opened. The caller keeps
+    // commands away from the store until onFinished runs. Returns null when there is nothing to load.
+    public LedgerLoadWorker loadDataInBackground(File file, Runnable onFinished) {
+        if (!file.exists() && !LedgerLoadWorker.prefersSnapshot(file)) {
+            openJournal(file, LedgerLoadWorker.NO_SNAPSHOT, 0);
+            return null;
+        }
+        beginBulkLoad();
+        LedgerLoadWorker worker = new LedgerLoadWorker(file, getStore(), loaded -> {
+            endBulkLoad();
+            // A cancelled load holds part of the rows, a CSV with unreadable lines lacks them: journaling
+            // (whose snapshot is preferred at the next start) or saving either would write over the ledger
+            if (loaded.getSnapshotError() != null) noteSkippedSnapshot(LedgerSnapshot.siblingOf(file.toPath()), loaded.getSnapshotError());
+            MappedCsvParser.Result parsed = loaded.getParsed();
+            if (!loaded.isCompleted()) markUnsaveable("the ledger was only partly loaded");
+            else if (parsed != null && parsed.hasRejects()) markUnsaveable(parsed.describeRejects(file.toPath(), REJECTS_SHOWN));
+            else openJournal(file, loaded.getLoadedGeneration(), loaded.getLoadedRows());
+            onFinished.run();
+        });
+        worker.execute();
+        return worker;
+    }
+
+    // Statement import off the EDT: files are parsed in parallel in the background, then added in date
+    // order on the EDT as one undoable step, minus rows the ledger already has. onFinished gets the
+    // result (with the skipped duplicates and per-file errors) on the EDT.
+    public SwingWorker<StatementImporter.Result, Void> importInBackground(Collection<File> sources,
+                                                                         Consumer<StatementImporter.Result> onFinished) {
+        Collection<File> files = new ArrayList<>(sources);
+        SwingWorker<StatementImporter.Result, Void> worker = new SwingWorker<>() {
+            @Override
+            protected StatementImporter.Result doInBackground() {
+                return new StatementImporter().read(files);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    onFinished.accept(applyImport(get()));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        };
+        worker.execute();
+        return worker;
+    }
+
+    // Save off the EDT: the CSV and snapshot are written from the current version while editing goes on
+    public void saveInBackground(File file) {
+        saveDataInBackground(file, saveExecutor, SwingUtilities::invokeLater);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.tools;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+// Immutable snapshot of what a chart shows (money in minor units), safe to hand to the render thread.
+// Equal snapshots draw the same chart, which is how ChartRenderer knows it can keep its cached image.
+public final class ChartData {
+    public final long total;
+    public final String[] labels;
+    public final long[] values;
+    public final TimeSeries series; // spending over time, only for strategies that plot it (else null)
+
+    public ChartData(long total, String[] labels, long[] values, TimeSeries series) {
+        this.total = total;
+        this.labels = labels;
+        this.values = values;
+        this.series = series;
+    }
+
+    public static ChartData of(long total, Map<String, Long> categoryTotals) {
+        return of(total, categoryTotals, null);
+    }
+
+    // Category totals in their map order (dictionary order from the facade)
+    public static ChartData of(long total, Map<String, Long> categoryTotals, TimeSeries series) {
+        String[] labels = new String[categoryTotals.size()];
+        long[] values = new long[labels.length];
+        int i = 0;
+        for (Map.Entry<String, Long> entry : categoryTotals.entrySet()) {
+            labels[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        return new ChartData(total, labels, values, series);
+    }
+
+    public int size() {
+        return labels.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChartData)) return false;
+        ChartData other = (ChartData) o;
+        return total == other.total && Arrays.equals(values, other.values) && Arrays.equals(labels, other.labels)
+                && Objects.equals(series, other.series);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, Arrays.hashCode(values), Arrays.hashCode(labels), series);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.tools;
+
+public class ChartFactory {
+    public enum Type { PIE, BAR, TIME_SERIES }
+
+    public static ChartStrategy create(boolean isBar) {
+        return create(isBar ? Type.BAR : Type.PIE);
+    }
+
+    public static ChartStrategy create(Type type) {
+        switch (type) {
+            case BAR: return new BarChartStrategy();
+            case TIME_SERIES: return new TimeSeriesChartStrategy();
+            default: return new PieChartStrategy();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.tools;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Draws charts into an image on a background thread; the panel's paintComponent only blits the last
+// finished image. A new image is rendered only when the data, strategy or size really changed, and
+// requests that pile up while one is drawing collapse into the newest. Call render() on the EDT.
+public class ChartRenderer {
+    private final JComponent target; // repainted when a new image is ready
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "budgetbee-chart");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicReference<Job> pending = new AtomicReference<>();
+
+    private Job requested;       // newest job handed out (EDT)
+    private long shown = -1;     // sequence of the image on screen (EDT)
+    private BufferedImage image; // EDT
+    private long sequence;
+
+    public ChartRenderer(JComponent target) {
+        this.target = target;
+    }
+
+    // The newest finished chart, or null before the first one is ready
+    public BufferedImage image() {
+        return image;
+    }
+
+    public void render(ChartData data, ChartStrategy strategy, int width, int height, Color[] colors) {
+        if (width <= 0 || height <= 0) return;
+        Job job = new Job(++sequence, data, strategy, width, height, colors);
+        if (job.drawsSameAs(requested)) return; // nothing changed: the cached image stays
+        requested = job;
+        if (pending.getAndSet(job) == null) executor.execute(this::drain);
+    }
+
+    // ==========================================
+    //            RENDER THREAD
+    // ==========================================
+    private void drain() {
+        Job job = pending.getAndSet(null);
+        if (job == null) return;
+        BufferedImage img = new BufferedImage(job.width, job.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        long start = System.nanoTime();
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            job.strategy.drawChart(g, job.width, job.height, job.data, job.colors);
+            OperationMetrics.global().operation("chart." + job.strategy.getClass().getSimpleName()).recordSince(start);
+            if (event.shouldCommit()) {
+                event.strategy = job.strategy.getClass().getSimpleName();
+                event.width = job.width;
+                event.height = job.height;
+                event.categories = job.data.size();
+                event.points = job.data.series == null ? 0 : job.data.series.size();
+                event.commit();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return;
+        } finally {
+            g.dispose();
+        }
+        SwingUtilities.invokeLater(() -> {
+            // Images can only arrive in order, but an older one must never replace a newer one
+            if (job.sequence <= shown) return;
+            shown = job.sequence;
+            image = img;
+            target.repaint();
+        });
+    }
+
+    // JFR event of one chart drawn on the render thread (see LedgerEvents for the engine's events)
+    @Name("org.example.budgetbee.ChartRender")
+    @Label("Chart Render")
+    @Category({"BudgetBee", "Charts"})
+    @Description("A chart drawn into an offscreen image")
+    static class RenderEvent extends Event {
+        @Label("Strategy") String strategy;
+        @Label("Width") int width;
+        @Label("Height") int height;
+        @Label("Categories") int categories;
+        @Label("Series Points") int points;
+    }
+
+    private static class Job {
+        final long sequence;
+        final ChartData data;
+        final ChartStrategy strategy;
+        final int width, height;
+        final Color[] colors;
+
+        Job(long sequence, ChartData data, ChartStrategy strategy, int width, int height, Color[] colors) {
+            this.sequence = sequence;
+            this.data = data;
+            this.strategy = strategy;
+            this.width = width;
+            this.height = height;
+            this.colors = colors;
+        }
+
+        boolean drawsSameAs(Job other) {
+            return other != null && width == other.width && height == other.height && strategy == other.strategy
+                    && colors == other.colors && Objects.equals(data, other.data);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.tools;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+public interface ChartStrategy {
+    // Runs on the chart render thread (see ChartRenderer), into an image of the given size:
+    // implementations must not touch Swing components
+    void drawChart(Graphics2D g, int width, int height, ChartData data, Color[] colors);
+
+    // True if the chart plots spending over time and needs ChartData.series filled in
+    default boolean needsSeries() {
+        return false;
+    }
+}
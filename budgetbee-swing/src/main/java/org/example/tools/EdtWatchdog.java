@@ -0,0 +1,147 @@
+package org.example.tools;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+
+// Notices when the Event Dispatch Thread is stuck in one event. An event queue pushed on top of the system
+// queue timestamps every dispatch; a daemon thread looks at the timestamp every half threshold. While one
+// dispatch runs past the threshold, the EDT's stack goes into the flight recording (an EdtStall event about
+// once per threshold for as long as it lasts), and when it returns the whole stall is recorded once more,
+// with the AWT event that caused it, as a JFR event and as edt.stall in OperationMetrics.
+// The threshold is -Dbudgetbee.edtStallMillis=... (250 ms by default).
+public class EdtWatchdog {
+    public static final String THRESHOLD_PROPERTY = "budgetbee.edtStallMillis";
+    public static final long DEFAULT_THRESHOLD_MILLIS = 250;
+    private static final OperationMetrics.Operation STALLS = OperationMetrics.global().operation("edt.stall");
+
+    private final long thresholdNanos;
+    private final TimedEventQueue queue = new TimedEventQueue();
+    private Thread watcher;
+
+    public EdtWatchdog() {
+        this(Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_MILLIS));
+    }
+
+    public EdtWatchdog(long thresholdMillis) {
+        if (thresholdMillis <= 0) throw new IllegalArgumentException("Threshold must be positive: " + thresholdMillis);
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+    }
+
+    public synchronized void start() {
+        if (watcher != null) return;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+        watcher = new Thread(this::watch, "budgetbee-edt-watchdog");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized void stop() {
+        if (watcher == null) return;
+        watcher.interrupt();
+        watcher = null;
+        queue.detach();
+    }
+
+    // ==========================================
+    //            WATCHDOG THREAD
+    // ==========================================
+    // Polling (rather than posting heartbeats to the EDT) leaves an idle queue idle, so AWT can still shut down
+    private void watch() {
+        long tickMillis = Math.max(1, thresholdNanos / 2_000_000);
+        long stallStart = 0; // dispatch being reported
+        long reported = 0;   // how long it was blocked at the last event
+        try {
+            while (true) {
+                Thread.sleep(tickMillis);
+                long start = queue.dispatchStart;
+                if (start == 0) continue;
+                long blocked = System.nanoTime() - start;
+                if (blocked < thresholdNanos) continue;
+                if (start != stallStart) {
+                    stallStart = start;
+                    reported = 0;
+                }
+                if (blocked - reported >= thresholdNanos) {
+                    reported = blocked;
+                    EdtStall event = new EdtStall();
+                    if (!event.shouldCommit()) continue; // nothing is recording: skip the stack walk
+                    Thread edt = queue.dispatchThread;
+                    event.blocked = blocked;
+                    event.ongoing = true;
+                    event.eventDispatchThread = edt;
+                    event.stack = format(edt.getStackTrace());
+                    event.commit();
+                }
+            }
+        } catch (InterruptedException e) {
+            // stop() was called
+        }
+    }
+
+    private static String format(StackTraceElement[] frames) {
+        StringBuilder text = new StringBuilder(frames.length * 64);
+        for (StackTraceElement frame : frames) text.append("at ").append(frame).append('\n');
+        return text.toString();
+    }
+
+    // ==========================================
+    //               EVENT QUEUE
+    // ==========================================
+    private class TimedEventQueue extends EventQueue {
+        volatile long dispatchStart; // when the running dispatch started or resumed, 0 while idle
+        volatile Thread dispatchThread;
+        private int depth;           // > 1 while a modal dialog pumps events inside another event (EDT only)
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            dispatchThread = Thread.currentThread();
+            dispatchStart = System.nanoTime();
+            depth++;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long end = System.nanoTime();
+                long blocked = end - dispatchStart;
+                // An event around a nested loop only counts from where the loop gave the EDT back
+                dispatchStart = --depth == 0 ? 0 : end;
+                if (blocked >= thresholdNanos) stalled(event, blocked);
+            }
+        }
+
+        private void stalled(AWTEvent cause, long blocked) {
+            STALLS.record(blocked);
+            EdtStall event = new EdtStall();
+            if (!event.shouldCommit()) return;
+            event.blocked = blocked;
+            event.eventDispatchThread = Thread.currentThread();
+            event.awtEvent = cause.getClass().getSimpleName() + " from " + cause.getSource().getClass().getSimpleName();
+            event.commit();
+        }
+
+        void detach() {
+            pop();
+        }
+    }
+
+    // The watchdog's own stack says nothing: the EDT's stack is in the stack field
+    @Name("org.example.budgetbee.EdtStall")
+    @Label("EDT Stall")
+    @Category({"BudgetBee", "Swing"})
+    @Description("The Event Dispatch Thread spent longer than the stall threshold on one event")
+    @StackTrace(false)
+    static class EdtStall extends Event {
+        @Label("Blocked For") @Timespan(Timespan.NANOSECONDS) long blocked;
+        @Label("Ongoing") @Description("True while the EDT is still blocked, false once the event returned") boolean ongoing;
+        @Label("Event Dispatch Thread") Thread eventDispatchThread;
+        @Label("EDT Stack") @Description("Where the EDT was while blocked") String stack;
+        @Label("AWT Event") @Description("The event that blocked the EDT, once it returned") String awtEvent;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import javax.swing.DefaultCellEditor;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import java.awt.Component;
+import java.time.LocalDate;
+
+// Edits date and money cells as the text the table shows ("Jul 25, 2024", "৳12.50"); the model
+// parses the text back (see ExpenseTableModel.setValueAt)
+public class ExpenseCellEditor extends DefaultCellEditor {
+    private final FormatCache format;
+
+    public ExpenseCellEditor(FormatCache format) {
+        super(new JTextField());
+        this.format = format;
+    }
+
+    @Override
+    public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+        Object text = value instanceof LocalDate ? format.date(EpochDays.of((LocalDate) value))
+                : value instanceof Long ? format.money((Long) value) : value;
+        return super.getTableCellEditorComponent(table, text, isSelected, row, column);
+    }
+}
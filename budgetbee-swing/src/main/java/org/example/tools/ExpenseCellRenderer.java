@@ -0,0 +1,49 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.Component;
+
+// Paints the expense table's cells straight from the store's primitive columns, by model row: dates and
+// money go through a FormatCache, quantities through a small table of their text, text cells are the
+// dictionary's own Strings. Nothing is boxed or formatted afresh when the same values are repainted.
+// The value JTable passes in is ignored (ExpenseTable passes none). EDT only, like the cache.
+public class ExpenseCellRenderer extends DefaultTableCellRenderer {
+    private final FormatCache format;
+    private final ExpenseStore store;
+    private final String[] counts = new String[1000]; // quantities repeat a lot
+
+    public ExpenseCellRenderer(FormatCache format, ExpenseStore store) {
+        this.format = format;
+        this.store = store;
+        setHorizontalAlignment(SwingConstants.CENTER);
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus,
+                                                   int row, int column) {
+        super.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
+        setText(text(table.convertRowIndexToModel(row), table.convertColumnIndexToModel(column)));
+        return this;
+    }
+
+    // Display text of one cell, by model row and column
+    public String text(int row, int column) {
+        switch (column) {
+            case ExpenseStore.DATE: return format.date(store.getDate(row));
+            case ExpenseStore.DESCRIPTION: return store.getDescription(row);
+            case ExpenseStore.CATEGORY: return store.getCategory(row);
+            case ExpenseStore.QUANTITY: return count(store.getQuantity(row));
+            case ExpenseStore.AMOUNT: return format.money(store.getAmount(row));
+            default: return format.money(store.getTotal(row));
+        }
+    }
+
+    private String count(int n) {
+        if (n < 0 || n >= counts.length) return String.valueOf(n);
+        if (counts[n] == null) counts[n] = String.valueOf(n);
+        return counts[n];
+    }
+}
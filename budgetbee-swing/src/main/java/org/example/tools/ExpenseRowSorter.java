@@ -0,0 +1,367 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.example.model.StringDictionary;
+import javax.swing.RowFilter;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Sorts and filters the expense table as an int[] permutation of store rows. The comparators read the
+// store's primitive columns directly (text columns through a case-insensitive rank of their dictionary
+// ids), so a sort allocates the permutation and a merge buffer, not a key object per row.
+// Like DefaultRowSorter: up to three sort keys and ties keep model order. Unlike its default, an edited
+// row is filtered and placed again at once, so it never lingers under a filter it no longer matches.
+public class ExpenseRowSorter extends RowSorter<ExpenseTableModel> {
+    private static final int MAX_SORT_KEYS = 3;
+    private static final int INSERTION_SORT = 16;
+
+    private final ExpenseTableModel model;
+    private final ExpenseStore store;
+    private final FilterEntry entry = new FilterEntry();
+    private List<SortKey> sortKeys = Collections.emptyList();
+    private RowFilter<? super TableModel, ? super Integer> filter;
+    private int[] viewToModel; // null while neither sorted nor filtered: view rows are model rows
+    private int[] modelToView;
+    private int modelRowCount;
+
+    // Orders two model rows
+    private interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    public ExpenseRowSorter(ExpenseTableModel model) {
+        this.model = model;
+        this.store = model.getStore();
+        this.modelRowCount = model.getRowCount();
+    }
+
+    @Override
+    public ExpenseTableModel getModel() {
+        return model;
+    }
+
+    // ==========================================
+    //            SORT KEYS & FILTER
+    // ==========================================
+    @Override
+    public void toggleSortOrder(int column) {
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        int at = -1;
+        for (int i = 0; i < keys.size(); i++) if (keys.get(i).getColumn() == column) at = i;
+        if (at == 0) {
+            SortOrder order = keys.get(0).getSortOrder() == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+            keys.set(0, new SortKey(column, order));
+        } else {
+            if (at > 0) keys.remove(at);
+            keys.add(0, new SortKey(column, SortOrder.ASCENDING));
+        }
+        setSortKeys(keys.size() > MAX_SORT_KEYS ? keys.subList(0, MAX_SORT_KEYS) : keys);
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> copy = keys == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(keys));
+        if (copy.equals(sortKeys)) return;
+        sortKeys = copy;
+        fireSortOrderChanged();
+        sort();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    public void setRowFilter(RowFilter<? super TableModel, ? super Integer> filter) {
+        this.filter = filter;
+        sort();
+    }
+
+    public RowFilter<? super TableModel, ? super Integer> getRowFilter() {
+        return filter;
+    }
+
+    // ==========================================
+    //              SORT & MAPPING
+    // ==========================================
+    // Rebuilds the view from scratch: filter, then one stable merge sort of the kept rows
+    public void sort() {
+        int[] last = lastViewToModel();
+        modelRowCount = model.getRowCount();
+        if (!isSorted() && filter == null) {
+            if (viewToModel == null) return;
+            viewToModel = null;
+            modelToView = null;
+        } else {
+            int[] rows = new int[modelRowCount];
+            int n = 0;
+            for (int row = 0; row < modelRowCount; row++) if (include(row)) rows[n++] = row;
+            if (n < rows.length) rows = Arrays.copyOf(rows, n);
+            if (isSorted()) mergeSort(rows, comparator());
+            setViewToModel(rows);
+        }
+        fireRowSorterChanged(last);
+    }
+
+    private boolean isSorted() {
+        return !sortKeys.isEmpty() && sortKeys.get(0).getSortOrder() != SortOrder.UNSORTED;
+    }
+
+    private boolean include(int row) {
+        if (filter == null) return true;
+        entry.row = row;
+        return filter.include(entry);
+    }
+
+    private void setViewToModel(int[] rows) {
+        viewToModel = rows;
+        modelToView = new int[modelRowCount];
+        Arrays.fill(modelToView, -1);
+        for (int view = 0; view < rows.length; view++) modelToView[rows[view]] = view;
+    }
+
+    // What JTable needs to carry its selection over a change; empty while the view is the model
+    private int[] lastViewToModel() {
+        return viewToModel == null ? new int[0] : viewToModel;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) return checkIdentity(index);
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) return checkIdentity(index);
+        return modelToView[index];
+    }
+
+    private int checkIdentity(int index) {
+        if (index < 0 || index >= Math.max(modelRowCount, model.getRowCount())) throw new IndexOutOfBoundsException("Invalid index " + index);
+        return index;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel != null ? viewToModel.length : Math.max(modelRowCount, model.getRowCount());
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    // ==========================================
+    //              MODEL CHANGES
+    // ==========================================
+    @Override
+    public void modelStructureChanged() {
+        sortKeys = Collections.emptyList();
+        fireSortOrderChanged();
+        viewToModel = null;
+        modelToView = null;
+        sort();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        sort();
+    }
+
+    // A few rows are placed by binary search, O(view) each; many rows re-sort everything
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        modelRowCount = model.getRowCount();
+        if (viewToModel == null) return;
+        int added = endRow - firstRow + 1;
+        if (added > viewToModel.length / 10) {
+            sort();
+            return;
+        }
+        int[] last = viewToModel;
+        int[] rows = Arrays.copyOf(last, last.length + added);
+        int n = last.length;
+        for (int i = 0; i < n; i++) if (rows[i] >= firstRow) rows[i] += added;
+        n = place(rows, n, firstRow, endRow);
+        setViewToModel(n == rows.length ? rows : Arrays.copyOf(rows, n));
+        fireRowSorterChanged(last);
+    }
+
+    // Puts the rows firstRow..endRow that pass the filter into the ordered rows[0, n); returns the new n
+    private int place(int[] rows, int n, int firstRow, int endRow) {
+        RowComparator order = comparator();
+        for (int row = firstRow; row <= endRow; row++) {
+            if (!include(row)) continue;
+            int lo = 0, hi = n; // first view position whose row sorts after this one
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (order.compare(rows[mid], row) > 0) hi = mid;
+                else lo = mid + 1;
+            }
+            System.arraycopy(rows, lo, rows, lo + 1, n - lo);
+            rows[lo] = row;
+            n++;
+        }
+        return n;
+    }
+
+    // Removed rows leave the view and the rows above them move down: the order stays valid
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        modelRowCount = model.getRowCount();
+        if (viewToModel == null) return;
+        int removed = endRow - firstRow + 1;
+        int[] last = viewToModel;
+        int[] rows = new int[last.length];
+        int n = 0;
+        for (int row : last) {
+            if (row < firstRow) rows[n++] = row;
+            else if (row > endRow) rows[n++] = row - removed;
+        }
+        setViewToModel(Arrays.copyOf(rows, n));
+        fireRowSorterChanged(last);
+    }
+
+    // Edited rows leave the view and go back in where the filter and the sort keys now put them
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        modelRowCount = model.getRowCount();
+        if (viewToModel == null) return;
+        int updated = endRow - firstRow + 1;
+        if (updated > viewToModel.length / 10) {
+            sort();
+            return;
+        }
+        int[] last = viewToModel;
+        int[] rows = new int[last.length + updated];
+        int n = 0;
+        for (int row : last) if (row < firstRow || row > endRow) rows[n++] = row;
+        n = place(rows, n, firstRow, endRow);
+        setViewToModel(Arrays.copyOf(rows, n));
+        fireRowSorterChanged(last);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rowsUpdated(firstRow, endRow);
+    }
+
+    // ==========================================
+    //         PRIMITIVE COMPARATORS
+    // ==========================================
+    // The sort keys in order, then the model row (stable)
+    private RowComparator comparator() {
+        ExpenseStore.Columns c = store.columns();
+        RowComparator[] keys = new RowComparator[sortKeys.size()];
+        int n = 0;
+        for (SortKey key : sortKeys) {
+            if (key.getSortOrder() == SortOrder.UNSORTED) break;
+            RowComparator column = column(key.getColumn(), c);
+            keys[n++] = key.getSortOrder() == SortOrder.DESCENDING ? (a, b) -> column.compare(b, a) : column;
+        }
+        int count = n;
+        return (a, b) -> {
+            for (int k = 0; k < count; k++) {
+                int result = keys[k].compare(a, b);
+                if (result != 0) return result;
+            }
+            return Integer.compare(a, b);
+        };
+    }
+
+    private RowComparator column(int column, ExpenseStore.Columns c) {
+        switch (column) {
+            case ExpenseStore.DATE: return (a, b) -> Integer.compare(c.dates[a], c.dates[b]);
+            case ExpenseStore.DESCRIPTION: {
+                int[] rank = caseInsensitiveRanks(store.descriptions());
+                return (a, b) -> Integer.compare(rank[c.descriptionIds[a]], rank[c.descriptionIds[b]]);
+            }
+            case ExpenseStore.CATEGORY: {
+                int[] rank = caseInsensitiveRanks(store.categories());
+                return (a, b) -> Integer.compare(rank[c.categoryIds[a]], rank[c.categoryIds[b]]);
+            }
+            case ExpenseStore.QUANTITY: return (a, b) -> Integer.compare(c.quantities[a], c.quantities[b]);
+            case ExpenseStore.AMOUNT: return (a, b) -> Long.compare(c.amounts[a], c.amounts[b]);
+            default: return (a, b) -> Long.compare(c.quantities[a] * c.amounts[a], c.quantities[b] * c.amounts[b]);
+        }
+    }
+
+    // Position of each dictionary id in case-insensitive order (equal ignoring case = equal rank):
+    // one sort of the distinct strings, then rows compare as ints
+    private static int[] caseInsensitiveRanks(StringDictionary dictionary) {
+        String[] values = dictionary.toArray();
+        Integer[] ids = new Integer[values.length];
+        for (int id = 0; id < ids.length; id++) ids[id] = id;
+        Arrays.sort(ids, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(values[a], values[b]));
+        int[] rank = new int[values.length];
+        for (int i = 1; i < ids.length; i++) {
+            boolean same = String.CASE_INSENSITIVE_ORDER.compare(values[ids[i - 1]], values[ids[i]]) == 0;
+            rank[ids[i]] = same ? rank[ids[i - 1]] : i;
+        }
+        return rank;
+    }
+
+    // Stable top-down merge sort of row numbers
+    private static void mergeSort(int[] rows, RowComparator order) {
+        int[] buffer = rows.clone();
+        mergeSort(buffer, rows, 0, rows.length, order);
+    }
+
+    // Sorts src[from, to) into dst; src and dst hold the same rows on entry
+    private static void mergeSort(int[] src, int[] dst, int from, int to, RowComparator order) {
+        if (to - from <= INSERTION_SORT) {
+            for (int i = from + 1; i < to; i++) {
+                int row = dst[i];
+                int j = i - 1;
+                while (j >= from && order.compare(dst[j], row) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, order);
+        mergeSort(dst, src, mid, to, order);
+        if (order.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && order.compare(src[p], src[q]) <= 0)) dst[i] = src[p++];
+            else dst[i] = src[q++];
+        }
+    }
+
+    // One reusable entry for the row filters (BitmapRowFilter, SearchRowFilter) that read the identifier
+    private class FilterEntry extends RowFilter.Entry<ExpenseTableModel, Integer> {
+        int row;
+
+        @Override
+        public ExpenseTableModel getModel() {
+            return model;
+        }
+
+        @Override
+        public int getValueCount() {
+            return model.getColumnCount();
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return model.getValueAt(row, index);
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return row;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.tools;
+
+import javax.swing.JTable;
+import javax.swing.table.TableCellRenderer;
+import java.awt.Component;
+
+// The expense table. JTable asks the model for every painted cell's value, which for this model means a
+// LocalDate or a boxed Long per cell; an ExpenseCellRenderer reads the store's columns itself, so the
+// value is skipped for it. getValueAt stays for editors, copy and other readers.
+public class ExpenseTable extends JTable {
+
+    public ExpenseTable(ExpenseTableModel model) {
+        super(model);
+    }
+
+    @Override
+    public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
+        if (!(renderer instanceof ExpenseCellRenderer)) return super.prepareRenderer(renderer, row, column);
+        // As JTable.prepareRenderer, without the getValueAt
+        boolean selected = false, focused = false;
+        if (!isPaintingForPrint()) {
+            selected = isCellSelected(row, column);
+            focused = selectionModel.getLeadSelectionIndex() == row
+                    && columnModel.getSelectionModel().getLeadSelectionIndex() == column && isFocusOwner();
+        }
+        return renderer.getTableCellRendererComponent(this, null, selected, focused, row, column);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.example.model.Money;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDate;
+
+// ADAPTER: presents the ExpenseStore columns to a JTable.
+// Nothing is stored per row: cells are read from the columns when the JTable paints them. Values are
+// typed (LocalDate, Long minor units); ExpenseCellRenderer formats them through a FormatCache.
+public class ExpenseTableModel extends AbstractTableModel implements ExpenseStore.Listener {
+    private static final String[] COLUMNS = {"Date", "Desc", "Category", "Qty", "Amount", "Total"};
+    private static final Class<?>[] CLASSES = {LocalDate.class, String.class, String.class, Integer.class, Long.class, Long.class};
+    private static final int TOTAL_COLUMN = 5;
+
+    private final BudgetManagerFacade facade;
+    private final ExpenseStore store;
+    private boolean editable = true;
+
+    public ExpenseTableModel(BudgetManagerFacade facade) {
+        this.facade = facade;
+        this.store = facade.getStore();
+        store.addListener(this);
+    }
+
+    @Override
+    public int getRowCount() { return store.size(); }
+
+    @Override
+    public int getColumnCount() { return COLUMNS.length; }
+
+    @Override
+    public String getColumnName(int column) { return COLUMNS[column]; }
+
+    @Override
+    public Class<?> getColumnClass(int column) { return CLASSES[column]; }
+
+    // Typed, boxed values for editors, copy and other readers; painting reads the store through ExpenseCellRenderer
+    @Override
+    public Object getValueAt(int row, int column) {
+        switch (column) {
+            case ExpenseStore.DATE: return EpochDays.toLocalDate(store.getDate(row));
+            case ExpenseStore.DESCRIPTION: return store.getDescription(row);
+            case ExpenseStore.CATEGORY: return store.getCategory(row);
+            case ExpenseStore.QUANTITY: return store.getQuantity(row);
+            case ExpenseStore.AMOUNT: return store.getAmount(row);
+            default: return store.getTotal(row);
+        }
+    }
+
+    // ExpenseRowSorter compares rows on the store's columns
+    public ExpenseStore getStore() { return store; }
+
+    // Off while a load is still adding rows
+    public void setEditable(boolean editable) {
+        this.editable = editable;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return editable && column != TOTAL_COLUMN;
+    }
+
+    // Takes typed values, or the text of ExpenseCellEditor ("Jul 25, 2024", "৳12.50")
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        String text = value.toString().trim();
+        try {
+            switch (column) {
+                case ExpenseStore.DATE:
+                    facade.editExpense(row, column, value instanceof LocalDate ? EpochDays.of((LocalDate) value) : EpochDays.parse(text));
+                    break;
+                case ExpenseStore.QUANTITY:
+                    facade.editExpense(row, column, value instanceof Integer ? (Integer) value : Integer.parseInt(text));
+                    break;
+                case ExpenseStore.AMOUNT:
+                    facade.editExpense(row, column, value instanceof Long ? (Long) value : Money.parse(text));
+                    break;
+                default: facade.editExpense(row, column, text);
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Keep the old value if the edit is not a number or date
+        }
+    }
+
+    // --- Store events become table events ---
+    @Override
+    public void rowsInserted(ExpenseStore store, int firstRow, int lastRow) {
+        fireTableRowsInserted(firstRow, lastRow);
+    }
+
+    @Override
+    public void rowsRemoved(ExpenseStore store, int firstRow, int lastRow) {
+        fireTableRowsDeleted(firstRow, lastRow);
+    }
+
+    // Scattered rows from a batch command: one structure change instead of a table event per row
+    @Override
+    public void rowsInserted(ExpenseStore store, int[] rows) {
+        fireTableDataChanged();
+    }
+
+    @Override
+    public void rowsRemoved(ExpenseStore store, int[] rows) {
+        fireTableDataChanged();
+    }
+
+    @Override
+    public void rowUpdated(ExpenseStore store, int row, int column) {
+        fireTableRowsUpdated(row, row);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.Money;
+
+// Small direct-mapped caches of display strings: repainting (or scrolling back to) the same values
+// returns the same String instead of formatting a new one. Used on the EDT only.
+public class FormatCache {
+    private static final int MONEY_SLOTS = 4096;
+    private static final int DATE_SLOTS = 1024;
+
+    private final long[] moneyKeys = new long[MONEY_SLOTS];
+    private final String[] moneyValues = new String[MONEY_SLOTS];
+    private final int[] dateKeys = new int[DATE_SLOTS];
+    private final String[] dateValues = new String[DATE_SLOTS];
+    private final char[] scratch = new char[Money.MAX_LENGTH];
+
+    // "৳1234.50" for an amount in minor units
+    public String money(long minor) {
+        int slot = (int) (minor ^ (minor >>> 32)) & (MONEY_SLOTS - 1);
+        if (moneyValues[slot] == null || moneyKeys[slot] != minor) {
+            moneyKeys[slot] = minor;
+            int start = Money.write(minor, scratch, scratch.length);
+            scratch[--start] = Money.SYMBOL.charAt(0);
+            moneyValues[slot] = new String(scratch, start, scratch.length - start);
+        }
+        return moneyValues[slot];
+    }
+
+    public String date(int epochDay) {
+        int slot = epochDay & (DATE_SLOTS - 1);
+        if (dateValues[slot] == null || dateKeys[slot] != epochDay) {
+            dateKeys[slot] = epochDay;
+            dateValues[slot] = EpochDays.format(epochDay);
+        }
+        return dateValues[slot];
+    }
+}
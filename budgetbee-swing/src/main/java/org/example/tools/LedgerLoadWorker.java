@@ -0,0 +1,110 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+// Loads the ledger off the EDT and hands the rows over in batches, one model event per batch.
+// A binary snapshot newer than the CSV is preferred; the CSV is parsed otherwise.
+public class LedgerLoadWorker extends SwingWorker<Integer, Void> {
+    public static final long NO_SNAPSHOT = LedgerSnapshot.NO_SNAPSHOT;
+
+    private final File file;
+    private final ExpenseStore target;
+    private final Consumer<LedgerLoadWorker> onFinished;
+    private volatile long loadedGeneration = NO_SNAPSHOT;
+    private volatile int loadedRows;
+    private volatile MappedCsvParser.Result parsed; // null unless the CSV was parsed
+    private volatile IOException snapshotError;     // why a preferred snapshot was skipped, or null
+    private boolean completed = false;
+
+    public LedgerLoadWorker(File file, ExpenseStore target, Consumer<LedgerLoadWorker> onFinished) {
+        this.file = file;
+        this.target = target;
+        this.onFinished = onFinished;
+    }
+
+    // True when the snapshot next to the CSV exists and is at least as new as the CSV
+    public static boolean prefersSnapshot(File csv) {
+        return LedgerSnapshot.isPreferredTo(csv);
+    }
+
+    @Override
+    protected Integer doInBackground() throws Exception {
+        LedgerEvents.Load event = new LedgerEvents.Load();
+        event.begin();
+        if (prefersSnapshot(file)) {
+            Path snapshot = LedgerSnapshot.siblingOf(file.toPath());
+            try {
+                LedgerSnapshot loaded = LedgerSnapshot.read(snapshot);
+                handOver(loaded.store());
+                loadedGeneration = loaded.generation();
+                loadedRows = loaded.store().size();
+                setProgress(99);
+                event.commit(snapshot, "snapshot", loaded.store().size());
+                return loaded.store().size();
+            } catch (IOException e) {
+                // Damaged snapshot: the CSV is still the interchange format, fall back to it
+                snapshotError = e;
+            }
+        }
+        if (!Files.exists(file.toPath())) return 0;
+        parsed = new MappedCsvParser().parse(file.toPath(), (chunk, done, total) -> {
+            handOver(chunk);
+            setProgress((int) Math.min(99, done * 100 / total));
+        }, this::isCancelled);
+        event.commit(file.toPath(), "csv", parsed.rows);
+        return parsed.rows;
+    }
+
+    // Generation of the snapshot that was loaded, or NO_SNAPSHOT if the CSV was parsed
+    public long getLoadedGeneration() {
+        return loadedGeneration;
+    }
+
+    // Rows the snapshot held (what a journal recorded on top of it expects to find)
+    public int getLoadedRows() {
+        return loadedRows;
+    }
+
+    // Why the snapshot was skipped for the CSV, or null if it was not (or there was none)
+    public IOException getSnapshotError() {
+        return snapshotError;
+    }
+
+    // Lines of the CSV that could not be read (null if a snapshot was loaded)
+    public MappedCsvParser.Result getParsed() {
+        return parsed;
+    }
+
+    // False if the load was cancelled or failed: the store then holds only part of the file
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    // Plain invokeLater (not publish) keeps every batch ahead of done() on the EDT queue
+    private void handOver(ExpenseStore batch) {
+        SwingUtilities.invokeLater(() -> {
+            if (!isCancelled()) target.appendAll(batch);
+        });
+    }
+
+    @Override
+    protected void done() {
+        try {
+            get();
+            completed = true;
+        } catch (Exception e) {
+            // Cancelled or failed: the rows that arrived stay (the caller marks the ledger unsaveable),
+            // removing them by index could hit rows added since
+            if (!isCancelled()) e.printStackTrace();
+        } finally {
+            onFinished.accept(this);
+        }
+    }
+}
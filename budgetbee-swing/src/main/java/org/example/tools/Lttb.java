@@ -0,0 +1,90 @@
+package org.example.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013): keeps the points that carry the
+// visual shape of a line, so a chart only ever draws about one point per pixel column.
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    // Picks 'threshold' of the points at the 'source' indices (ascending x) and returns their indices.
+    // The first and last points are always kept; each bucket in between keeps the point that forms the
+    // largest triangle with the previous pick and the average of the next bucket.
+    public static int[] downsample(int[] x, long[] y, int[] source, int threshold) {
+        int n = source.length;
+        if (threshold >= n || threshold < 3) return source;
+
+        int[] picked = new int[threshold];
+        picked[0] = source[0];
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = 0; // position in source of the previous pick
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket (the last point for the final bucket)
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0, avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += x[source[j]];
+                avgY += y[source[j]];
+            }
+            int count = nextEnd - nextStart;
+            avgX /= count;
+            avgY /= count;
+
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            double ax = x[source[a]], ay = y[source[a]];
+            double maxArea = -1;
+            int best = start;
+            for (int j = start; j < end; j++) {
+                int p = source[j];
+                double area = Math.abs((ax - avgX) * (y[p] - ay) - (ax - x[p]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    best = j;
+                }
+            }
+            picked[bucket + 1] = source[best];
+            a = best;
+        }
+        picked[threshold - 1] = source[n - 1];
+        return picked;
+    }
+
+    // LTTB at halving resolutions, built once per series in O(n): level k keeps about n / 2^k points.
+    // A request for w points downsamples the smallest level that still has w, which has fewer than 2w,
+    // so drawing cost follows the panel width, not the length of the series.
+    public static class Pyramid {
+        private static final int MIN_LEVEL = 64;
+
+        private final int[] x;
+        private final long[] y;
+        private final List<int[]> levels = new ArrayList<>();
+
+        public Pyramid(int[] x, long[] y) {
+            this.x = x;
+            this.y = y;
+            int[] level = new int[x.length];
+            for (int i = 0; i < level.length; i++) level[i] = i;
+            levels.add(level);
+            while (level.length / 2 >= MIN_LEVEL) {
+                level = downsample(x, y, level, level.length / 2);
+                levels.add(level);
+            }
+        }
+
+        // Indices of at most 'width' points, ascending
+        public int[] points(int width) {
+            int[] source = levels.get(0);
+            for (int[] level : levels) {
+                if (level.length < width) break;
+                source = level;
+            }
+            return downsample(x, y, source, Math.max(3, width));
+        }
+    }
+}
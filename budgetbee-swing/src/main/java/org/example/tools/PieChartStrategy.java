@@ -0,0 +1,49 @@
+package org.example.tools;
+
+import java.awt.*;
+
+public class PieChartStrategy implements ChartStrategy {
+    private static final Font EMPTY_FONT = new Font("Segoe UI", Font.PLAIN, 16);
+    private static final Font LEGEND_FONT = new Font("Segoe UI", Font.BOLD, 12);
+
+    @Override
+    public void drawChart(Graphics2D g2d, int width, int height, ChartData data, Color[] colors) {
+        if (data.total == 0) {
+            g2d.setFont(EMPTY_FONT);
+            g2d.setColor(new Color(100, 100, 100));
+            g2d.drawString("No data to display", 50, 50);
+            return;
+        }
+
+        int diameter = Math.min(width, height) - 100;
+        int x = (width - diameter) / 2;
+        int y = 20;
+
+        // Slices and legend in one pass
+        int legendX = 20;
+        int legendY = y + diameter + 20;
+        int boxSize = 15;
+        g2d.setFont(LEGEND_FONT);
+
+        double startAngle = 0;
+        int colorIndex = 0;
+
+        for (int i = 0; i < data.size(); i++) {
+            long value = data.values[i];
+            if (value > 0) {
+                Color color = colors[colorIndex % colors.length];
+                double arcAngle = 360.0 * value / data.total;
+                g2d.setColor(color);
+                g2d.fillArc(x, y, diameter, diameter, (int) startAngle, (int) arcAngle);
+                startAngle += arcAngle;
+
+                g2d.fillRect(legendX, legendY, boxSize, boxSize);
+                g2d.setColor(Color.BLACK);
+                String label = String.format("%s (%.1f%%)", data.labels[i], 100.0 * value / data.total);
+                g2d.drawString(label, legendX + boxSize + 5, legendY + boxSize - 3);
+                legendY += boxSize + 5;
+                colorIndex++;
+            }
+        }
+    }
+}
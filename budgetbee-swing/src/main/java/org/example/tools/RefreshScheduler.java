@@ -0,0 +1,63 @@
+package org.example.tools;
+
+import javax.swing.Timer;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+// Sits between the facade's observers and the views: a change only marks views dirty, and one flush
+// per frame refreshes each dirty view once, however many changes came in. A bulk operation (multi-row
+// delete, import, an ingestor batch) runs as one EDT task, which the frame timer cannot interrupt, so it
+// costs one refresh without any bracketing. EDT only.
+public class RefreshScheduler {
+    public enum View { STATS, CHART, TABLE }
+
+    public static final int FRAME_MS = 16;
+
+    private final Map<View, Runnable> views = new EnumMap<>(View.class);
+    private final EnumSet<View> dirty = EnumSet.noneOf(View.class);
+    private final Timer frame;
+
+    public RefreshScheduler() {
+        frame = new Timer(FRAME_MS, e -> flush());
+        frame.setRepeats(false);
+    }
+
+    public void register(View view, Runnable refresh) {
+        views.put(view, refresh);
+    }
+
+    // ==========================================
+    //              DIRTY MARKING
+    // ==========================================
+    public void markDirty(View view) {
+        dirty.add(view);
+        schedule();
+    }
+
+    // What a facade change calls: every view may show the changed rows
+    public void markAllDirty() {
+        dirty.addAll(views.keySet());
+        schedule();
+    }
+
+    // ==========================================
+    //                 FLUSHING
+    // ==========================================
+    // Refreshes the dirty views now instead of at the next frame. Views a refresh marks dirty again
+    // wait for the following frame, so a refresh cycle can never spin.
+    public void flush() {
+        frame.stop();
+        if (dirty.isEmpty()) return;
+        EnumSet<View> now = EnumSet.copyOf(dirty);
+        dirty.clear();
+        for (View view : now) {
+            Runnable refresh = views.get(view);
+            if (refresh != null) refresh.run();
+        }
+    }
+
+    private void schedule() {
+        if (!dirty.isEmpty() && !frame.isRunning()) frame.start();
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import javax.swing.RowFilter;
+import javax.swing.table.TableModel;
+
+// Shows the rows whose description matched a search (checked by description id, so it stays right
+// while rows move around)
+public class SearchRowFilter extends RowFilter<TableModel, Integer> {
+    private final ExpenseStore store;
+    private final SearchIndex.Result result;
+
+    public SearchRowFilter(ExpenseStore store, SearchIndex.Result result) {
+        this.store = store;
+        this.result = result;
+    }
+
+    @Override
+    public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+        return result.matches(store.getDescriptionId(entry.getIdentifier()));
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.Expense;
+import org.example.model.Money;
+import javax.swing.table.TableModel;
+import java.time.LocalDate;
+
+public class TableModelExpenseIterator implements ExpenseIterator {
+    private final TableModel model;
+    private int index = 0;
+
+    public TableModelExpenseIterator(TableModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < model.getRowCount();
+    }
+
+    @Override
+    public Expense next() {
+        if (!hasNext()) return null;
+        return readRow(model, index++);
+    }
+
+    // Reads a single row, so listeners can look at just the row that changed. Typed cells (ExpenseTableModel)
+    // are taken as they are, text cells are parsed.
+    public static Expense readRow(TableModel model, int row) {
+        Object dateCell = model.getValueAt(row, 0), amountCell = model.getValueAt(row, 4);
+        int date = dateCell instanceof LocalDate ? EpochDays.of((LocalDate) dateCell) : EpochDays.parse(dateCell.toString());
+        String description = model.getValueAt(row, 1).toString();
+        String category = model.getValueAt(row, 2).toString();
+        int quantity = Integer.parseInt(model.getValueAt(row, 3).toString().trim());
+        long amount = amountCell instanceof Long ? (Long) amountCell : Money.parse(amountCell.toString()); // "৳12.50", without a double
+        return new Expense(date, description, category, quantity, amount);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.Money;
+import java.awt.*;
+
+// Daily and cumulative spending as two lines over time, each scaled to its own maximum.
+// Series are downsampled with LTTB to about one point per pixel column, through a pyramid that is
+// built once per series, so a redraw (e.g. a resize) costs O(width) however long the series is.
+// BudgetEngine.getDailySeries returns the same instance while the range and ledger stay put, which
+// keeps the equals check O(1); an equal series built afresh costs one O(days) comparison, not a rebuild.
+public class TimeSeriesChartStrategy implements ChartStrategy {
+    private static final Font LABEL_FONT = new Font("Segoe UI", Font.PLAIN, 10);
+    private static final Font LEGEND_FONT = new Font("Segoe UI", Font.BOLD, 12);
+    private static final int PADDING = 40;
+
+    // Last series drawn and its pyramids; only the chart render thread calls drawChart
+    private TimeSeries cached;
+    private Lttb.Pyramid dailyLevels, cumulativeLevels;
+    private long maxDaily, maxCumulative;
+
+    @Override
+    public boolean needsSeries() {
+        return true;
+    }
+
+    @Override
+    public void drawChart(Graphics2D g2d, int width, int height, ChartData data, Color[] colors) {
+        int plotWidth = width - 2 * PADDING;
+        int plotHeight = height - 3 * PADDING; // room for the legend below the axis
+
+        // Draw Axis
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.drawLine(PADDING, PADDING + plotHeight, width - PADDING, PADDING + plotHeight); // X-Axis
+        g2d.drawLine(PADDING, PADDING, PADDING, PADDING + plotHeight); // Y-Axis
+
+        TimeSeries series = data.series;
+        if (series == null || series.size() == 0 || plotWidth <= 0 || plotHeight <= 0) {
+            g2d.setColor(Color.GRAY);
+            g2d.drawString("No data", width / 2 - 20, height / 2);
+            return;
+        }
+        if (!series.equals(cached)) index(series); // the engine hands back the same series until the ledger changes
+
+        int firstDay = series.days[0], lastDay = series.days[series.size() - 1];
+        drawLine(g2d, series, series.daily, dailyLevels.points(plotWidth), maxDaily, firstDay, lastDay, plotWidth, plotHeight, colors[0]);
+        drawLine(g2d, series, series.cumulative, cumulativeLevels.points(plotWidth), maxCumulative, firstDay, lastDay, plotWidth, plotHeight, colors[1 % colors.length]);
+
+        // Dates under the axis
+        g2d.setFont(LABEL_FONT);
+        g2d.setColor(Color.BLACK);
+        int labelY = PADDING + plotHeight + 15;
+        g2d.drawString(EpochDays.format(firstDay), PADDING, labelY);
+        String last = EpochDays.format(lastDay);
+        g2d.drawString(last, width - PADDING - g2d.getFontMetrics().stringWidth(last), labelY);
+
+        // Legend
+        g2d.setFont(LEGEND_FONT);
+        int legendY = labelY + 12;
+        legend(g2d, colors[0], "Daily (max " + Money.format(maxDaily) + ")", legendY);
+        legend(g2d, colors[1 % colors.length], "Cumulative (" + Money.format(series.cumulative[series.size() - 1]) + ")", legendY + 18);
+    }
+
+    // Once per series: the pyramids and the scale of both lines
+    private void index(TimeSeries series) {
+        dailyLevels = new Lttb.Pyramid(series.days, series.daily);
+        cumulativeLevels = new Lttb.Pyramid(series.days, series.cumulative);
+        maxDaily = 0;
+        maxCumulative = 0;
+        for (int i = 0; i < series.size(); i++) {
+            maxDaily = Math.max(maxDaily, series.daily[i]);
+            maxCumulative = Math.max(maxCumulative, series.cumulative[i]);
+        }
+        cached = series;
+    }
+
+    private static void drawLine(Graphics2D g2d, TimeSeries series, long[] values, int[] points, long max,
+                                 int firstDay, int lastDay, int plotWidth, int plotHeight, Color color) {
+        int[] xs = new int[points.length];
+        int[] ys = new int[points.length];
+        double dayScale = (double) plotWidth / Math.max(1, lastDay - firstDay);
+        double valueScale = max > 0 ? (double) plotHeight / max : 0;
+        for (int i = 0; i < points.length; i++) {
+            int p = points[i];
+            xs[i] = PADDING + (int) Math.round((series.days[p] - firstDay) * dayScale);
+            ys[i] = PADDING + plotHeight - (int) Math.round(Math.max(0, values[p]) * valueScale);
+        }
+        g2d.setColor(color);
+        g2d.setStroke(new BasicStroke(1.5f));
+        g2d.drawPolyline(xs, ys, points.length);
+    }
+
+    private static void legend(Graphics2D g2d, Color color, String text, int y) {
+        g2d.setColor(color);
+        g2d.fillRect(PADDING, y, 12, 12);
+        g2d.setColor(Color.BLACK);
+        g2d.drawString(text, PADDING + 17, y + 11);
+    }
+}
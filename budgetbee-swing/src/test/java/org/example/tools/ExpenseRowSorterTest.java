@@ -0,0 +1,184 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+
+import javax.swing.JTable;
+import javax.swing.RowFilter;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpenseRowSorterTest {
+    private static final String[] DESCRIPTIONS = {"rice", "Rice", "bus", "Lamp", "tea", "Tea", "rent"};
+    private static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Bills"};
+
+    private BudgetManagerFacade facade;
+    private ExpenseStore store;
+    private ExpenseTableModel model;
+    private ExpenseRowSorter sorter;
+    private String category;  // category filter, or null
+    private long minAmount;   // amount filter (through the model's values), or -1
+
+    @BeforeEach
+    public void setUp() {
+        facade = new BudgetManagerFacade(new ExpenseStore());
+        store = facade.getStore();
+        model = new ExpenseTableModel(facade);
+        sorter = new ExpenseRowSorter(model);
+        // The table forwards the model's events to the sorter, as in the app
+        new JTable(model).setRowSorter(sorter);
+    }
+
+    private void addRandom(Random random) {
+        facade.addExpense(random.nextInt(30) - 10, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextInt(4), random.nextInt(1_000));
+    }
+
+    private void setFilter(String category, long minAmount) {
+        this.category = category;
+        this.minAmount = minAmount;
+        List<RowFilter<TableModel, Integer>> filters = new ArrayList<>();
+        if (category != null) filters.add(new BitmapRowFilter(facade.getCategoryRows(category)));
+        if (minAmount >= 0) filters.add(new RowFilter<>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return (Long) entry.getValue(ExpenseStore.AMOUNT) >= minAmount;
+            }
+        });
+        sorter.setRowFilter(filters.isEmpty() ? null : filters.size() == 1 ? filters.get(0) : RowFilter.andFilter(filters));
+    }
+
+    private long key(int row, int column) {
+        switch (column) {
+            case ExpenseStore.DATE: return store.getDate(row);
+            case ExpenseStore.QUANTITY: return store.getQuantity(row);
+            case ExpenseStore.AMOUNT: return store.getAmount(row);
+            default: return store.getTotal(row);
+        }
+    }
+
+    // The view worked out from scratch: the rows the filters keep, stably sorted by the keys
+    private int[] expectedView() {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < store.size(); row++) {
+            if (category != null && !category.equals(store.getCategory(row))) continue;
+            if (minAmount >= 0 && store.getAmount(row) < minAmount) continue;
+            rows.add(row);
+        }
+        Comparator<Integer> order = (a, b) -> 0;
+        for (RowSorter.SortKey sortKey : sorter.getSortKeys()) {
+            int column = sortKey.getColumn();
+            Comparator<Integer> byColumn = column == ExpenseStore.DESCRIPTION || column == ExpenseStore.CATEGORY
+                    ? Comparator.comparing(row -> (String) model.getValueAt(row, column), String.CASE_INSENSITIVE_ORDER)
+                    : Comparator.comparingLong(row -> key(row, column));
+            order = order.thenComparing(sortKey.getSortOrder() == SortOrder.DESCENDING ? byColumn.reversed() : byColumn);
+        }
+        rows.sort(order); // stable: ties keep model order
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void assertView(String message) {
+        int[] expected = expectedView();
+        boolean identity = category == null && minAmount < 0 && sorter.getSortKeys().isEmpty();
+        assertEquals(expected.length, sorter.getViewRowCount(), message + ": view rows");
+        int[] actual = new int[sorter.getViewRowCount()];
+        for (int view = 0; view < actual.length; view++) actual[view] = sorter.convertRowIndexToModel(view);
+        assertArrayEquals(expected, actual, message + (identity ? " (unsorted, unfiltered)" : ""));
+        for (int view = 0; view < actual.length; view++) {
+            assertEquals(view, sorter.convertRowIndexToView(actual[view]), message + ": model to view");
+        }
+    }
+
+    @Test
+    public void testSortKeysCycleAndStayStable() {
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) addRandom(random);
+        sorter.toggleSortOrder(ExpenseStore.DESCRIPTION);
+        assertView("description ascending, case-insensitive");
+        sorter.toggleSortOrder(ExpenseStore.DESCRIPTION);
+        assertEquals(SortOrder.DESCENDING, sorter.getSortKeys().get(0).getSortOrder());
+        assertView("description descending");
+        sorter.toggleSortOrder(ExpenseStore.AMOUNT);
+        sorter.toggleSortOrder(ExpenseStore.DATE);
+        sorter.toggleSortOrder(5);
+        assertEquals(3, sorter.getSortKeys().size(), "At most three keys");
+        assertView("total, date, amount");
+        sorter.setSortKeys(null);
+        assertView("unsorted again");
+    }
+
+    @Test
+    public void testRandomChangesMatchSortingFromScratch() {
+        for (long seed = 1; seed <= 10; seed++) {
+            setUp();
+            category = null;
+            minAmount = -1;
+            Random random = new Random(seed);
+            for (int i = 0; i < 50; i++) addRandom(random);
+            for (int step = 0; step < 400; step++) {
+                int size = store.size();
+                int op = random.nextInt(10);
+                if (size == 0 || op <= 1) {
+                    addRandom(random);
+                } else if (op == 2) {
+                    facade.deleteExpense(random.nextInt(size));
+                } else if (op == 3 && facade.canUndo()) {
+                    facade.undo(); // deleted rows come back in the middle, added ones leave
+                } else if (op <= 5) {
+                    int row = random.nextInt(size);
+                    switch (random.nextInt(4)) {
+                        case 0: facade.editExpense(row, ExpenseStore.CATEGORY, CATEGORIES[random.nextInt(CATEGORIES.length)]); break;
+                        case 1: facade.editExpense(row, ExpenseStore.DESCRIPTION, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]); break;
+                        case 2: facade.editExpense(row, ExpenseStore.AMOUNT, (long) random.nextInt(1_000)); break;
+                        default: facade.editExpense(row, ExpenseStore.DATE, random.nextInt(30) - 10);
+                    }
+                } else if (op == 6) {
+                    facade.deleteExpenses(random.ints(0, size).distinct().limit(1 + random.nextInt(Math.min(5, size))).toArray());
+                } else if (op == 7) {
+                    sorter.toggleSortOrder(random.nextInt(model.getColumnCount()));
+                } else if (op == 8) {
+                    setFilter(random.nextBoolean() ? null : CATEGORIES[random.nextInt(CATEGORIES.length)],
+                            random.nextBoolean() ? -1 : random.nextInt(1_000));
+                } else {
+                    sorter.setSortKeys(null);
+                }
+                assertView("seed " + seed + " step " + step + " op " + op);
+            }
+        }
+    }
+
+    @Test
+    public void testEditedRowLeavesAFilterItNoLongerMatches() {
+        facade.addExpense(1, "Rice", "Food", 1, 100);
+        facade.addExpense(2, "Bus", "Transport", 1, 80);
+        facade.addExpense(3, "Tea", "Food", 1, 50);
+        setFilter("Food", -1);
+        assertEquals(2, sorter.getViewRowCount());
+
+        facade.editExpense(0, ExpenseStore.CATEGORY, "Bills");
+        assertEquals(1, sorter.getViewRowCount(), "Rice is no longer food");
+        assertEquals(2, sorter.convertRowIndexToModel(0));
+        assertEquals(-1, sorter.convertRowIndexToView(0));
+
+        facade.editExpense(1, ExpenseStore.CATEGORY, "Food");
+        assertView("the bus joins the food rows in model order");
+    }
+
+    @Test
+    public void testEditedRowMovesToItsNewPlace() {
+        for (int i = 0; i < 30; i++) facade.addExpense(i, "Row" + i, "Food", 1, 100 + i);
+        sorter.toggleSortOrder(ExpenseStore.AMOUNT);
+        facade.editExpense(5, ExpenseStore.AMOUNT, 1L);
+        assertEquals(5, sorter.convertRowIndexToModel(0), "The cheapest row sorts first right after the edit");
+        facade.editExpense(5, ExpenseStore.AMOUNT, 10_000L);
+        assertEquals(5, sorter.convertRowIndexToModel(29));
+        assertView("sorted by amount");
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.tools;
+
+import org.example.model.EpochDays;
+import org.example.model.ExpenseStore;
+import org.example.model.Money;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import javax.swing.event.TableModelEvent;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpenseTableModelTest {
+    private static final int JUL_25 = EpochDays.parse("2024-07-25");
+
+    private BudgetManagerFacade facade;
+    private ExpenseTableModel model;
+
+    @BeforeEach
+    public void setUp() {
+        facade = new BudgetManagerFacade(new ExpenseStore());
+        model = new ExpenseTableModel(facade);
+    }
+
+    @Test
+    public void testInitialState() {
+        assertEquals(0, model.getRowCount(), "Initial table row count should be zero");
+        assertEquals(6, model.getColumnCount(), "There should be 6 columns in the table");
+        assertEquals("Total", model.getColumnName(5));
+        assertFalse(model.isCellEditable(0, 5), "The total is computed, not edited");
+    }
+
+    @Test
+    public void testRowsShowTheStoreTyped() {
+        facade.addExpense(JUL_25, "Pizza", "Food", 3, 3000);
+        assertEquals(1, model.getRowCount());
+        assertEquals(LocalDate.of(2024, 7, 25), model.getValueAt(0, ExpenseStore.DATE));
+        assertEquals("Pizza", model.getValueAt(0, ExpenseStore.DESCRIPTION));
+        assertEquals("Food", model.getValueAt(0, ExpenseStore.CATEGORY));
+        assertEquals(3, model.getValueAt(0, ExpenseStore.QUANTITY));
+        assertEquals(3000L, model.getValueAt(0, ExpenseStore.AMOUNT));
+        assertEquals(9000L, model.getValueAt(0, 5));
+    }
+
+    @Test
+    public void testStoreChangesBecomeTableEvents() {
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+        facade.addExpense(JUL_25, "Test", "Food", 2, 5000);
+        facade.deleteExpense(0);
+
+        assertEquals(0, model.getRowCount(), "Row should be deleted from table");
+        assertEquals(TableModelEvent.INSERT, events.get(0).getType());
+        assertEquals(TableModelEvent.DELETE, events.get(events.size() - 1).getType());
+    }
+
+    @Test
+    public void testEditsGoThroughTheFacade() {
+        facade.addExpense(JUL_25, "Tea", "Food", 1, 100);
+        model.setValueAt("৳12.50", 0, ExpenseStore.AMOUNT);
+        model.setValueAt("Jul 26, 2024", 0, ExpenseStore.DATE);
+        model.setValueAt("abc", 0, ExpenseStore.QUANTITY);
+        assertEquals(1250L, model.getValueAt(0, ExpenseStore.AMOUNT));
+        assertEquals(LocalDate.of(2024, 7, 26), model.getValueAt(0, ExpenseStore.DATE));
+        assertEquals(1, model.getValueAt(0, ExpenseStore.QUANTITY), "Text that is not a number keeps the old value");
+
+        facade.undo();
+        assertEquals(LocalDate.of(2024, 7, 25), model.getValueAt(0, ExpenseStore.DATE), "An edit is one undo step");
+        model.setEditable(false);
+        assertFalse(model.isCellEditable(0, ExpenseStore.DESCRIPTION));
+    }
+
+    @Test
+    public void testPaintingReadsTheStoreNotGetValueAt() {
+        int[] reads = {0};
+        ExpenseTableModel counting = new ExpenseTableModel(facade) {
+            @Override
+            public Object getValueAt(int row, int column) {
+                reads[0]++;
+                return super.getValueAt(row, column);
+            }
+        };
+        ExpenseTable table = new ExpenseTable(counting);
+        ExpenseCellRenderer renderer = new ExpenseCellRenderer(new FormatCache(), facade.getStore());
+        table.setDefaultRenderer(Object.class, renderer);
+        for (int i = 0; i < table.getColumnCount(); i++) table.getColumnModel().getColumn(i).setCellRenderer(renderer);
+        table.setRowSorter(new ExpenseRowSorter(counting));
+        facade.addExpense(JUL_25, "Tea", "Food", 2, 150);
+        facade.addExpense(JUL_25 - 1, "Bus", "Transport", 1, 80);
+        table.getRowSorter().toggleSortOrder(ExpenseStore.DATE);
+
+        String[] expected = {"Jul 24, 2024", "Bus", "Transport", "1", "৳0.80", "৳0.80"};
+        for (int column = 0; column < expected.length; column++) {
+            ExpenseCellRenderer painted = (ExpenseCellRenderer) table.prepareRenderer(renderer, 0, column);
+            assertEquals(expected[column], painted.getText(), "View row 0 is model row 1 once sorted by date");
+        }
+        assertEquals("৳3.00", ((ExpenseCellRenderer) table.prepareRenderer(renderer, 1, 5)).getText());
+        assertEquals(0, reads[0], "No cell was boxed for painting");
+        assertSame(renderer.text(0, ExpenseStore.AMOUNT), renderer.text(0, ExpenseStore.AMOUNT), "Repaints reuse the String");
+    }
+
+    // Adds a row the way the form does and reads its total back from the table
+    private long totalOfNewRow(int qty, String amount) {
+        facade.addExpense(JUL_25, "Item", "Bills", qty, Money.parse(amount));
+        return (Long) model.getValueAt(model.getRowCount() - 1, 5);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4})
+    public void testTotalCalculationWithDiffQty(int quantity) {
+        assertEquals(5000L * quantity, totalOfNewRow(quantity, "50"), "Total should be quantity × amount");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2, 10, 20.00",
+            "3, 15, 45.00",
+            "0, 100, 0.00"
+    })
+    public void testTotalCalculationWithCsvSource(int qty, String amt, String expectedTotal) {
+        assertEquals(Money.parse(expectedTotal), totalOfNewRow(qty, amt));
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata.csv", numLinesToSkip = 1)
+    public void testTotalCalculationWithCsvFileSource(int qty, String amt, String expectedTotal) {
+        assertEquals(Money.parse(expectedTotal), totalOfNewRow(qty, amt));
+    }
+
+    private static Stream<Arguments> expenseDataProvider() {
+        return Stream.of(
+                Arguments.of(1, "10.0", 1000L),
+                Arguments.of(3, "15.0", 4500L),
+                Arguments.of(0, "100.0", 0L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expenseDataProvider")
+    public void testTotalCalculationWithMethodSource(int qty, String amt, long expectedTotal) {
+        assertEquals(expectedTotal, totalOfNewRow(qty, amt));
+    }
+}
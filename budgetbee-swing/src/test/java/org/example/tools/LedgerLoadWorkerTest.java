@@ -0,0 +1,72 @@
+package org.example.tools;
+
+import org.example.model.ExpenseStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.SwingUtilities;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerLoadWorkerTest {
+    private static final String CSV = "Date,Description,Category,Quantity,Amount,Total\n"
+            + "2024-07-25,Rice,Food,2,5.00,10.00\n2024-07-26,Bus,Transport,1,0.80,0.80\n";
+
+    @TempDir
+    Path dir;
+
+    private File csv;
+    private Path snapshot;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        csv = dir.resolve("expenses.csv").toFile();
+        Files.writeString(csv.toPath(), CSV);
+        snapshot = LedgerSnapshot.siblingOf(csv.toPath());
+        ExpenseStore other = new ExpenseStore();
+        other.add(19_000, "From the snapshot", "Food", 1, 700);
+        LedgerSnapshot.write(snapshot, other, 42);
+        assertTrue(snapshot.toFile().setLastModified(csv.lastModified() + 1000), "The snapshot is the newer file");
+    }
+
+    // Runs the background load the way the app does and waits for its onFinished on the EDT
+    private BudgetManagerFacade load() throws Exception {
+        BudgetManagerFacade facade = new BudgetManagerFacade(new ExpenseStore());
+        CountDownLatch finished = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> facade.loadDataInBackground(csv, finished::countDown));
+        assertTrue(finished.await(30, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { }); // onFinished ran, so the batches before it did too
+        return facade;
+    }
+
+    @Test
+    public void testAGoodSnapshotIsPreferred() throws Exception {
+        BudgetManagerFacade facade = load();
+        assertEquals(1, facade.getStore().size());
+        assertEquals("From the snapshot", facade.getStore().getDescription(0));
+        assertNull(facade.getLoadNotice());
+        facade.close();
+    }
+
+    @Test
+    public void testADamagedSnapshotFallsBackToTheCsv() throws Exception {
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(snapshot, bytes);
+        assertTrue(snapshot.toFile().setLastModified(csv.lastModified() + 1000));
+
+        BudgetManagerFacade facade = load();
+        assertEquals(2, facade.getStore().size(), "The CSV's rows");
+        assertEquals(1080, facade.getTotal(), "Aggregates were rebuilt after the load");
+        assertTrue(facade.isSaveable(), "Nothing is missing");
+        assertNotNull(facade.getLoadNotice(), "The skipped snapshot is reported to the UI");
+        assertTrue(facade.getLoadNotice().contains("checksum mismatch"), facade.getLoadNotice());
+        facade.close();
+    }
+}
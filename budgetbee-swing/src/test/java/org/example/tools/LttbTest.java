@@ -0,0 +1,102 @@
+package org.example.tools;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LttbTest {
+
+    private static int[] identity(int n) {
+        int[] source = new int[n];
+        for (int i = 0; i < n; i++) source[i] = i;
+        return source;
+    }
+
+    // Ascending days with gaps, and spending with spikes
+    private static int[] days(Random random, int n) {
+        int[] x = new int[n];
+        for (int i = 1; i < n; i++) x[i] = x[i - 1] + 1 + (random.nextInt(10) == 0 ? random.nextInt(30) : 0);
+        return x;
+    }
+
+    private static long[] values(Random random, int n) {
+        long[] y = new long[n];
+        for (int i = 0; i < n; i++) y[i] = random.nextInt(20) == 0 ? random.nextInt(1_000_000) : random.nextInt(5_000);
+        return y;
+    }
+
+    private static void assertAscendingWithEnds(int[] points, int n, int threshold, String message) {
+        assertTrue(points.length <= Math.max(3, threshold), message + ": " + points.length + " points");
+        assertEquals(0, points[0], message + ": the first point is kept");
+        assertEquals(n - 1, points[points.length - 1], message + ": the last point is kept");
+        for (int i = 1; i < points.length; i++) assertTrue(points[i] > points[i - 1], message + ": ascending");
+    }
+
+    @Test
+    public void testDownsampleKeepsEndsAndThreshold() {
+        Random random = new Random(1);
+        for (int n : new int[]{3, 10, 100, 1_000, 12_345}) {
+            int[] x = days(random, n);
+            long[] y = values(random, n);
+            for (int threshold : new int[]{3, 4, 17, 100, 999, n - 1}) {
+                if (threshold < 3) continue;
+                int[] points = Lttb.downsample(x, y, identity(n), threshold);
+                assertEquals(Math.min(n, threshold), points.length, "n " + n + " threshold " + threshold);
+                assertAscendingWithEnds(points, n, threshold, "n " + n + " threshold " + threshold);
+            }
+        }
+    }
+
+    @Test
+    public void testFewPointsAreReturnedAsTheyAre() {
+        int[] source = identity(5);
+        assertSame(source, Lttb.downsample(new int[5], new long[5], source, 5));
+        assertSame(source, Lttb.downsample(new int[5], new long[5], source, 2), "Below 3 points there is nothing to pick");
+    }
+
+    @Test
+    public void testSpikeSurvives() {
+        int n = 10_000;
+        int[] x = identity(n);
+        long[] y = new long[n];
+        y[4_321] = 1_000_000;
+        int[] points = Lttb.downsample(x, y, identity(n), 50);
+        boolean kept = false;
+        for (int p : points) kept |= p == 4_321;
+        assertTrue(kept, "A lone spike is the largest triangle of its bucket");
+    }
+
+    @Test
+    public void testPyramidLevelsMatchDirectLttb() {
+        Random random = new Random(2);
+        int n = 5_000;
+        int[] x = days(random, n);
+        long[] y = values(random, n);
+        Lttb.Pyramid pyramid = new Lttb.Pyramid(x, y);
+
+        int[] level1 = Lttb.downsample(x, y, identity(n), n / 2);
+        int[] level2 = Lttb.downsample(x, y, level1, level1.length / 2);
+        assertArrayEquals(level1, pyramid.points(level1.length), "Level 1 is LTTB of every point");
+        assertArrayEquals(level2, pyramid.points(level2.length), "Level 2 is LTTB of level 1");
+        assertArrayEquals(Lttb.downsample(x, y, level2, 1_000), pyramid.points(1_000),
+                "A width between levels downsamples the smallest level that still has it");
+        assertArrayEquals(Lttb.downsample(x, y, identity(n), 4_000), pyramid.points(4_000));
+    }
+
+    @Test
+    public void testPyramidPointsFitEveryWidth() {
+        Random random = new Random(3);
+        for (int n : new int[]{1, 2, 50, 64, 129, 3_000, 40_000}) {
+            int[] x = days(random, n);
+            long[] y = values(random, n);
+            Lttb.Pyramid pyramid = new Lttb.Pyramid(x, y);
+            for (int width : new int[]{1, 3, 64, 300, 1_920, 50_000}) {
+                int[] points = pyramid.points(width);
+                assertEquals(Math.min(n, Math.max(3, width)), points.length, "n " + n + " width " + width);
+                assertAscendingWithEnds(points, n, width, "n " + n + " width " + width);
+            }
+        }
+    }
+}
@@ -1,6 +0,0 @@
-package org.example.tools;
-
-public interface Command {
-    void execute();
-    void undo();
-}